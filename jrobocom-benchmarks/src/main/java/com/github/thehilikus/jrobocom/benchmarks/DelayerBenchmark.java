@@ -0,0 +1,110 @@
+package com.github.thehilikus.jrobocom.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.thehilikus.jrobocom.timing.Delayer;
+
+/**
+ * Measures ticks of the delayer with many robots blocked in it. Each robot is a thread that waits
+ * for a number of turns in a loop, like a bank doing expensive operations
+ *
+ * @author hilikus
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DelayerBenchmark {
+
+    /**
+     * Number of robots blocked in the delayer
+     */
+    @Param({ "10", "100", "1000" })
+    public int blocked;
+
+    /**
+     * Turns each robot waits for. Robots that wait longer than the benchmark runs measure the
+     * cost of ticks that release nobody
+     */
+    @Param({ "1", "10", "2147483647" })
+    public int turns;
+
+    private Delayer delayer;
+
+    private List<Thread> robots;
+
+    private volatile boolean running;
+
+    /**
+     * Starts the robots and waits for them to block
+     *
+     * @throws InterruptedException if interrupted while waiting for the robots
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+	delayer = new Delayer();
+	running = true;
+	robots = new ArrayList<>();
+	for (int id = 0; id < blocked; id++) {
+	    final int clientId = id;
+	    delayer.addListener(clientId);
+	    Thread robot = new Thread(new Runnable() {
+
+		@Override
+		public void run() {
+		    try {
+			while (running) {
+			    delayer.waitFor(clientId, turns, "Benchmark");
+			}
+		    } catch (IllegalArgumentException exc) {
+			// unregistered by the tear down
+		    }
+		}
+	    }, "Bot-" + clientId);
+	    robot.setDaemon(true);
+	    robots.add(robot);
+	    robot.start();
+	}
+	delayer.awaitIdle(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Releases the robots
+     *
+     * @throws InterruptedException if interrupted while waiting for the robots
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+	running = false;
+	delayer.clean();
+	for (Thread robot : robots) {
+	    robot.join();
+	}
+    }
+
+    /**
+     * A single tick
+     */
+    @Benchmark
+    public void tick() {
+	delayer.tick();
+    }
+}
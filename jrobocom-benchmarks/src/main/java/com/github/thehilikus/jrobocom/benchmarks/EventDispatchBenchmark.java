@@ -0,0 +1,98 @@
+package com.github.thehilikus.jrobocom.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.thehilikus.events.event_manager.SubscriptionManager;
+import com.github.thehilikus.events.event_manager.api.EventDispatcher;
+import com.github.thehilikus.jrobocom.events.SecureSubscriptionManager;
+import com.github.thehilikus.jrobocom.events.TickEvent;
+import com.github.thehilikus.jrobocom.timing.Delayer;
+import com.github.thehilikus.jrobocom.timing.MasterClock;
+import com.github.thehilikus.jrobocom.timing.api.ClockListener;
+
+/**
+ * Measures firing an event to its listeners with the game's subscription manager, which binds the
+ * listener methods when they subscribe, and with the library's one, which looks them up on every
+ * event
+ *
+ * @author hilikus
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDispatchBenchmark {
+
+    /**
+     * Number of listeners of the publisher
+     */
+    @Param({ "1", "4" })
+    public int listeners;
+
+    private EventDispatcher bound;
+
+    private EventDispatcher reflective;
+
+    private TickEvent event;
+
+    /**
+     * Counts the events it receives so the calls can't be eliminated
+     */
+    public static class Counter implements ClockListener {
+
+	private long received;
+
+	@Override
+	public void update(TickEvent tick) {
+	    received++;
+	}
+    }
+
+    /**
+     * Subscribes the listeners in both managers
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+	MasterClock clock = new MasterClock(new Delayer());
+	SubscriptionManager secure = new SecureSubscriptionManager();
+	SubscriptionManager generic = new SubscriptionManager();
+	for (int i = 0; i < listeners; i++) {
+	    secure.subscribe(clock, new Counter());
+	    generic.subscribe(clock, new Counter());
+	}
+	bound = secure.getEventDispatcher(clock);
+	reflective = generic.getEventDispatcher(clock);
+	event = new TickEvent(clock, 1);
+    }
+
+    /**
+     * Fires through methods bound at subscription
+     */
+    @Benchmark
+    public void bound() {
+	bound.fireEvent(event);
+    }
+
+    /**
+     * Fires through methods looked up for every event
+     */
+    @Benchmark
+    public void reflective() {
+	reflective.fireEvent(event);
+    }
+}
@@ -0,0 +1,159 @@
+package com.github.thehilikus.jrobocom.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.thehilikus.jrobocom.Player;
+import com.github.thehilikus.jrobocom.Session;
+import com.github.thehilikus.jrobocom.SessionOptions;
+import com.github.thehilikus.jrobocom.events.GameListener;
+import com.github.thehilikus.jrobocom.events.LeaderChangedEvent;
+import com.github.thehilikus.jrobocom.events.PlayerEliminatedEvent;
+import com.github.thehilikus.jrobocom.events.ResultEvent;
+import com.github.thehilikus.jrobocom.events.RobotAddedEvent;
+import com.github.thehilikus.jrobocom.events.RobotChangedEvent;
+import com.github.thehilikus.jrobocom.events.RobotMovedEvent;
+import com.github.thehilikus.jrobocom.events.RobotRemovedEvent;
+import com.github.thehilikus.jrobocom.exceptions.PlayerException;
+
+/**
+ * Measures whole games of sample players. Each operation is a game of up to {@value #GAME_TICKS}
+ * ticks; the secondary result <code>ticks</code> is the number of ticks per second.
+ * <p>
+ * Games are deterministic with a fixed seed, so every run plays the same moves and the clock only
+ * ticks once all the robots finished their turns. The JVM of the benchmarks must allow installing
+ * the game's security manager, e.g. with
+ * <code>-jvmArgsAppend -Djava.security.manager=allow</code> in Java 18 and newer
+ * </p>
+ *
+ * @author hilikus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GameThroughputBenchmark {
+
+    private static final int GAME_TICKS = 2000;
+
+    private static final long SEED = 42;
+
+    private List<Player> players;
+
+    private Session session;
+
+    private volatile boolean finished;
+
+    /**
+     * Counts the ticks of all the games in an iteration
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Ticks {
+
+	/**
+	 * Ticks played
+	 */
+	public long ticks;
+
+	/**
+	 * Starts counting a new iteration
+	 */
+	@Setup(Level.Iteration)
+	public void reset() {
+	    ticks = 0;
+	}
+    }
+
+    /**
+     * Creates a new game. Players can't be reused since sessions release them when they are
+     * eliminated
+     *
+     * @throws PlayerException if the sample players can't be loaded
+     */
+    @Setup(Level.Invocation)
+    public void setUp() throws PlayerException {
+	players = SamplePlayers.load("black-jacks", "megamorf", "4Lunch");
+	SessionOptions options = new SessionOptions();
+	options.setDeterministic(true);
+	options.setRandomSeed(SEED);
+	finished = false;
+	session = new Session(players, new ResultListener(), options);
+    }
+
+    /**
+     * Releases the game
+     */
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+	session.clean();
+	SamplePlayers.clean(players);
+    }
+
+    /**
+     * Plays a game until it ends or reaches the maximum number of ticks
+     *
+     * @param counter accumulates the ticks played
+     */
+    @Benchmark
+    public void game(Ticks counter) {
+	for (int tick = 0; tick < GAME_TICKS && !finished; tick++) {
+	    session.step();
+	    counter.ticks++;
+	}
+    }
+
+    private class ResultListener implements GameListener {
+
+	@Override
+	public void update(ResultEvent result) {
+	    finished = true;
+	}
+
+	@Override
+	public void update(RobotAddedEvent add) {
+	    // ignored
+	}
+
+	@Override
+	public void update(RobotRemovedEvent rem) {
+	    // ignored
+	}
+
+	@Override
+	public void update(RobotMovedEvent mov) {
+	    // ignored
+	}
+
+	@Override
+	public void update(RobotChangedEvent evt) {
+	    // ignored
+	}
+
+	@Override
+	public void update(LeaderChangedEvent event) {
+	    // ignored
+	}
+
+	@Override
+	public void update(PlayerEliminatedEvent event) {
+	    // ignored
+	}
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.thehilikus.jrobocom.benchmarks;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.thehilikus.jrobocom.GameTracker;
+import com.github.thehilikus.jrobocom.GameTracker.EventsHandler;
+import com.github.thehilikus.jrobocom.Player;
+import com.github.thehilikus.jrobocom.World;
+import com.github.thehilikus.jrobocom.events.RobotAddedEvent;
+import com.github.thehilikus.jrobocom.events.RobotRemovedEvent;
+import com.github.thehilikus.jrobocom.events.SecureSubscriptionManager;
+import com.github.thehilikus.jrobocom.exceptions.PlayerException;
+import com.github.thehilikus.jrobocom.robot.Robot;
+import com.github.thehilikus.jrobocom.timing.Delayer;
+import com.github.thehilikus.jrobocom.timing.MasterClock;
+
+/**
+ * Measures how the tracker follows the leaders while robots are created and destroyed. Every
+ * operation removes a robot of one team and adds one to the next, so the counts of all teams stay
+ * close and the leaders keep changing, but no team is ever eliminated
+ *
+ * @author hilikus
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameTrackerBenchmark {
+
+    private static final int ROBOTS_PER_TEAM = 10;
+
+    private static final Point ORIGIN = new Point(0, 0);
+
+    /**
+     * Number of players in the game
+     */
+    @Param({ "2", "10", "50" })
+    public int teams;
+
+    private List<Player> players;
+
+    private EventsHandler tracker;
+
+    private RobotAddedEvent[] additions;
+
+    private RobotRemovedEvent[] removals;
+
+    private int next;
+
+    /**
+     * Gives every team its robots
+     *
+     * @throws PlayerException if the sample player can't be loaded
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws PlayerException {
+	Delayer delayer = new Delayer();
+	World world = new World(new MasterClock(delayer), delayer);
+	SecureSubscriptionManager subscriptions = new SecureSubscriptionManager();
+	GameTracker gameTracker = new GameTracker();
+	gameTracker.setEventDispatcher(subscriptions.getEventDispatcher(gameTracker));
+	tracker = gameTracker.getEventsReceiver();
+
+	AtomicInteger serialNumbers = new AtomicInteger();
+	players = SamplePlayers.loadCopies("black-jacks", teams);
+	additions = new RobotAddedEvent[teams];
+	removals = new RobotRemovedEvent[teams];
+	for (int team = 0; team < teams; team++) {
+	    Player player = players.get(team);
+	    Robot robot = new Robot(world, delayer, player.getCode(), player.getTeamName() + " Alpha", player,
+		    serialNumbers);
+	    additions[team] = new RobotAddedEvent(robot, ORIGIN);
+	    removals[team] = new RobotRemovedEvent(robot, ORIGIN);
+	    for (int count = 0; count < ROBOTS_PER_TEAM; count++) {
+		tracker.update(additions[team]);
+	    }
+	}
+    }
+
+    /**
+     * Releases the players
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+	SamplePlayers.clean(players);
+    }
+
+    /**
+     * Moves a robot from one team to the next
+     */
+    @Benchmark
+    public void churn() {
+	tracker.update(removals[next]);
+	next = (next + 1) % teams;
+	tracker.update(additions[next]);
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.thehilikus.jrobocom.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.github.thehilikus.jrobocom.Player;
+import com.github.thehilikus.jrobocom.exceptions.PlayerException;
+
+/**
+ * Loads the sample players used by the benchmarks from their build output. The directory of the
+ * simple samples defaults to the one next to this module and can be changed with the system
+ * property {@value #SAMPLES_DIR_PROPERTY}, e.g. with <code>-jvmArgsAppend</code> in JMH since the
+ * benchmarks run in forked VMs
+ *
+ * @author hilikus
+ */
+final class SamplePlayers {
+
+    /**
+     * System property with the directory that contains the simple samples
+     */
+    static final String SAMPLES_DIR_PROPERTY = "jrobocom.samples.dir";
+
+    private static final String DEFAULT_SAMPLES_DIR = "../jrobocom-samples/simple";
+
+    private SamplePlayers() {
+	// utility class
+    }
+
+    /**
+     * @param names the names of the sample modules, e.g. black-jacks
+     * @return a new player for each name
+     * @throws PlayerException if a sample can't be loaded, e.g. it is not built
+     */
+    static List<Player> load(String... names) throws PlayerException {
+	List<String> paths = new ArrayList<>();
+	for (String name : names) {
+	    paths.add(getPath(name));
+	}
+	return Player.loadPlayers(paths);
+    }
+
+    /**
+     * Loads the same sample many times. Each copy is a different team
+     *
+     * @param name the name of the sample module
+     * @param copies how many players to create
+     * @return the new players
+     * @throws PlayerException if the sample can't be loaded, e.g. it is not built
+     */
+    static List<Player> loadCopies(String name, int copies) throws PlayerException {
+	return Player.loadPlayers(Collections.nCopies(copies, getPath(name)));
+    }
+
+    /**
+     * Releases the players
+     *
+     * @param players the players to release
+     */
+    static void clean(List<Player> players) {
+	for (Player player : players) {
+	    player.clean();
+	}
+    }
+
+    private static String getPath(String name) {
+	File samplesDir = new File(System.getProperty(SAMPLES_DIR_PROPERTY, DEFAULT_SAMPLES_DIR));
+	File classes = new File(new File(new File(samplesDir, name), "target"), "classes");
+	if (!classes.isDirectory()) {
+	    throw new IllegalArgumentException("Sample player not built: " + classes.getAbsolutePath());
+	}
+	return classes.getPath();
+    }
+}
@@ -0,0 +1,169 @@
+package com.github.thehilikus.jrobocom.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.thehilikus.jrobocom.GameSettings;
+import com.github.thehilikus.jrobocom.Player;
+import com.github.thehilikus.jrobocom.World;
+import com.github.thehilikus.jrobocom.events.SecureSubscriptionManager;
+import com.github.thehilikus.jrobocom.exceptions.PlayerException;
+import com.github.thehilikus.jrobocom.player.InstructionSet;
+import com.github.thehilikus.jrobocom.player.ScanResult;
+import com.github.thehilikus.jrobocom.robot.Robot;
+import com.github.thehilikus.jrobocom.timing.Delayer;
+import com.github.thehilikus.jrobocom.timing.MasterClock;
+
+/**
+ * Measures the queries robots make to the world. The board is filled with the first robots of
+ * copies of a sample player up to a percentage of the fields. Since first robots can't move, a few
+ * mobile children are created to measure moves. Their threads stay blocked because children start
+ * disabled and the clock never ticks
+ *
+ * @author hilikus
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldBenchmark {
+
+    private static final int MOVERS = 8;
+
+    /**
+     * Percentage of the fields of the board with a robot
+     */
+    @Param({ "10", "50", "90" })
+    public int density;
+
+    private Delayer delayer;
+
+    private World world;
+
+    private List<Player> players;
+
+    private Robot[] robots;
+
+    private Robot[] movers;
+
+    private int next;
+
+    private int scanDistance;
+
+    private int boardSize;
+
+    /**
+     * Fills the board
+     *
+     * @throws PlayerException if the sample player can't be loaded
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws PlayerException {
+	boardSize = GameSettings.getInstance().BOARD_SIZE;
+	int count = boardSize * boardSize * density / 100;
+
+	delayer = new Delayer();
+	world = new World(new MasterClock(delayer), delayer);
+	SecureSubscriptionManager subscriptions = new SecureSubscriptionManager();
+	world.setEventDispatcher(subscriptions.getEventDispatcher(world));
+
+	AtomicInteger serialNumbers = new AtomicInteger();
+	players = SamplePlayers.loadCopies("black-jacks", count);
+	robots = new Robot[count];
+	for (int pos = 0; pos < count; pos++) {
+	    Player player = players.get(pos);
+	    robots[pos] = new Robot(world, delayer, player.getCode(), player.getTeamName() + " Alpha", player,
+		    serialNumbers);
+	    robots[pos].setEventDispatcher(subscriptions.getEventDispatcher(robots[pos]));
+	    world.addFirst(robots[pos]);
+	}
+
+	List<Robot> children = new ArrayList<>();
+	for (int pos = 0; pos < count && children.size() < MOVERS; pos++) {
+	    robots[pos].createRobot("Mover", InstructionSet.BASIC, 1, true);
+	    Robot child = world.getNeighbour(robots[pos]);
+	    if (child != null && child.getData().getGeneration() == 1) {
+		children.add(child);
+	    }
+	}
+	if (children.isEmpty()) {
+	    throw new IllegalStateException("No room in the board to create mobile robots");
+	}
+	movers = children.toArray(new Robot[children.size()]);
+    }
+
+    /**
+     * Releases the robots and players
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+	world.clean();
+	delayer.clean();
+	SamplePlayers.clean(players);
+    }
+
+    /**
+     * @return the robot in front of one of the robots
+     */
+    @Benchmark
+    public Robot getNeighbour() {
+	next = (next + 1) % robots.length;
+	return world.getNeighbour(robots[next]);
+    }
+
+    /**
+     * Scans a single field at a varying distance from one of the robots
+     *
+     * @return the content of the field
+     */
+    @Benchmark
+    public ScanResult scan() {
+	next = (next + 1) % robots.length;
+	scanDistance = scanDistance % (boardSize - 1) + 1;
+	return world.scan(robots[next], scanDistance);
+    }
+
+    /**
+     * Scans from one of the robots up to a varying distance, like {@link Robot#scan(int)}
+     *
+     * @return the first robot found or the empty field at the maximum distance
+     */
+    @Benchmark
+    public ScanResult scanAhead() {
+	next = (next + 1) % robots.length;
+	scanDistance = scanDistance % (boardSize - 1) + 1;
+	return world.scanAhead(robots[next], scanDistance);
+    }
+
+    /**
+     * Moves one of the mobile robots, turning it first when the way is blocked so that it keeps
+     * moving around the board
+     */
+    @Benchmark
+    public void move() {
+	next = (next + 1) % movers.length;
+	Robot mover = movers[next];
+	if (world.getNeighbour(mover) != null) {
+	    mover.turn(true);
+	}
+	world.move(mover);
+    }
+}
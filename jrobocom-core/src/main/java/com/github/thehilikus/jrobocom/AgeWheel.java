@@ -0,0 +1,125 @@
+package com.github.thehilikus.jrobocom;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.github.thehilikus.jrobocom.robot.Robot;
+
+/**
+ * A hashed timing wheel of robots indexed by the first tick when they could be too old, so each
+ * tick only looks at the robots that may die of old age in it instead of all of them. Robots due
+ * more than one turn of the wheel away stay in their slot until their tick comes
+ *
+ * @author hilikus
+ */
+class AgeWheel {
+
+    private static final int MAX_SLOTS = 1024;
+
+    private final List<List<Entry>> slots;
+
+    private final int mask;
+
+    /**
+     * Ticks elapsed so far. Guarded by {@link #lock}
+     */
+    private long current;
+
+    /**
+     * Not a monitor, so robots running in virtual threads don't pin their carrier when they are
+     * scheduled
+     */
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * A robot and the tick when it has to be checked
+     *
+     */
+    private static final class Entry {
+	private final Robot robot;
+	private final long due;
+
+	private Entry(Robot pRobot, long pDue) {
+	    robot = pRobot;
+	    due = pDue;
+	}
+    }
+
+    /**
+     * @param maxDelay the longest delay robots are usually scheduled with. Longer delays work but
+     *            take more than one turn of the wheel
+     */
+    AgeWheel(int maxDelay) {
+	int size = 1;
+	while (size < maxDelay && size < MAX_SLOTS) {
+	    size <<= 1;
+	}
+	mask = size - 1;
+	slots = new ArrayList<>(size);
+	for (int pos = 0; pos < size; pos++) {
+	    slots.add(new ArrayList<Entry>());
+	}
+    }
+
+    /**
+     * @param robot the robot to check later
+     * @param delay number of ticks from now when the robot is due; at least 1
+     */
+    void schedule(Robot robot, int delay) {
+	if (delay < 1) {
+	    throw new IllegalArgumentException("Robots can only be scheduled in future ticks: " + delay);
+	}
+	lock.lock();
+	try {
+	    long due = current + delay;
+	    slots.get((int) (due & mask)).add(new Entry(robot, due));
+	} finally {
+	    lock.unlock();
+	}
+    }
+
+    /**
+     * Moves to the next tick
+     *
+     * @return the robots due in the new tick, which are no longer scheduled
+     */
+    List<Robot> advance() {
+	lock.lock();
+	try {
+	    current++;
+	    List<Entry> slot = slots.get((int) (current & mask));
+	    if (slot.isEmpty()) {
+		return Collections.emptyList();
+	    }
+	    List<Robot> due = new ArrayList<>();
+	    for (Iterator<Entry> iter = slot.iterator(); iter.hasNext();) {
+		Entry entry = iter.next();
+		if (entry.due <= current) {
+		    due.add(entry.robot);
+		    iter.remove();
+		}
+	    }
+	    return due;
+	} finally {
+	    lock.unlock();
+	}
+    }
+
+    /**
+     * Forgets all the scheduled robots
+     */
+    void clear() {
+	lock.lock();
+	try {
+	    for (List<Entry> slot : slots) {
+		slot.clear();
+	    }
+	} finally {
+	    lock.unlock();
+	}
+    }
+}
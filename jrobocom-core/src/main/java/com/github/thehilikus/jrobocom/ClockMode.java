@@ -0,0 +1,42 @@
+package com.github.thehilikus.jrobocom;
+
+import com.github.thehilikus.jrobocom.timing.HeadlessClock;
+import com.github.thehilikus.jrobocom.timing.MasterClock;
+import com.github.thehilikus.jrobocom.timing.api.Clock;
+import com.github.thehilikus.jrobocom.timing.api.TurnScheduler;
+
+/**
+ * How the clock of a session decides when to tick
+ *
+ * @author hilikus
+ */
+public enum ClockMode {
+    /**
+     * Ticks on a fixed period, so the game can be followed on screen
+     */
+    TIMED {
+	@Override
+	Clock newClock(TurnScheduler delayer) {
+	    return new MasterClock(delayer);
+	}
+    },
+    /**
+     * Ticks as soon as all the robots are waiting for turns, so games are as fast as the CPU allows
+     * 
+     * @see HeadlessClock
+     */
+    HEADLESS {
+	@Override
+	Clock newClock(TurnScheduler delayer) {
+	    return new HeadlessClock(delayer);
+	}
+    };
+
+    /**
+     * Creates the clock of a session
+     *
+     * @param delayer the thread blocker of the session
+     * @return a new, stopped clock
+     */
+    abstract Clock newClock(TurnScheduler delayer);
+}
@@ -0,0 +1,152 @@
+package com.github.thehilikus.jrobocom;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The kind of threads used to run the robots of a session
+ *
+ * @author hilikus
+ */
+public enum ExecutionMode {
+    /**
+     * Each robot runs in its own platform thread, inside the thread group of its team
+     */
+    PLATFORM_THREADS {
+	@Override
+	void launch(ThreadGroup group, ExecutorService pool, Runnable task, String name) {
+	    new Thread(group, task, name).start();
+	}
+
+	@Override
+	public boolean isSupported() {
+	    return true;
+	}
+    },
+    /**
+     * Each robot runs in a virtual thread. Virtual threads don't have their own thread group, but
+     * the security manager recognizes banks by their calls as in any other thread. Only available
+     * when the game runs in a JVM that supports them
+     */
+    VIRTUAL_THREADS {
+	@Override
+	void launch(ThreadGroup group, ExecutorService pool, Runnable task, String name) {
+	    if (!isSupported()) {
+		throw new UnsupportedOperationException("Virtual threads are not supported by this JVM");
+	    }
+	    try {
+		Thread newThread = (Thread) VirtualThreads.UNSTARTED.invoke(VirtualThreads.OF_VIRTUAL.invoke(), task);
+		newThread.setName(name);
+		newThread.start();
+	    } catch (Throwable exc) {
+		throw new IllegalStateException("Problem creating virtual thread " + name, exc);
+	    }
+	}
+
+	@Override
+	public boolean isSupported() {
+	    return VirtualThreads.UNSTARTED != null;
+	}
+    },
+    /**
+     * Robots run in platform threads inside the thread group of their team, like
+     * {@link #PLATFORM_THREADS}, but the threads are kept when their robot dies and reused for the
+     * next robots of the team. Games where teams create and lose robots all the time don't pay for
+     * starting a thread for each of them
+     * 
+     * @see RobotThreadFactory
+     */
+    POOLED_THREADS {
+	@Override
+	void launch(ThreadGroup group, ExecutorService pool, Runnable task, String name) {
+	    if (pool == null) {
+		throw new IllegalStateException("The team has no pool of threads to run " + name);
+	    }
+	    pool.execute(new PooledRobot(task, name));
+	}
+
+	@Override
+	public boolean isSupported() {
+	    return true;
+	}
+    };
+
+    /**
+     * Starts running a robot
+     *
+     * @param group the thread group of the robot's team
+     * @param pool the threads of the team in {@link #POOLED_THREADS}; ignored by the other modes
+     * @param task the code to run
+     * @param name the name of the robot's thread
+     */
+    abstract void launch(ThreadGroup group, ExecutorService pool, Runnable task, String name);
+
+    /**
+     * @return true if robots can be run in this mode in the current JVM
+     */
+    public abstract boolean isSupported();
+
+    /**
+     * Runs a robot in a pooled thread, under the robot's name while it lives
+     *
+     */
+    private static final class PooledRobot implements Runnable {
+	private final Runnable robotTask;
+	private final String name;
+
+	private PooledRobot(Runnable pRobotTask, String pName) {
+	    robotTask = pRobotTask;
+	    name = pName;
+	}
+
+	@Override
+	public void run() {
+	    Thread worker = Thread.currentThread();
+	    String workerName = worker.getName();
+	    int workerPriority = worker.getPriority();
+	    worker.setName(name);
+	    try {
+		robotTask.run();
+	    } finally {
+		// the next robot gets the thread as it was created
+		worker.setName(workerName);
+		worker.setPriority(workerPriority);
+	    }
+	}
+    }
+
+    /**
+     * Lazily resolves the virtual thread builder since it is not available in older JVMs
+     *
+     */
+    private static final class VirtualThreads {
+	private static final Logger log = LoggerFactory.getLogger(VirtualThreads.class);
+
+	private static final MethodHandle OF_VIRTUAL;
+	private static final MethodHandle UNSTARTED;
+
+	static {
+	    MethodHandle ofVirtual = null;
+	    MethodHandle unstarted = null;
+	    try {
+		MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+		Class<?> virtualBuilderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+		ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(virtualBuilderClass));
+		unstarted = lookup.findVirtual(builderClass, "unstarted",
+			MethodType.methodType(Thread.class, Runnable.class));
+	    } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException exc) {
+		log.debug("[VirtualThreads] Virtual threads are not available", exc);
+		ofVirtual = null;
+		unstarted = null;
+	    }
+	    OF_VIRTUAL = ofVirtual;
+	    UNSTARTED = unstarted;
+	}
+    }
+}
@@ -3,7 +3,8 @@ package com.github.thehilikus.jrobocom;
 import com.github.thehilikus.jrobocom.security.GamePermission;
 
 /**
- * All the game settings
+ * All the game settings. The size of the board and the limits of the game can be different in each
+ * {@link Session}; the defaults can be overridden with system properties
  * 
  * @author hilikus
  * 
@@ -12,10 +13,31 @@ public final class GameSettings {
 
     private static final String PROPERTY_PREFIX = "com.github.thehilikus.jrobocom.settings.";
 
-    private static final GameSettings INSTANCE = new GameSettings();
+    private static final GameSettings INSTANCE = new GameSettings(Integer.getInteger(PROPERTY_PREFIX + "boardSize",
+	    18), Integer.getInteger(PROPERTY_PREFIX + "maxAge", 1000), Integer.getInteger(PROPERTY_PREFIX
+	    + "maxWorldAge", 10000000));
 
-    private GameSettings() {
-	// block instantiation
+    /**
+     * Creates settings with a custom board and limits. The maximum number of robots of each team is
+     * 95% of the fields of the board
+     * 
+     * @param boardSize number of fields in one direction of the board
+     * @param maxAge maximum age of a robot before it dies
+     * @param maxWorldAge maximum age for the world before the game ends
+     * @throws IllegalArgumentException if the board has less than 2 or more than
+     *             {@value #MAX_BOARD_SIZE} fields per side or the ages are not positive
+     */
+    public GameSettings(int boardSize, int maxAge, int maxWorldAge) {
+	if (boardSize < 2 || boardSize > MAX_BOARD_SIZE) {
+	    throw new IllegalArgumentException("Board size must be between 2 and " + MAX_BOARD_SIZE + ": " + boardSize);
+	}
+	if (maxAge <= 0 || maxWorldAge <= 0) {
+	    throw new IllegalArgumentException("Maximum ages must be positive");
+	}
+	BOARD_SIZE = boardSize;
+	MAX_AGE = maxAge;
+	MAX_WORLD_AGE = maxWorldAge;
+	MAX_BOTS = (int) Math.round(BOARD_SIZE * (long) BOARD_SIZE * 0.95);
     }
 
     /**
@@ -105,8 +127,18 @@ public final class GameSettings {
 	 * cycles to turn
 	 */
 	public final int TURN = 1;
+	/**
+	 * steps of a bank's own code (method calls and loop iterations) that cost a cycle when no
+	 * action charges for them
+	 */
+	public final int BUSY_STEPS = Integer.getInteger(PROPERTY_PREFIX + "timing.busySteps", 10000);
     }
 
+    /**
+     * largest board supported, so the number of fields fits in an int
+     */
+    public static final int MAX_BOARD_SIZE = 46340;
+
     /**
      * maximum cycles when creating a robot
      */
@@ -122,24 +154,24 @@ public final class GameSettings {
     /**
      * number of fields in one direction of the board
      */
-    public final int BOARD_SIZE = 18;
+    public final int BOARD_SIZE;
     /**
      * maximum age of a robot before it dies
      */
-    public final int MAX_AGE = 1000;
+    public final int MAX_AGE;
     /**
      * maximum number of robots in a single board
      */
-    public final int MAX_BOTS = (int) Math.round(BOARD_SIZE * BOARD_SIZE * 0.95);
+    public final int MAX_BOTS;
     /**
      * maximum age for the world before the game ends
      */
-    public final int MAX_WORLD_AGE = 10000000;
+    public final int MAX_WORLD_AGE;
 
     /**
      * Checks if the caller has permission to read the game settings
      * 
-     * @return the instance with all the settings as constants
+     * @return the instance with the default settings
      */
     public static GameSettings getInstance() {
 	SecurityManager sm = System.getSecurityManager();
@@ -1,11 +1,13 @@
 package com.github.thehilikus.jrobocom;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EventListener;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,16 +31,54 @@ import com.github.thehilikus.jrobocom.timing.api.ClockListener;
  */
 public class GameTracker implements EventPublisher {
 
-    private Map<Player, Integer> robotsCount = new HashMap<>();
+    private Map<Player, TeamCount> robotsCount = new HashMap<>();
 
     private static final Logger log = LoggerFactory.getLogger(GameTracker.class);
 
     private List<Player> currentLeaders = new ArrayList<>();
 
+    /**
+     * Teams indexed by their number of robots. Each position is the first of a list of teams with
+     * the same count
+     */
+    private TeamCount[] teamsByCount = new TeamCount[16];
+
+    /**
+     * The highest number of robots of a team. The leaders are the teams in
+     * <code>teamsByCount[maxCount]</code>
+     */
+    private int maxCount;
+
+    /**
+     * Guards the counts and the leaders. Robots are added and removed from the threads of the
+     * robots and from the clock's thread. Events are fired with it held so listeners get them in
+     * order; it is reentrant for listeners that change the world while handling them
+     */
+    private final Lock countsLock = new ReentrantLock();
+
     private EventsHandler eventHandler = new EventsHandler();
 
     private EventDispatcher eventDispatcher;
 
+    private final GameSettings settings;
+
+    /**
+     * Creates a tracker for a game with the default settings
+     */
+    public GameTracker() {
+	this(GameSettings.getInstance());
+    }
+
+    /**
+     * @param pSettings the limits of the game
+     */
+    public GameTracker(GameSettings pSettings) {
+	if (pSettings == null) {
+	    throw new IllegalArgumentException("Settings cannot be null");
+	}
+	settings = pSettings;
+    }
+
     /**
      * Interface to receive events about the status of the game
      * 
@@ -66,6 +106,21 @@ public class GameTracker implements EventPublisher {
 	public void update(PlayerEliminatedEvent event);
     }
 
+    /**
+     * The number of robots of a team and its neighbours among the teams with the same number
+     * 
+     */
+    private static final class TeamCount {
+	private final Player player;
+	private int robots;
+	private TeamCount previous;
+	private TeamCount next;
+
+	private TeamCount(Player pPlayer) {
+	    player = pPlayer;
+	}
+    }
+
     /**
      * Receives events the tracker is interested in
      * 
@@ -76,33 +131,41 @@ public class GameTracker implements EventPublisher {
 	@Override
 	public void update(RobotAddedEvent add) {
 	    Player owner = add.getSource().getOwner();
-	    if (!robotsCount.containsKey(owner)) {
-		// first robot of the player
-		robotsCount.put(owner, 1);
-	    } else {
-		int old = robotsCount.get(owner);
-		robotsCount.put(owner, old + 1);
+	    countsLock.lock();
+	    try {
+		TeamCount team = robotsCount.get(owner);
+		if (team == null) {
+		    // first robot of the player
+		    team = new TeamCount(owner);
+		    robotsCount.put(owner, team);
+		    link(team);
+		}
+		robotAdded(team);
+	    } finally {
+		countsLock.unlock();
 	    }
-	    findLeader();
 
 	}
 
 	@Override
 	public void update(RobotRemovedEvent rem) {
 	    Player owner = rem.getSource().getOwner();
-	    boolean ended = false;
-	    if (!robotsCount.containsKey(owner)) {
-		log.warn("[update] Removed unknown robot");
-	    } else {
-		int old = robotsCount.get(owner);
-		robotsCount.put(owner, old - 1);
-		if (old == 1) {
-		    ended = playerDied(owner);
+	    countsLock.lock();
+	    try {
+		TeamCount team = robotsCount.get(owner);
+		if (team == null || team.robots == 0) {
+		    log.warn("[update] Removed unknown robot");
+		} else {
+		    boolean leadersChanged = robotRemoved(team);
+		    if (team.robots == 0 && playerDied(owner)) {
+			return;
+		    }
+		    if (leadersChanged) {
+			fireLeaderChanged();
+		    }
 		}
-
-	    }
-	    if (!ended) {
-		findLeader();
+	    } finally {
+		countsLock.unlock();
 	    }
 	}
 
@@ -113,7 +176,7 @@ public class GameTracker implements EventPublisher {
 
 	@Override
 	public void update(TickEvent event) {
-	    if (event.getCycles() >= GameSettings.getInstance().MAX_WORLD_AGE) {
+	    if (event.getCycles() >= settings.MAX_WORLD_AGE) {
 		// game over
 		log.info("[tick] Maximum age of the world reached. Declaring a draw");
 		declareDraw();
@@ -133,32 +196,84 @@ public class GameTracker implements EventPublisher {
 	return ended;
     }
 
-    private void findLeader() {
+    /**
+     * Moves a team up one count and updates the leaders. O(1) unless the leaders change. Called
+     * with {@link #countsLock} held
+     */
+    private void robotAdded(TeamCount team) {
+	unlink(team);
+	team.robots++;
+	link(team);
+
+	boolean leadersChanged;
+	if (team.robots > maxCount) {
+	    // sole leader now, it may have been already
+	    maxCount = team.robots;
+	    leadersChanged = currentLeaders.size() != 1 || currentLeaders.get(0) != team.player;
+	} else {
+	    // joins the leaders if it reached them
+	    leadersChanged = team.robots == maxCount;
+	}
+	if (leadersChanged) {
+	    fireLeaderChanged();
+	}
+    }
+
+    /**
+     * Moves a team down one count
+     * 
+     * @return true if the leaders changed
+     */
+    private boolean robotRemoved(TeamCount team) {
+	unlink(team);
+	team.robots--;
+	link(team);
+
+	if (team.robots + 1 != maxCount) {
+	    return false;
+	}
+	if (teamsByCount[maxCount] != null) {
+	    // other leaders remain, the team stops being one
+	    return true;
+	}
+	// the only leader lost a robot. Everyone one robot behind ties with it
+	maxCount--;
+	return team.previous != null || team.next != null;
+    }
+
+    private void fireLeaderChanged() {
 	List<Player> leader = new ArrayList<>();
-	int max = 0;
-	for (Entry<Player, Integer> entry : robotsCount.entrySet()) {
-	    if (entry.getValue() > max) {
-		leader.clear();
-		leader.add(entry.getKey());
-		max = entry.getValue();
-	    } else if (entry.getValue() == max) {
-		leader.add(entry.getKey());
-	    }
+	for (TeamCount team = teamsByCount[maxCount]; team != null; team = team.next) {
+	    leader.add(team.player);
 	}
-	// found leader, compare to old
-	if (leader.size() != currentLeaders.size()) {
-	    // change detected
-	    eventDispatcher.fireEvent(new LeaderChangedEvent(this, leader));
-	    currentLeaders = leader;
-	} else {
-	    leader.removeAll(currentLeaders);
-	    if (leader.size() > 0) {
-		// change detected
-		eventDispatcher.fireEvent(new LeaderChangedEvent(this, leader));
-		currentLeaders = leader;
-	    }
+	eventDispatcher.fireEvent(new LeaderChangedEvent(this, leader));
+	currentLeaders = leader;
+    }
+
+    private void link(TeamCount team) {
+	if (team.robots >= teamsByCount.length) {
+	    teamsByCount = Arrays.copyOf(teamsByCount, teamsByCount.length * 2);
 	}
+	TeamCount first = teamsByCount[team.robots];
+	team.previous = null;
+	team.next = first;
+	if (first != null) {
+	    first.previous = team;
+	}
+	teamsByCount[team.robots] = team;
+    }
 
+    private void unlink(TeamCount team) {
+	if (team.previous == null) {
+	    teamsByCount[team.robots] = team.next;
+	} else {
+	    team.previous.next = team.next;
+	}
+	if (team.next != null) {
+	    team.next.previous = team.previous;
+	}
+	team.previous = null;
+	team.next = null;
     }
 
     private void declareWinner(Player winner) {
@@ -175,13 +290,13 @@ public class GameTracker implements EventPublisher {
 	boolean end = false;
 	if (robotsCount.size() > 1) { // if there are more than 1, otherwise it is "practice"
 	    Player sawOne = null;
-	    for (Entry<Player, Integer> entry : robotsCount.entrySet()) {
-		if (entry.getValue() > 0) {
+	    for (TeamCount team : robotsCount.values()) {
+		if (team.robots > 0) {
 		    if (sawOne != null) {
 			// not end, stop
 			return false;
 		    }
-		    sawOne = entry.getKey();
+		    sawOne = team.player;
 		}
 	    }
 	    // this is the end
@@ -194,7 +309,7 @@ public class GameTracker implements EventPublisher {
 	    end = true;
 	} else {
 	    // practice
-	    int left = robotsCount.values().iterator().next();
+	    int left = robotsCount.values().iterator().next().robots;
 
 	    if (left <= 0) {
 		// last robot in practice died
@@ -0,0 +1,182 @@
+package com.github.thehilikus.jrobocom;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.CodeSigner;
+import java.security.CodeSource;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.thehilikus.jrobocom.robot.TurnMeter;
+
+/**
+ * Loads the code of a player, instrumented so its robots are charged for the code they run. Every
+ * method entry and backward jump calls {@link TurnMeter#step()}, which is all a loop that gives no
+ * instructions to the robot has to go through
+ *
+ * @author hilikus
+ */
+class MeteredClassLoader extends URLClassLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(MeteredClassLoader.class);
+
+    private static final String METER = Type.getInternalName(TurnMeter.class);
+
+    private static final String STEP = "step";
+
+    private final CodeSource codeSource;
+
+    /**
+     * @param codeLocation the jar or directory with the player's classes
+     */
+    MeteredClassLoader(URL codeLocation) {
+	super(new URL[] { codeLocation });
+	codeSource = new CodeSource(codeLocation, (CodeSigner[]) null);
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+	URL classFile = findResource(name.replace('.', '/') + ".class");
+	if (classFile == null) {
+	    throw new ClassNotFoundException(name);
+	}
+
+	byte[] code;
+	try (InputStream stream = classFile.openStream()) {
+	    code = readAll(stream);
+	} catch (IOException exc) {
+	    throw new ClassNotFoundException(name, exc);
+	}
+
+	definePackageOf(name);
+	byte[] metered = instrument(code);
+	return defineClass(name, metered, 0, metered.length, codeSource);
+    }
+
+    private void definePackageOf(String className) {
+	int lastDot = className.lastIndexOf('.');
+	if (lastDot != -1) {
+	    String packageName = className.substring(0, lastDot);
+	    if (getPackage(packageName) == null) {
+		definePackage(packageName, null, null, null, null, null, null, null);
+	    }
+	}
+    }
+
+    private static byte[] readAll(InputStream stream) throws IOException {
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+	byte[] buffer = new byte[4096];
+	int read;
+	while ((read = stream.read(buffer)) != -1) {
+	    bytes.write(buffer, 0, read);
+	}
+	return bytes.toByteArray();
+    }
+
+    /**
+     * Adds the calls to the meter to a class
+     *
+     * @param code the bytecode of the class
+     * @return the instrumented bytecode
+     * @throws ClassFormatError if the class can't be read, so it can't run without being metered
+     */
+    static byte[] instrument(byte[] code) {
+	try {
+	    ClassReader reader = new ClassReader(code);
+	    // the calls don't touch the stack or the locals, so the sizes and frames stay valid
+	    ClassWriter writer = new ClassWriter(reader, 0);
+	    reader.accept(new ClassVisitor(Opcodes.ASM9, writer) {
+
+		@Override
+		public MethodVisitor visitMethod(int access, String name, String desc, String signature,
+			String[] exceptions) {
+		    return new MeteredMethod(super.visitMethod(access, name, desc, signature, exceptions));
+		}
+	    }, 0);
+	    return writer.toByteArray();
+	} catch (RuntimeException exc) {
+	    // e.g. class versions newer than the ones ASM reads
+	    log.warn("[instrument] Could not meter class", exc);
+	    ClassFormatError error = new ClassFormatError("Player class can't be metered: " + exc.getMessage());
+	    error.initCause(exc);
+	    throw error;
+	}
+    }
+
+    /**
+     * Calls the meter on entry and before jumping or switching back to code already visited
+     */
+    private static final class MeteredMethod extends MethodVisitor {
+
+	private final Set<Label> visitedLabels = new HashSet<>();
+
+	private MeteredMethod(MethodVisitor next) {
+	    super(Opcodes.ASM9, next);
+	}
+
+	@Override
+	public void visitCode() {
+	    super.visitCode();
+	    step();
+	}
+
+	@Override
+	public void visitLabel(Label label) {
+	    visitedLabels.add(label);
+	    super.visitLabel(label);
+	}
+
+	@Override
+	public void visitJumpInsn(int opcode, Label label) {
+	    if (visitedLabels.contains(label)) {
+		step();
+	    }
+	    super.visitJumpInsn(opcode, label);
+	}
+
+	@Override
+	public void visitTableSwitchInsn(int min, int max, Label dflt, Label... labels) {
+	    if (isBackward(dflt, labels)) {
+		step();
+	    }
+	    super.visitTableSwitchInsn(min, max, dflt, labels);
+	}
+
+	@Override
+	public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
+	    if (isBackward(dflt, labels)) {
+		step();
+	    }
+	    super.visitLookupSwitchInsn(dflt, keys, labels);
+	}
+
+	private boolean isBackward(Label dflt, Label[] labels) {
+	    if (visitedLabels.contains(dflt)) {
+		return true;
+	    }
+	    for (Label label : labels) {
+		if (visitedLabels.contains(label)) {
+		    return true;
+		}
+	    }
+	    return false;
+	}
+
+	private void step() {
+	    super.visitMethodInsn(Opcodes.INVOKESTATIC, METER, STEP, "()V", false);
+	}
+    }
+}
@@ -8,21 +8,27 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.net.MalformedURLException;
-import java.net.URL;
 import java.net.URLClassLoader;
 import java.security.SecureClassLoader;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
-import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.thehilikus.jrobocom.exceptions.PlayerException;
 import com.github.thehilikus.jrobocom.player.Bank;
+import com.github.thehilikus.jrobocom.robot.BankComplexity;
+import com.github.thehilikus.jrobocom.robot.BankFactory;
 import com.github.thehilikus.jrobocom.robot.Robot;
 
 /**
@@ -51,7 +57,19 @@ public class Player {
 
     private final int teamId;
 
-    private static Set<Integer> teamIds = new HashSet<>();
+    /**
+     * The IDs taken by loaded players. IDs are random so players can't count on the IDs of their
+     * rivals, and players can be loaded concurrently, e.g. by a tournament
+     */
+    private static final Set<Integer> teamIds = Collections
+	    .newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+
+    private static final int MAX_TEAM_ID = 1000;
+
+    /**
+     * Random IDs tried before looking for a free one in order
+     */
+    private static final int RANDOM_TEAM_ID_ATTEMPTS = 100;
 
     private boolean leader = false;
 
@@ -62,6 +80,19 @@ public class Player {
 
     private URLClassLoader loader;
 
+    private ExecutionMode executionMode = ExecutionMode.PLATFORM_THREADS;
+
+    /**
+     * Seconds an idle pooled thread waits for a new robot before it ends
+     */
+    private static final long POOL_KEEP_ALIVE = 30;
+
+    /**
+     * The threads reused by the robots of the team when they run in
+     * {@link ExecutionMode#POOLED_THREADS}. Null in the other modes
+     */
+    private volatile ExecutorService robotsPool;
+
     /**
      * Internal constructor
      * 
@@ -76,6 +107,13 @@ public class Player {
 	    throw new PlayerException("Robot priority cannot be greater than game's");
 	}
 
+	try {
+	    teamId = getNextTeamId();
+	} catch (PlayerException exc) {
+	    closeClassLoader();
+	    throw exc;
+	}
+
 	try {
 	    InputStream stream = loader.getResourceAsStream(PLAYER_PROPERTIES_FILE);
 
@@ -102,9 +140,6 @@ public class Player {
 		}
 		String[] banksClasses = banksList.split(",");
 
-		teamId = getNextTeamId();
-		teamIds.add(teamId);
-
 		banks = loadBanks(loader, banksClasses);
 
 		log.info("[Player] Successfully loaded Player: {}. Banks found = {}", this, banksClasses.length);
@@ -112,15 +147,30 @@ public class Player {
 
 	} catch (ClassCastException | IOException | ClassNotFoundException | InstantiationException
 		| IllegalAccessException | IllegalArgumentException | InvocationTargetException | SecurityException exc) {
-	    closeClassLoader();
+	    abandon();
 	    throw new PlayerException("Error loading player's code", exc);
 
+	} catch (ClassFormatError exc) {
+	    // e.g. classes that can't be metered
+	    abandon();
+	    PlayerException invalidCode = new PlayerException("Invalid player's code: " + exc.getMessage());
+	    invalidCode.initCause(exc);
+	    throw invalidCode;
+
 	} catch (PlayerException exc) {
-	    closeClassLoader();
+	    abandon();
 	    throw exc;
 	}
     }
 
+    /**
+     * Releases what a player that failed to load had taken
+     */
+    private void abandon() {
+	closeClassLoader();
+	teamIds.remove(teamId);
+    }
+
     /**
      * Main constructor
      * 
@@ -139,21 +189,33 @@ public class Player {
 	}
 
 	try {
-	    return new URLClassLoader(new URL[] { codePath.toURI().toURL() });
+	    return new MeteredClassLoader(codePath.toURI().toURL());
 	} catch (MalformedURLException exc) {
 	    throw new PlayerException("Error loading player's code", exc);
 	}
     }
 
-    private static int getNextTeamId() {
-	int potentialTeamId;
-	do {
-	    Random generator = new Random();
-	    potentialTeamId = generator.nextInt(1000);
-
-	} while (teamIds.contains(potentialTeamId));
-	// found good one
-	return potentialTeamId;
+    /**
+     * Reserves a free team ID. The IDs are unique in the whole JVM rather than in a session because
+     * players are loaded before the session they play in exists, and a player can be reused by
+     * several sessions. Being random, they don't tell a player how many others were loaded before
+     * 
+     * @throws PlayerException if all the IDs are taken
+     */
+    private static int getNextTeamId() throws PlayerException {
+	for (int attempt = 0; attempt < RANDOM_TEAM_ID_ATTEMPTS; attempt++) {
+	    int potentialTeamId = ThreadLocalRandom.current().nextInt(MAX_TEAM_ID);
+	    if (teamIds.add(potentialTeamId)) {
+		return potentialTeamId;
+	    }
+	}
+	// almost full
+	for (int potentialTeamId = 0; potentialTeamId < MAX_TEAM_ID; potentialTeamId++) {
+	    if (teamIds.add(potentialTeamId)) {
+		return potentialTeamId;
+	    }
+	}
+	throw new PlayerException("No team IDs left. Players that are not used anymore need to be cleaned");
     }
 
     private Bank[] loadBanks(SecureClassLoader pLoader, String[] banksClasses) throws ClassNotFoundException,
@@ -171,6 +233,8 @@ public class Player {
 	    try {
 		playerBanks[pos] = bankClass.getDeclaredConstructor().newInstance();
 		playerBanks[pos].setTeamId(teamId);
+		BankFactory.prepare(bankClass); // so transfers don't look up the constructor again
+		BankComplexity.of(bankClass); // nor analyse the bank's code
 	    } catch (NoSuchMethodException exc) {
 		throw new PlayerException("Player banks need a no-arg constructor", exc);
 	    }
@@ -200,15 +264,53 @@ public class Player {
     }
 
     /**
-     * Starts the thread of a robot in the player's thread group
+     * Activates a robot and starts its thread in the player's thread group
      * 
      * @param newRobot the robot to start
      */
     public void startRobot(Robot newRobot) {
 	newRobot.getData().setActiveState(DEFAULT_START_STATE);
-	Thread newThread = new Thread(robotsThreads, newRobot, "Bot-" + newRobot.getSerialNumber());
-	newThread.start(); // jumpstarts the robot
+	launchRobot(newRobot);
+
+    }
+
+    /**
+     * Starts the thread of a robot in the player's thread group without changing its state
+     * 
+     * @param newRobot the robot to start
+     */
+    public void launchRobot(Robot newRobot) {
+	String name = "Bot-" + newRobot.getSerialNumber();
+	executionMode.launch(robotsThreads, robotsPool, newRobot, name); // jumpstarts the robot
+    }
+
+    /**
+     * Starts reusing threads for the robots of this player. Only used in
+     * {@link ExecutionMode#POOLED_THREADS}
+     * 
+     * @param stackSize the stack size of the threads in bytes or 0 for the JVM's default
+     * @param daemon true if the threads shouldn't keep the JVM running
+     * @param maxPriority the highest priority of the threads
+     * @return the pool of threads, to shut down when the session ends
+     */
+    ExecutorService createRobotsPool(long stackSize, boolean daemon, int maxPriority) {
+	RobotThreadFactory factory = new RobotThreadFactory(robotsThreads, stackSize, daemon, maxPriority);
+	ExecutorService pool = new ThreadPoolExecutor(0, Integer.MAX_VALUE, POOL_KEEP_ALIVE, TimeUnit.SECONDS,
+		new SynchronousQueue<Runnable>(), factory);
+	robotsPool = pool;
+	return pool;
+    }
 
+    /**
+     * @param mode the kind of threads used to run the robots of this player
+     * @throws UnsupportedOperationException if the mode is not supported in this JVM
+     */
+    void setExecutionMode(ExecutionMode mode) {
+	if (!mode.isSupported()) {
+	    throw new UnsupportedOperationException("Execution mode not supported in this JVM: " + mode);
+	}
+	executionMode = mode;
+	robotsPool = null;
     }
 
     /**
@@ -253,7 +355,11 @@ public class Player {
     public void clean() {
 	log.info("[clean] Cleaning player {}", this);
 
-	closeClassLoader();
+	if (loader != null) {
+	    closeClassLoader();
+	    loader = null;
+	    teamIds.remove(teamId); // so long tournaments don't run out of IDs
+	}
 
     }
 
@@ -0,0 +1,64 @@
+package com.github.thehilikus.jrobocom;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the threads that run the robots of a team. The threads are always in the team's thread
+ * group, which is what tells the game apart from the players' code
+ *
+ * @author hilikus
+ * @see ExecutionMode#POOLED_THREADS
+ */
+public class RobotThreadFactory implements ThreadFactory {
+
+    private final ThreadGroup group;
+
+    private final long stackSize;
+
+    private final boolean daemon;
+
+    private final int priority;
+
+    private final AtomicInteger workers = new AtomicInteger();
+
+    /**
+     * @param pGroup the thread group of the team
+     * @param pStackSize the stack size of the threads in bytes or 0 to use the JVM's default
+     * @param pDaemon true if the threads shouldn't keep the JVM running
+     * @param maxPriority the highest priority of the threads. The maximum priority of the group
+     *            still applies if it is lower
+     * @throws IllegalArgumentException if the group is null, the stack size is negative or the
+     *             priority is not valid
+     */
+    public RobotThreadFactory(ThreadGroup pGroup, long pStackSize, boolean pDaemon, int maxPriority) {
+	if (pGroup == null) {
+	    throw new IllegalArgumentException("Thread group cannot be null");
+	}
+	if (pStackSize < 0) {
+	    throw new IllegalArgumentException("Stack size cannot be negative: " + pStackSize);
+	}
+	if (maxPriority < Thread.MIN_PRIORITY || maxPriority > Thread.MAX_PRIORITY) {
+	    throw new IllegalArgumentException("Invalid thread priority: " + maxPriority);
+	}
+	group = pGroup;
+	stackSize = pStackSize;
+	daemon = pDaemon;
+	priority = Math.min(maxPriority, pGroup.getMaxPriority());
+    }
+
+    @Override
+    public Thread newThread(Runnable task) {
+	Thread worker = new Thread(group, task, group.getName() + " worker-" + workers.incrementAndGet(), stackSize);
+	worker.setDaemon(daemon);
+	worker.setPriority(priority);
+	return worker;
+    }
+
+    /**
+     * @return the priority of the threads created
+     */
+    public int getPriority() {
+	return priority;
+    }
+}
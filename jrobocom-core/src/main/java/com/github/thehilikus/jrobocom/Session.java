@@ -1,14 +1,22 @@
 package com.github.thehilikus.jrobocom;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.thehilikus.events.event_manager.SubscriptionManager;
+import com.github.thehilikus.events.event_manager.api.EventDispatcher;
+import com.github.thehilikus.events.event_manager.api.EventPublisher;
+import com.github.thehilikus.jrobocom.GameSettings.Timing;
 import com.github.thehilikus.jrobocom.GameTracker.GameStatusListener;
+import com.github.thehilikus.jrobocom.events.EventPipeline;
 import com.github.thehilikus.jrobocom.events.GameListener;
 import com.github.thehilikus.jrobocom.events.LeaderChangedEvent;
 import com.github.thehilikus.jrobocom.events.PlayerEliminatedEvent;
@@ -17,7 +25,9 @@ import com.github.thehilikus.jrobocom.events.SecureSubscriptionManager;
 import com.github.thehilikus.jrobocom.robot.Robot;
 import com.github.thehilikus.jrobocom.security.GameSecurityManager;
 import com.github.thehilikus.jrobocom.timing.Delayer;
-import com.github.thehilikus.jrobocom.timing.MasterClock;
+import com.github.thehilikus.jrobocom.timing.DeterministicDelayer;
+import com.github.thehilikus.jrobocom.timing.api.Clock;
+import com.github.thehilikus.jrobocom.timing.api.TurnScheduler;
 
 /**
  * A game session. It groups all the players, settings and world of a single session
@@ -26,17 +36,41 @@ import com.github.thehilikus.jrobocom.timing.MasterClock;
  * 
  */
 public class Session {
-    private final MasterClock clock;
-    private final Delayer delayer = new Delayer();
+    private final Clock clock;
+    private final TurnScheduler delayer;
     private final World theWorld;
-    private GameTracker tracker = new GameTracker();
+    private final GameTracker tracker;
+    private final GameSettings settings;
+    private final Timing timing;
     private SubscriptionManager subscriptions = new SecureSubscriptionManager();
+
+    /**
+     * Subscriptions of the controller when events are asynchronous, null otherwise
+     */
+    private final SubscriptionManager asyncSubscriptions;
+    private final EventPipeline pipeline;
     private List<Player> players;
 
+    /**
+     * Robots of different sessions can share serial numbers, they never meet
+     */
+    private final AtomicInteger serialNumbers = new AtomicInteger();
+
+    /**
+     * The threads of each team when robots run in {@link ExecutionMode#POOLED_THREADS}
+     */
+    private final List<ExecutorService> robotPools = new ArrayList<>();
+
     private static final Logger log = LoggerFactory.getLogger(Session.class);
 
-    static {
-	System.setSecurityManager(new GameSecurityManager());
+    /**
+     * Installs the game's security manager unless it is in place already. It is shared by all the
+     * sessions in the JVM since it recognizes player code by its call stack, not by session
+     */
+    private static synchronized void installSecurityManager() {
+	if (!(System.getSecurityManager() instanceof GameSecurityManager)) {
+	    System.setSecurityManager(new GameSecurityManager());
+	}
     }
 
     /**
@@ -80,37 +114,96 @@ public class Session {
      * @param controller receiver of <u>all</u> game events. Can be null
      */
     public Session(List<Player> pPlayers, GameListener controller) {
+	this(pPlayers, controller, new SessionOptions());
+    }
+
+    /**
+     * Creates a new session with a list of player whose code is to be loaded
+     * 
+     * @param pPlayers list of player whose code is to be loaded
+     * @param controller receiver of <u>all</u> game events. Can be null
+     * @param options how the session runs
+     * @throws UnsupportedOperationException if the options are not supported in this JVM
+     */
+    public Session(List<Player> pPlayers, GameListener controller, SessionOptions options) {
 	validatePlayers(pPlayers);
+	if (options == null) {
+	    throw new IllegalArgumentException("Session options cannot be null");
+	}
+	installSecurityManager();
+
+	if (options.isDeterministic()) {
+	    delayer = new DeterministicDelayer();
+	} else {
+	    delayer = new Delayer();
+	}
 
-	clock = new MasterClock(delayer);
-	theWorld = new World(clock, delayer);
-	theWorld.setEventDispatcher(subscriptions.getEventDispatcher(theWorld));
-	tracker.setEventDispatcher(subscriptions.getEventDispatcher(tracker));
+	settings = options.getSettings() == null ? GameSettings.getInstance() : options.getSettings();
+	timing = Timing.getInstance();
+	clock = options.getClockMode().newClock(delayer);
+	theWorld = new World(clock, delayer, settings);
+	tracker = new GameTracker(settings);
+	if (options.getRandomSeed() != null) {
+	    theWorld.setRandGenerator(new Random(options.getRandomSeed()));
+	}
+	if (options.isAsyncEvents()) {
+	    asyncSubscriptions = new SecureSubscriptionManager();
+	    pipeline = new EventPipeline();
+	} else {
+	    asyncSubscriptions = null;
+	    pipeline = null;
+	}
+	theWorld.setEventDispatcher(dispatcherFor(theWorld));
+	tracker.setEventDispatcher(dispatcherFor(tracker));
 	clock.setEventDispatcher(subscriptions.getEventDispatcher(clock));
 
 	if (controller != null) {
-	    subscriptions.subscribe(theWorld, controller);
-	    subscriptions.subscribe(tracker, controller);
+	    subscribeController(theWorld, controller);
+	    subscribeController(tracker, controller);
 	}
 	subscriptions.subscribe(theWorld, tracker.getEventsReceiver());
 	subscriptions.subscribe(tracker, new EventHandler());
-	subscriptions.subscribe(clock, theWorld); // TODO: fix this, don't assume that clock impl is
-						  // event publisher
+	subscriptions.subscribe(clock, theWorld);
+	if (pipeline != null) {
+	    subscriptions.subscribe(clock, pipeline);
+	    pipeline.start();
+	}
 
-	Robot.resetSerialNumber();
 	players = pPlayers;
 	for (Player onePlayer : pPlayers) {
-	    Robot eve = new Robot(theWorld, delayer, onePlayer.getCode(), onePlayer.getTeamName() + " Alpha", onePlayer);
+	    onePlayer.setExecutionMode(options.getExecutionMode());
+	    if (options.getExecutionMode() == ExecutionMode.POOLED_THREADS) {
+		robotPools.add(onePlayer.createRobotsPool(options.getRobotStackSize(), options.isRobotDaemon(),
+			options.getRobotMaxPriority()));
+	    }
+	    Robot eve = new Robot(theWorld, delayer, onePlayer.getCode(), onePlayer.getTeamName() + " Alpha", onePlayer,
+		    serialNumbers, settings, timing);
 	    if (controller != null) {
-		subscriptions.subscribe(eve, controller);
+		subscribeController(eve, controller);
 	    }
-	    eve.setEventDispatcher(subscriptions.getEventDispatcher(eve));
+	    eve.setEventDispatcher(dispatcherFor(eve));
 	    theWorld.addFirst(eve);
 	    onePlayer.startRobot(eve);
 
 	}
     }
 
+    private EventDispatcher dispatcherFor(EventPublisher source) {
+	if (pipeline == null) {
+	    return subscriptions.getEventDispatcher(source);
+	}
+	return pipeline.newDispatcher(subscriptions.getEventDispatcher(source),
+		asyncSubscriptions.getEventDispatcher(source));
+    }
+
+    private void subscribeController(EventPublisher source, GameListener controller) {
+	if (asyncSubscriptions == null) {
+	    subscriptions.subscribe(source, controller);
+	} else {
+	    asyncSubscriptions.subscribe(source, controller);
+	}
+    }
+
     private static void validatePlayers(List<Player> pPlayers) {
 	if (pPlayers == null || pPlayers.isEmpty()) {
 	    throw new IllegalArgumentException("List of players can't be null or empty");
@@ -198,6 +291,13 @@ public class Session {
 	return clock.getPeriod();
     }
 
+    /**
+     * @return the size of the board and limits of the session
+     */
+    public GameSettings getSettings() {
+	return settings;
+    }
+
     /**
      * @return the list of players in the session
      */
@@ -213,6 +313,16 @@ public class Session {
 
 	clock.clean();
 	theWorld.clean();
+	if (pipeline != null) {
+	    pipeline.clean(); // delivers what the controller hasn't received yet
+	}
+	delayer.clean(); // releases the threads of robots that were waiting
+	for (ExecutorService pool : robotPools) {
+	    pool.shutdown(); // the threads end once their robots finish
+	}
 	subscriptions.unsubscribeAll();
+	if (asyncSubscriptions != null) {
+	    asyncSubscriptions.unsubscribeAll();
+	}
     }
 }
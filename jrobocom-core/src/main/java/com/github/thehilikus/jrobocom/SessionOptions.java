@@ -0,0 +1,190 @@
+package com.github.thehilikus.jrobocom;
+
+import com.github.thehilikus.jrobocom.events.EventPipeline;
+import com.github.thehilikus.jrobocom.timing.DeterministicDelayer;
+
+/**
+ * Choices about how a {@link Session} runs. The defaults match a normal interactive game
+ *
+ * @author hilikus
+ */
+public class SessionOptions {
+
+    private ExecutionMode executionMode = ExecutionMode.PLATFORM_THREADS;
+
+    private boolean deterministic = false;
+
+    private Long randomSeed;
+
+    private ClockMode clockMode = ClockMode.TIMED;
+
+    private boolean asyncEvents = false;
+
+    private GameSettings settings;
+
+    private long robotStackSize = 0;
+
+    private boolean robotDaemon = false;
+
+    private int robotMaxPriority = Thread.MAX_PRIORITY;
+
+    /**
+     * @return the kind of threads used to run the robots
+     */
+    public ExecutionMode getExecutionMode() {
+	return executionMode;
+    }
+
+    /**
+     * @param mode the kind of threads used to run the robots
+     * @throws IllegalArgumentException if mode is null
+     */
+    public void setExecutionMode(ExecutionMode mode) {
+	if (mode == null) {
+	    throw new IllegalArgumentException("Execution mode cannot be null");
+	}
+	executionMode = mode;
+    }
+
+    /**
+     * @return how the session's clock decides when to tick
+     */
+    public ClockMode getClockMode() {
+	return clockMode;
+    }
+
+    /**
+     * @param mode how the session's clock decides when to tick
+     * @throws IllegalArgumentException if mode is null
+     */
+    public void setClockMode(ClockMode mode) {
+	if (mode == null) {
+	    throw new IllegalArgumentException("Clock mode cannot be null");
+	}
+	clockMode = mode;
+    }
+
+    /**
+     * @return true if robots take their turns one at a time in a fixed order
+     * @see DeterministicDelayer
+     */
+    public boolean isDeterministic() {
+	return deterministic;
+    }
+
+    /**
+     * @param pDeterministic true if robots should take their turns one at a time in a fixed order
+     *            instead of running freely in their threads
+     * @see DeterministicDelayer
+     */
+    public void setDeterministic(boolean pDeterministic) {
+	deterministic = pDeterministic;
+    }
+
+    /**
+     * @return the seed of the world's random numbers or null to use a random one
+     */
+    public Long getRandomSeed() {
+	return randomSeed;
+    }
+
+    /**
+     * @param seed the seed of the world's random numbers or null to use a random one. Together with
+     *            {@link #setDeterministic(boolean)} it makes a game repeatable
+     */
+    public void setRandomSeed(Long seed) {
+	randomSeed = seed;
+    }
+
+    /**
+     * @return true if the game events reach the session's controller in their own thread
+     * @see EventPipeline
+     */
+    public boolean isAsyncEvents() {
+	return asyncEvents;
+    }
+
+    /**
+     * @param pAsyncEvents true if the game events should reach the session's controller in their
+     *            own thread, batched per tick, instead of in the thread of the robot that fired
+     *            them. The session's own bookkeeping always gets them right away
+     * @see EventPipeline
+     */
+    public void setAsyncEvents(boolean pAsyncEvents) {
+	asyncEvents = pAsyncEvents;
+    }
+
+    /**
+     * @return the size of the board and limits of the game or null to use
+     *         {@link GameSettings#getInstance() the defaults}
+     */
+    public GameSettings getSettings() {
+	return settings;
+    }
+
+    /**
+     * @param pSettings the size of the board and limits of the game or null to use
+     *            {@link GameSettings#getInstance() the defaults}
+     */
+    public void setSettings(GameSettings pSettings) {
+	settings = pSettings;
+    }
+
+    /**
+     * @return the stack size in bytes of the pooled robot threads, 0 for the JVM's default
+     * @see ExecutionMode#POOLED_THREADS
+     */
+    public long getRobotStackSize() {
+	return robotStackSize;
+    }
+
+    /**
+     * @param stackSize the stack size in bytes of the pooled robot threads, 0 for the JVM's default
+     * @throws IllegalArgumentException if the size is negative
+     * @see ExecutionMode#POOLED_THREADS
+     */
+    public void setRobotStackSize(long stackSize) {
+	if (stackSize < 0) {
+	    throw new IllegalArgumentException("Stack size cannot be negative: " + stackSize);
+	}
+	robotStackSize = stackSize;
+    }
+
+    /**
+     * @return true if the pooled robot threads don't keep the JVM running
+     * @see ExecutionMode#POOLED_THREADS
+     */
+    public boolean isRobotDaemon() {
+	return robotDaemon;
+    }
+
+    /**
+     * @param daemon true if the pooled robot threads shouldn't keep the JVM running
+     * @see ExecutionMode#POOLED_THREADS
+     */
+    public void setRobotDaemon(boolean daemon) {
+	robotDaemon = daemon;
+    }
+
+    /**
+     * @return the highest priority of the pooled robot threads
+     * @see ExecutionMode#POOLED_THREADS
+     */
+    public int getRobotMaxPriority() {
+	return robotMaxPriority;
+    }
+
+    /**
+     * @param maxPriority the highest priority of the pooled robot threads. The limit of the teams'
+     *            thread groups still applies if it is lower
+     * @throws IllegalArgumentException if the priority is not valid
+     * @see ExecutionMode#POOLED_THREADS
+     */
+    public void setRobotMaxPriority(int maxPriority) {
+	if (maxPriority < Thread.MIN_PRIORITY || maxPriority > Thread.MAX_PRIORITY) {
+	    throw new IllegalArgumentException("Invalid thread priority: " + maxPriority);
+	}
+	robotMaxPriority = maxPriority;
+    }
+
+}
@@ -1,11 +1,12 @@
 package com.github.thehilikus.jrobocom;
 
-import java.awt.Point;
 import java.util.EventListener;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,13 +17,14 @@ import com.github.thehilikus.jrobocom.events.RobotAddedEvent;
 import com.github.thehilikus.jrobocom.events.RobotMovedEvent;
 import com.github.thehilikus.jrobocom.events.RobotRemovedEvent;
 import com.github.thehilikus.jrobocom.events.TickEvent;
+import com.github.thehilikus.jrobocom.player.ReadableSettings;
 import com.github.thehilikus.jrobocom.player.ScanResult;
 import com.github.thehilikus.jrobocom.player.ScanResult.Found;
 import com.github.thehilikus.jrobocom.robot.Robot;
 import com.github.thehilikus.jrobocom.security.GamePermission;
-import com.github.thehilikus.jrobocom.timing.Delayer;
 import com.github.thehilikus.jrobocom.timing.api.Clock;
 import com.github.thehilikus.jrobocom.timing.api.ClockListener;
+import com.github.thehilikus.jrobocom.timing.api.TurnScheduler;
 
 /**
  * The game board
@@ -32,11 +34,50 @@ import com.github.thehilikus.jrobocom.timing.api.ClockListener;
  */
 public class World implements ClockListener, EventPublisher {
 
-    private Map<Robot, Point> robotsPosition = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Robot, Position> robotsPosition = new ConcurrentHashMap<>();
+
+    /**
+     * Index of the board cells, kept consistent with {@link #robotsPosition}. Indexed by cell ID.
+     * Robots claim a cell by setting it when it is empty, so two robots can't take the same cell
+     * 
+     * @see #toCell(int, int)
+     */
+    private final AtomicReferenceArray<Robot> board;
+
+    private final int boardSize;
+
+    private final GameSettings settings;
+
+    private final ReadableSettings playerSettings;
+
+    /**
+     * The robots by the first tick when they could be too old
+     */
+    private final AgeWheel ages;
+
+    /**
+     * The cell next to each cell, wrapping around the edges. Indexed as [direction][cell]
+     */
+    private final int[][] neighbours;
+
+    /**
+     * Guards the changes to {@link #teamsCount} and {@link #robotsCount} so they are seen together
+     */
+    private final Object countsLock = new Object();
+
+    /**
+     * Number of robots of each team by team ID
+     */
+    private final Map<Integer, AtomicInteger> teamsCount = new ConcurrentHashMap<>();
+
+    /**
+     * Number of robots in the board
+     */
+    private final AtomicInteger robotsCount = new AtomicInteger();
 
     private Clock clock;
 
-    private Delayer delayer;
+    private TurnScheduler delayer;
 
     private static final Logger log = LoggerFactory.getLogger(World.class);
 
@@ -71,17 +112,82 @@ public class World implements ClockListener, EventPublisher {
     }
 
     /**
-     * Common random number generator
+     * The cell of a robot in the board. Changed with the position's lock held, which is only
+     * shared by the moves and removal of the same robot
+     * 
+     */
+    private static final class Position {
+	private volatile int cell;
+
+	/**
+	 * Set when the robot leaves the board
+	 */
+	private boolean removed;
+
+	private Position(int pCell) {
+	    cell = pCell;
+	}
+    }
+
+    /**
+     * Random number generator of this world, so sessions running side by side don't share it
+     */
+    private Random generator = new Random();
+
+    /**
+     * @param pClock the world clock
+     * @param pDelayer in charge of synchronization
      */
-    private static Random generator = new Random();
+    public World(Clock pClock, TurnScheduler pDelayer) {
+	this(pClock, pDelayer, GameSettings.getInstance());
+    }
 
     /**
      * @param pClock the world clock
      * @param pDelayer in charge of synchronization
+     * @param pSettings the size of the board and limits of the robots
      */
-    public World(Clock pClock, Delayer pDelayer) {
+    public World(Clock pClock, TurnScheduler pDelayer, GameSettings pSettings) {
+	if (pSettings == null) {
+	    throw new IllegalArgumentException("Settings cannot be null");
+	}
 	clock = pClock;
 	delayer = pDelayer;
+	settings = pSettings;
+	playerSettings = new ReadableSettings(settings);
+	ages = new AgeWheel(settings.MAX_AGE + 1);
+	boardSize = settings.BOARD_SIZE;
+	board = new AtomicReferenceArray<>(boardSize * boardSize);
+
+	neighbours = new int[Direction.COUNT][board.length()];
+	for (int y = 0; y < boardSize; y++) {
+	    for (int x = 0; x < boardSize; x++) {
+		int cell = toCell(x, y);
+		neighbours[Direction.NORTH.ordinal()][cell] = toCell(x, (y + boardSize - 1) % boardSize);
+		neighbours[Direction.EAST.ordinal()][cell] = toCell((x + 1) % boardSize, y);
+		neighbours[Direction.SOUTH.ordinal()][cell] = toCell(x, (y + 1) % boardSize);
+		neighbours[Direction.WEST.ordinal()][cell] = toCell((x + boardSize - 1) % boardSize, y);
+	    }
+	}
+    }
+
+    /**
+     * Packs coordinates in a single int
+     * 
+     * @param x the column
+     * @param y the row
+     * @return the ID of the cell
+     */
+    private int toCell(int x, int y) {
+	return y * boardSize + x;
+    }
+
+    private int getX(int cell) {
+	return cell % boardSize;
+    }
+
+    private int getY(int cell) {
+	return cell / boardSize;
     }
 
     /**
@@ -95,16 +201,15 @@ public class World implements ClockListener, EventPublisher {
      * @throws IllegalArgumentException if child is not a direct descendant of parent
      */
     public boolean add(Robot parent, Robot child) {
-	Point newPosition = getReferenceField(parent, 1);
+	int newPosition = getReferenceField(parent, 1);
 	if (isOccupied(newPosition)) {
 	    return false;
 	} else {
 	    if (child.getData().getGeneration() != parent.getData().getGeneration() + 1) {
 		throw new IllegalArgumentException("Child robot is not a direct descendant of this parent");
 	    }
-	    addCommon(child, newPosition);
+	    return addCommon(child, newPosition);
 	}
-	return true;
     }
 
     /**
@@ -123,28 +228,47 @@ public class World implements ClockListener, EventPublisher {
 	    throw new IllegalArgumentException(
 		    "Provided robot is not the first from its team. Use add(Robot, Robot) instead");
 	}
-	Point newPosition;
+	int newPosition;
 	do {
 	    // TODO: check this, looks biased
-	    int x = generator.nextInt(GameSettings.getInstance().BOARD_SIZE);
-	    int y = generator.nextInt(GameSettings.getInstance().BOARD_SIZE);
-	    newPosition = new Point(x, y);
-	} while (isOccupied(newPosition));
-
-	addCommon(eve, newPosition);
+	    int x = generator.nextInt(boardSize);
+	    int y = generator.nextInt(boardSize);
+	    newPosition = toCell(x, y);
+	} while (isOccupied(newPosition) || !addCommon(eve, newPosition));
     }
 
-    private void addCommon(Robot newRobot, Point newPosition) {
-	if (robotsPosition.containsKey(newRobot)) {
+    /**
+     * Places the robot in the board and notifies about it
+     * 
+     * @return false if the field got taken while trying to add the robot
+     */
+    private boolean addCommon(Robot newRobot, int newPosition) {
+	Position position = new Position(newPosition);
+	if (robotsPosition.putIfAbsent(newRobot, position) != null) {
 	    // robot already exists
 	    throw new IllegalArgumentException("Trying to add an existing robot");
 	}
+	if (!board.compareAndSet(newPosition, null, newRobot)) {
+	    robotsPosition.remove(newRobot, position);
+	    return false;
+	}
 
-	robotsPosition.put(newRobot, newPosition);
+	int teamId = newRobot.getData().getTeamId();
+	synchronized (countsLock) {
+	    AtomicInteger teamCount = teamsCount.get(teamId);
+	    if (teamCount == null) {
+		teamCount = new AtomicInteger();
+		teamsCount.put(teamId, teamCount);
+	    }
+	    teamCount.incrementAndGet();
+	    robotsCount.incrementAndGet();
+	}
+	scheduleAgeCheck(newRobot, newRobot.getData().getAge());
 	delayer.addListener(newRobot.getSerialNumber());
-	eventDispatcher.fireEvent(new RobotAddedEvent(newRobot, newPosition));
+	eventDispatcher.fireEvent(new RobotAddedEvent(newRobot, getX(newPosition), getY(newPosition)));
 	log.trace("[addFirst] Added robot {}", newRobot);
 
+	return true;
     }
 
     /**
@@ -153,14 +277,23 @@ public class World implements ClockListener, EventPublisher {
      * @param robot the robot to remove from the board
      */
     public void remove(Robot robot) {
-	if (!robotsPosition.containsKey(robot)) {
+	Position removed = robotsPosition.remove(robot);
+	if (removed == null) {
 	    throw new IllegalArgumentException("Robot doesn't exist");
 	}
-
-	Point lastPosition = robotsPosition.get(robot);
-	robotsPosition.remove(robot);
+	int lastPosition;
+	synchronized (removed) {
+	    removed.removed = true;
+	    lastPosition = removed.cell;
+	    board.compareAndSet(lastPosition, robot, null);
+	}
+	synchronized (countsLock) {
+	    teamsCount.get(robot.getData().getTeamId()).decrementAndGet();
+	    robotsCount.decrementAndGet();
+	}
+	// notify before unregistering, so the removal is handled while the robot still has its turn
+	eventDispatcher.fireEvent(new RobotRemovedEvent(robot, getX(lastPosition), getY(lastPosition)));
 	delayer.removeListener(robot.getSerialNumber());
-	eventDispatcher.fireEvent(new RobotRemovedEvent(robot, lastPosition));
 
     }
 
@@ -177,6 +310,7 @@ public class World implements ClockListener, EventPublisher {
 		remove(bot);
 	    }
 	}
+	ages.clear();
 
     }
 
@@ -186,61 +320,52 @@ public class World implements ClockListener, EventPublisher {
      * @param robot the robot
      */
     public void move(Robot robot) {
-	if (!robotsPosition.containsKey(robot)) {
+	Position position = robotsPosition.get(robot);
+	if (position == null) {
 	    throw new IllegalArgumentException("Robot doesn't exist");
 	}
 	if (!robot.getData().isMobile()) {
 	    throw new IllegalArgumentException("Robot can't move");
 	}
 
-	Point newPosition = getReferenceField(robot, 1);
-	if (!isOccupied(newPosition)) {
-	    Point oldPosition = robotsPosition.get(robot);
-	    robotsPosition.put(robot, newPosition);
-	    eventDispatcher.fireEvent(new RobotMovedEvent(robot, oldPosition, newPosition));
+	int oldPosition;
+	int newPosition;
+	synchronized (position) {
+	    if (position.removed) {
+		throw new IllegalArgumentException("Robot doesn't exist");
+	    }
+	    oldPosition = position.cell;
+	    newPosition = neighbours[robot.getData().getFacing().ordinal()][oldPosition];
+	    if (!board.compareAndSet(newPosition, null, robot)) {
+		return;
+	    }
+	    position.cell = newPosition;
+	    board.set(oldPosition, null);
 	}
+	eventDispatcher.fireEvent(new RobotMovedEvent(robot, getX(oldPosition), getY(oldPosition), getX(newPosition),
+		getY(newPosition)));
 
     }
 
-    private boolean isOccupied(Point newPosition) {
-	return robotsPosition.containsValue(newPosition);
+    private boolean isOccupied(int cell) {
+	return getRobotAt(cell) != null;
     }
 
-    private Point getReferenceField(Robot robot, int dist) {
+    private int getReferenceField(Robot robot, int dist) {
 	assert dist > 0;
 	assert robotsPosition.containsKey(robot);
-	int size = GameSettings.getInstance().BOARD_SIZE;
 
-	if (dist >= size) {
+	if (dist >= boardSize) {
 	    throw new IllegalArgumentException("Cannot scan bigger than the board");
 	}
 
-	int x = robotsPosition.get(robot).x;
-	int y = robotsPosition.get(robot).y;
-
-	switch (robot.getData().getFacing()) {
-	    case NORTH:
-		y = (y - dist) % size;
-		break;
-	    case EAST:
-		x = (x + dist) % size;
-		break;
-	    case SOUTH:
-		y = (y + dist) % size;
-		break;
-	    case WEST:
-		x = (x - dist) % size;
-		break;
-
-	}
-	if (x < 0) {
-	    x += size;
-	}
-	if (y < 0) {
-	    y += size;
+	int[] ahead = neighbours[robot.getData().getFacing().ordinal()];
+	int cell = robotsPosition.get(robot).cell;
+	for (int step = 0; step < dist; step++) {
+	    cell = ahead[cell];
 	}
 
-	return new Point(x, y);
+	return cell;
     }
 
     /**
@@ -250,69 +375,93 @@ public class World implements ClockListener, EventPublisher {
      * @return the robot in front, or null if field is empty
      */
     public Robot getNeighbour(Robot robot) {
-	Point neighbourPos = getReferenceField(robot, 1);
-	return getRobotAt(neighbourPos);
+	return getRobotAt(getReferenceField(robot, 1));
 
     }
 
-    private Robot getRobotAt(Point position) {
-	for (Entry<Robot, Point> robotInfo : robotsPosition.entrySet()) {
-	    if (robotInfo.getValue().equals(position)) {
-		return robotInfo.getKey();
-	    }
-	}
-	// nothing found
-	return null;
+    private Robot getRobotAt(int cell) {
+	return board.get(cell);
     }
 
     /**
-     * Scans up to a number of fields in front of the robot, stopping on the first field that
-     * contains a robot
+     * Scans a single field in front of the robot
      * 
      * @param robot scanning robot
-     * @param dist maximum distance
+     * @param dist distance of the field
      * @return a container of information about the scan
      * @see ScanResult
      */
     public ScanResult scan(Robot robot, int dist) {
-	Point space = getReferenceField(robot, dist);
-	Robot inPosition = getRobotAt(space);
-	ScanResult ret = null;
+	return toScanResult(robot, getRobotAt(getReferenceField(robot, dist)), dist);
+    }
+
+    /**
+     * Scans up to a number of fields in front of the robot, stopping on the first field that
+     * contains a robot. The fields are walked in a single pass
+     * 
+     * @param robot scanning robot
+     * @param maxDist maximum distance
+     * @return a container of information about the scan
+     * @throws IllegalArgumentException if the fields up to the board size are empty and the
+     *             maximum distance is bigger
+     * @see ScanResult
+     */
+    public ScanResult scanAhead(Robot robot, int maxDist) {
+	if (maxDist < 1) {
+	    throw new IllegalArgumentException("Scan distance has to be positive");
+	}
+	int[] ahead = neighbours[robot.getData().getFacing().ordinal()];
+	int lastDist = Math.min(maxDist, boardSize - 1);
+
+	Position position = robotsPosition.get(robot);
+	if (position == null) {
+	    throw new IllegalArgumentException("Robot doesn't exist");
+	}
+	Robot inPosition = null;
+	int dist = 0;
+	int cell = position.cell;
+	while (inPosition == null && dist < lastDist) {
+	    cell = ahead[cell];
+	    dist++;
+	    inPosition = board.get(cell);
+	}
+
+	if (inPosition == null && maxDist >= boardSize) {
+	    throw new IllegalArgumentException("Cannot scan bigger than the board");
+	}
+	return toScanResult(robot, inPosition, dist);
+    }
+
+    private static ScanResult toScanResult(Robot scanner, Robot inPosition, int dist) {
 	if (inPosition == null) {
-	    ret = new ScanResult(Found.EMPTY, dist);
+	    return ScanResult.valueOf(Found.EMPTY, dist);
+	} else if (scanner.getData().getTeamId() == inPosition.getData().getTeamId()) {
+	    return ScanResult.valueOf(Found.FRIEND, dist);
 	} else {
-	    if (robot.getData().getTeamId() == inPosition.getData().getTeamId()) {
-		ret = new ScanResult(Found.FRIEND, dist);
-	    } else {
-		ret = new ScanResult(Found.ENEMY, dist);
-	    }
+	    return ScanResult.valueOf(Found.ENEMY, dist);
 	}
-
-	return ret;
     }
 
     /**
-     * Get the total number of living robots from or not from a team
+     * Get the total number of living robots from or not from a team. O(1)
      * 
      * @param teamId the team to search for
      * @param invert if true, find robots NOT in teamId
      * @return number of robots in the specified group
      */
     public int getBotsCount(int teamId, boolean invert) {
-	int total = 0;
-	for (Robot bot : robotsPosition.keySet()) {
-	    if (bot.getData().getTeamId() == teamId) {
-		if (!invert) {
-		    total++;
-		}
-	    } else {
-		if (invert) {
-		    total++;
-		}
+	if (invert) {
+	    // both counters have to be from the same moment
+	    synchronized (countsLock) {
+		return robotsCount.get() - getTeamCount(teamId);
 	    }
 	}
-	return total;
+	return getTeamCount(teamId);
+    }
 
+    private int getTeamCount(int teamId) {
+	AtomicInteger teamCount = teamsCount.get(teamId);
+	return teamCount == null ? 0 : teamCount.get();
     }
 
     /**
@@ -322,14 +471,21 @@ public class World implements ClockListener, EventPublisher {
 	return (int) clock.getCycles();
     }
 
+    /**
+     * @return the settings of this world that players can read
+     */
+    public ReadableSettings getPlayerSettings() {
+	return playerSettings;
+    }
+
     /**
      * @return the generator
      */
-    public static final Random getRandGenerator() {
+    public Random getRandGenerator() {
 	return generator;
     }
 
-    static final void setRandGenerator(Random newGen) {
+    void setRandGenerator(Random newGen) {
 	SecurityManager sm = System.getSecurityManager();
 	if (sm != null) {
 	    sm.checkPermission(new GamePermission("setRandomGenerator"));
@@ -345,17 +501,41 @@ public class World implements ClockListener, EventPublisher {
      */
     @Override
     public void update(TickEvent cyclesEvent) {
-	checkRobotsAge();
+	for (Robot robot : ages.advance()) {
+	    if (robotsPosition.containsKey(robot)) {
+		int age = robot.getData().getAge();
+		if (!checkAge(robot, age)) {
+		    scheduleAgeCheck(robot, age);
+		}
+	    }
+	}
 
     }
 
-    private void checkRobotsAge() {
-	for (Robot robot : robotsPosition.keySet()) {
-	    if (robot.getData().getAge() > GameSettings.getInstance().MAX_AGE) {
-		robot.die("Too old to fight");
-	    }
+    /**
+     * Kills a robot if it is too old. This is the only place where the age limit is enforced
+     * 
+     * @param robot the robot to check
+     * @return true if the robot was too old
+     */
+    public boolean checkAge(Robot robot) {
+	return checkAge(robot, robot.getData().getAge());
+    }
+
+    private boolean checkAge(Robot robot, int age) {
+	if (age > settings.MAX_AGE) {
+	    robot.die("Too old to fight");
+	    return true;
 	}
+	return false;
+    }
 
+    /**
+     * Schedules a robot to be checked in the first tick when it could be too old. Robots age at
+     * most one turn per tick; between checks, they are also checked before each of their waits
+     */
+    private void scheduleAgeCheck(Robot robot, int age) {
+	ages.schedule(robot, Math.max(1, settings.MAX_AGE + 1 - age));
     }
 
     @Override
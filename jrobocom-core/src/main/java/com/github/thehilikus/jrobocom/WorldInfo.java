@@ -1,5 +1,7 @@
 package com.github.thehilikus.jrobocom;
 
+import com.github.thehilikus.jrobocom.player.ReadableSettings;
+
 /**
  * Provides information about the world
  * 
@@ -22,4 +24,11 @@ public interface WorldInfo {
      */
     public int getWorldAge();
 
+    /**
+     * The settings don't change during a session, so reading them costs no turns
+     * 
+     * @return the size of the board and limits of the session
+     */
+    public ReadableSettings getSettings();
+
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.github.thehilikus.jrobocom.events;
+
+import java.util.EventObject;
+
+import com.github.thehilikus.events.event_manager.api.EventDispatcher;
+
+/**
+ * The dispatcher of a single publisher when events go through an {@link EventPipeline}. Listeners
+ * that need synchronous semantics get the event in the thread that fires it, right after it is
+ * queued for the rest
+ *
+ * @author hilikus
+ */
+public class AsyncEventDispatcher implements EventDispatcher {
+
+    private final EventPipeline pipeline;
+
+    private final EventDispatcher synchronous;
+
+    private final EventDispatcher asynchronous;
+
+    AsyncEventDispatcher(EventPipeline pPipeline, EventDispatcher pSynchronous, EventDispatcher pAsynchronous) {
+	pipeline = pPipeline;
+	synchronous = pSynchronous;
+	asynchronous = pAsynchronous;
+    }
+
+    @Override
+    public void fireEvent(EventObject event) {
+	// queued first so the events that synchronous listeners fire in response come after it
+	pipeline.publish(asynchronous, event);
+	synchronous.fireEvent(event);
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.thehilikus.jrobocom.events;
+
+import java.util.EventListener;
+import java.util.EventObject;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.thehilikus.events.event_manager.api.EventDispatcher;
+
+/**
+ * Delivers the events of a publisher to listeners whose methods were bound when they subscribed,
+ * in the order they subscribed. A listener that fails doesn't reach the publisher, which is often a
+ * robot's thread, nor the listeners after it
+ *
+ * @author hilikus
+ * @see ListenerBinding
+ */
+class BoundEventDispatcher implements EventDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundEventDispatcher.class);
+
+    private final List<ListenerBinding> bindings = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void fireEvent(EventObject event) {
+	for (ListenerBinding binding : bindings) {
+	    try {
+		binding.deliver(event);
+	    } catch (RuntimeException exc) {
+		log.error("[fireEvent] Listener " + binding.getListener() + " failed handling " + event, exc);
+	    }
+	}
+    }
+
+    void add(EventListener listener) {
+	bindings.add(new ListenerBinding(listener));
+    }
+
+    void remove(EventListener listener) {
+	for (ListenerBinding binding : bindings) {
+	    if (binding.getListener().equals(listener)) {
+		bindings.remove(binding);
+		return;
+	    }
+	}
+    }
+
+    void clear() {
+	bindings.clear();
+    }
+}
@@ -0,0 +1,228 @@
+package com.github.thehilikus.jrobocom.events;
+
+import java.util.Collections;
+import java.util.EventObject;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.thehilikus.events.event_manager.api.EventDispatcher;
+import com.github.thehilikus.jrobocom.timing.api.ClockListener;
+
+/**
+ * Delivers events in their own thread so slow listeners don't stall the robots that fire them.
+ * Events wait in a bounded ring and are delivered in the order they were fired, in batches: one
+ * per tick of the clock the pipeline listens to, or at least every {@value #MAX_BATCH_WAIT} ms.
+ * Within a batch, repeated {@link RobotChangedEvent}s of the same robot are delivered only once
+ * since they carry nothing but the robot.
+ * <p>
+ * A robot that fires an event while the ring is full waits for the delivery thread to make room
+ * </p>
+ *
+ * @author hilikus
+ * @see AsyncEventDispatcher
+ */
+public class EventPipeline implements ClockListener {
+
+    /**
+     * Maximum number of events waiting to be delivered by default
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * Longest time in ms events wait for a tick before they are delivered anyway
+     */
+    public static final int MAX_BATCH_WAIT = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(EventPipeline.class);
+
+    private final EventRing ring;
+
+    /**
+     * Released when the events waiting should be delivered
+     */
+    private final Semaphore batches = new Semaphore(0);
+
+    private final Thread deliverer;
+
+    private volatile boolean stopped;
+
+    /**
+     * Held while events are taken out of the ring, so it has a single consumer even when
+     * publishers deliver the events that arrive after the pipeline stopped
+     */
+    private final Lock consumerLock = new ReentrantLock();
+
+    /**
+     * Signalled after a batch made room in the ring. Guarded by {@link #consumerLock}
+     */
+    private final Condition roomFreed = consumerLock.newCondition();
+
+    /**
+     * Robots that already had a change delivered in the current batch. Only used by the delivery
+     * thread
+     */
+    private final Set<Object> changedInBatch = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
+    /**
+     * Creates a pipeline with the default capacity
+     */
+    public EventPipeline() {
+	this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity maximum number of events waiting to be delivered. Must be a power of 2
+     */
+    public EventPipeline(int capacity) {
+	ring = new EventRing(capacity);
+	deliverer = new Thread(new Deliverer(), "Events Deliverer");
+	deliverer.setDaemon(true);
+    }
+
+    /**
+     * Starts delivering events
+     */
+    public void start() {
+	deliverer.start();
+    }
+
+    /**
+     * Creates the dispatcher of a publisher
+     *
+     * @param synchronous delivers to the listeners that need the events right away, in the thread
+     *            that fires them
+     * @param asynchronous delivers to the rest of the listeners, in the pipeline's thread
+     * @return a dispatcher for the publisher
+     */
+    public EventDispatcher newDispatcher(EventDispatcher synchronous, EventDispatcher asynchronous) {
+	return new AsyncEventDispatcher(this, synchronous, asynchronous);
+    }
+
+    /**
+     * Queues an event for delivery
+     *
+     * @param target the dispatcher that delivers the event
+     * @param event the event
+     */
+    void publish(EventDispatcher target, EventObject event) {
+	if (stopped) {
+	    log.trace("[publish] Pipeline stopped. Delivering {} right away", event);
+	    target.fireEvent(event);
+	    return;
+	}
+	if (!ring.offer(target, event)) {
+	    if (Thread.currentThread() == deliverer) {
+		// a listener firing events can't wait for its own thread to make room
+		target.fireEvent(event);
+		return;
+	    }
+	    waitForRoom(target, event);
+	}
+	if (stopped) {
+	    // the last batch may have been delivered before the event got in
+	    deliverWaiting();
+	}
+    }
+
+    /**
+     * Blocks until the event fits in the ring
+     */
+    private void waitForRoom(EventDispatcher target, EventObject event) {
+	consumerLock.lock();
+	try {
+	    batches.release(); // let the deliverer catch up
+	    while (!ring.offer(target, event)) {
+		if (stopped) {
+		    deliverBatch(); // nobody else may be left to make room
+		} else {
+		    roomFreed.awaitUninterruptibly();
+		}
+	    }
+	} finally {
+	    consumerLock.unlock();
+	}
+    }
+
+    /**
+     * Ends the batch of events of a tick
+     *
+     * @param event info about the current pulse
+     */
+    @Override
+    public void update(TickEvent event) {
+	batches.release();
+    }
+
+    /**
+     * Delivers the events still waiting and stops the delivery thread. Events fired afterwards are
+     * delivered right away
+     */
+    public void clean() {
+	stopped = true;
+	batches.release();
+	if (Thread.currentThread() != deliverer && deliverer.isAlive()) {
+	    try {
+		deliverer.join();
+	    } catch (InterruptedException exc) {
+		log.warn("[clean] Interrupted while waiting for the last events to be delivered", exc);
+		Thread.currentThread().interrupt();
+	    }
+	}
+	deliverWaiting(); // in case the deliverer never started
+    }
+
+    private void deliverWaiting() {
+	consumerLock.lock();
+	try {
+	    deliverBatch();
+	    roomFreed.signalAll();
+	} finally {
+	    consumerLock.unlock();
+	}
+    }
+
+    /**
+     * Called with {@link #consumerLock} held
+     */
+    private void deliverBatch() {
+	changedInBatch.clear();
+	for (EventObject event = ring.peekEvent(); event != null; event = ring.peekEvent()) {
+	    EventDispatcher target = ring.peekTarget();
+	    ring.remove();
+	    if (event instanceof RobotChangedEvent && !changedInBatch.add(event.getSource())) {
+		continue; // coalesced
+	    }
+	    try {
+		target.fireEvent(event);
+	    } catch (RuntimeException exc) {
+		log.error("[deliverBatch] Listener failed handling " + event, exc);
+	    }
+	}
+    }
+
+    private class Deliverer implements Runnable {
+
+	@Override
+	public void run() {
+	    try {
+		while (!stopped) {
+		    batches.tryAcquire(MAX_BATCH_WAIT, TimeUnit.MILLISECONDS);
+		    batches.drainPermits();
+		    deliverWaiting();
+		}
+	    } catch (InterruptedException exc) {
+		log.debug("[run] Deliverer interrupted", exc);
+	    } finally {
+		deliverWaiting();
+	    }
+	}
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.thehilikus.jrobocom.events;
+
+import java.util.EventObject;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.github.thehilikus.events.event_manager.api.EventDispatcher;
+
+/**
+ * A bounded queue of events for many producers and a single consumer that doesn't lock. Each slot
+ * has a sequence number that tells whether it is free for the producer that claimed it or ready
+ * for the consumer
+ *
+ * @author hilikus
+ */
+class EventRing {
+
+    private final int mask;
+
+    private final AtomicLongArray sequences;
+
+    private final EventObject[] events;
+
+    private final EventDispatcher[] targets;
+
+    /**
+     * Next position to claim by producers
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Next position to read. Only used by the consumer
+     */
+    private long head;
+
+    /**
+     * @param capacity maximum number of events waiting. Must be a power of 2
+     */
+    EventRing(int capacity) {
+	if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+	    throw new IllegalArgumentException("Capacity must be a power of 2: " + capacity);
+	}
+	mask = capacity - 1;
+	sequences = new AtomicLongArray(capacity);
+	for (int pos = 0; pos < capacity; pos++) {
+	    sequences.set(pos, pos);
+	}
+	events = new EventObject[capacity];
+	targets = new EventDispatcher[capacity];
+    }
+
+    /**
+     * Adds an event at the end. Safe to call from many threads
+     *
+     * @param target the dispatcher to deliver the event with
+     * @param event the event
+     * @return false if the ring is full
+     */
+    boolean offer(EventDispatcher target, EventObject event) {
+	while (true) {
+	    long pos = tail.get();
+	    int slot = (int) pos & mask;
+	    long diff = sequences.get(slot) - pos;
+	    if (diff == 0) {
+		if (tail.compareAndSet(pos, pos + 1)) {
+		    events[slot] = event;
+		    targets[slot] = target;
+		    sequences.set(slot, pos + 1); // publishes the slot to the consumer
+		    return true;
+		}
+	    } else if (diff < 0) {
+		// the consumer hasn't freed the slot from the previous lap
+		return false;
+	    }
+	    // else another producer claimed the position first
+	}
+    }
+
+    /**
+     * Reads the first event without removing it. Only called by the consumer
+     *
+     * @return the first event or null if the ring is empty
+     */
+    EventObject peekEvent() {
+	int slot = (int) head & mask;
+	if (sequences.get(slot) != head + 1) {
+	    return null;
+	}
+	return events[slot];
+    }
+
+    /**
+     * @return the dispatcher of the first event. Only valid after {@link #peekEvent()} returned an
+     *         event
+     */
+    EventDispatcher peekTarget() {
+	return targets[(int) head & mask];
+    }
+
+    /**
+     * Frees the first slot for the producers. Only valid after {@link #peekEvent()} returned an
+     * event
+     */
+    void remove() {
+	int slot = (int) head & mask;
+	events[slot] = null;
+	targets[slot] = null;
+	sequences.set(slot, head + mask + 1);
+	head++;
+    }
+}
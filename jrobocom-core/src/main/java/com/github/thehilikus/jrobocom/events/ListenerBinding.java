@@ -0,0 +1,167 @@
+package com.github.thehilikus.jrobocom.events;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.EventListener;
+import java.util.EventObject;
+import java.util.List;
+
+import com.github.thehilikus.jrobocom.GameTracker.GameStatusListener;
+import com.github.thehilikus.jrobocom.World.WorldListener;
+import com.github.thehilikus.jrobocom.robot.Robot.RobotListener;
+import com.github.thehilikus.jrobocom.timing.api.ClockListener;
+
+/**
+ * The <code>update</code> methods of a listener, resolved when it subscribes. Methods of the
+ * game's listener interfaces are called directly; any other public <code>update</code> method is
+ * looked up once and called through reflection
+ *
+ * @author hilikus
+ */
+class ListenerBinding {
+
+    /**
+     * Calls one <code>update</code> method of a listener
+     */
+    private abstract static class Invoker {
+	private final Class<?> listenerType;
+	private final Class<? extends EventObject> eventType;
+
+	Invoker(Class<?> pListenerType, Class<? extends EventObject> pEventType) {
+	    listenerType = pListenerType;
+	    eventType = pEventType;
+	}
+
+	abstract void invoke(EventListener listener, EventObject event);
+    }
+
+    private static final Invoker[] KNOWN = { new Invoker(WorldListener.class, RobotAddedEvent.class) {
+	@Override
+	void invoke(EventListener listener, EventObject event) {
+	    ((WorldListener) listener).update((RobotAddedEvent) event);
+	}
+    }, new Invoker(WorldListener.class, RobotRemovedEvent.class) {
+	@Override
+	void invoke(EventListener listener, EventObject event) {
+	    ((WorldListener) listener).update((RobotRemovedEvent) event);
+	}
+    }, new Invoker(WorldListener.class, RobotMovedEvent.class) {
+	@Override
+	void invoke(EventListener listener, EventObject event) {
+	    ((WorldListener) listener).update((RobotMovedEvent) event);
+	}
+    }, new Invoker(GameStatusListener.class, ResultEvent.class) {
+	@Override
+	void invoke(EventListener listener, EventObject event) {
+	    ((GameStatusListener) listener).update((ResultEvent) event);
+	}
+    }, new Invoker(GameStatusListener.class, LeaderChangedEvent.class) {
+	@Override
+	void invoke(EventListener listener, EventObject event) {
+	    ((GameStatusListener) listener).update((LeaderChangedEvent) event);
+	}
+    }, new Invoker(GameStatusListener.class, PlayerEliminatedEvent.class) {
+	@Override
+	void invoke(EventListener listener, EventObject event) {
+	    ((GameStatusListener) listener).update((PlayerEliminatedEvent) event);
+	}
+    }, new Invoker(RobotListener.class, RobotChangedEvent.class) {
+	@Override
+	void invoke(EventListener listener, EventObject event) {
+	    ((RobotListener) listener).update((RobotChangedEvent) event);
+	}
+    }, new Invoker(ClockListener.class, TickEvent.class) {
+	@Override
+	void invoke(EventListener listener, EventObject event) {
+	    ((ClockListener) listener).update((TickEvent) event);
+	}
+    } };
+
+    private final EventListener listener;
+
+    private final Invoker[] invokers;
+
+    /**
+     * @param pListener the listener to bind
+     */
+    ListenerBinding(EventListener pListener) {
+	listener = pListener;
+
+	List<Invoker> found = new ArrayList<>();
+	for (Invoker known : KNOWN) {
+	    if (known.listenerType.isInstance(listener)) {
+		found.add(known);
+	    }
+	}
+	for (Method method : listener.getClass().getMethods()) {
+	    Class<?>[] params = method.getParameterTypes();
+	    if (method.getName().equals("update") && params.length == 1 && EventObject.class.isAssignableFrom(params[0])
+		    && !isBound(found, params[0])) {
+		found.add(new ReflectiveInvoker(method));
+	    }
+	}
+	invokers = found.toArray(new Invoker[found.size()]);
+    }
+
+    private static boolean isBound(List<Invoker> found, Class<?> eventType) {
+	for (Invoker invoker : found) {
+	    if (invoker.eventType.equals(eventType)) {
+		return true;
+	    }
+	}
+	return false;
+    }
+
+    /**
+     * Calls every <code>update</code> method of the listener that accepts the event
+     *
+     * @param event the event to deliver
+     */
+    void deliver(EventObject event) {
+	for (Invoker invoker : invokers) {
+	    if (invoker.eventType.isInstance(event)) {
+		invoker.invoke(listener, event);
+	    }
+	}
+    }
+
+    /**
+     * @return the bound listener
+     */
+    EventListener getListener() {
+	return listener;
+    }
+
+    /**
+     * Calls an <code>update</code> method outside the game's listener interfaces
+     */
+    private static class ReflectiveInvoker extends Invoker {
+	private final Method method;
+
+	@SuppressWarnings("unchecked")
+	ReflectiveInvoker(Method pMethod) {
+	    super(pMethod.getDeclaringClass(), (Class<? extends EventObject>) pMethod.getParameterTypes()[0]);
+	    method = pMethod;
+	    method.setAccessible(true); // public methods of non-public classes
+	}
+
+	@Override
+	void invoke(EventListener listener, EventObject event) {
+	    try {
+		method.invoke(listener, event);
+	    } catch (InvocationTargetException exc) {
+		Throwable cause = exc.getCause();
+		if (cause instanceof RuntimeException) {
+		    throw (RuntimeException) cause;
+		}
+		if (cause instanceof Error) {
+		    throw (Error) cause;
+		}
+		throw new RuntimeException(cause);
+	    } catch (IllegalAccessException exc) {
+		throw new IllegalStateException("Listener method not accessible: " + method, exc);
+	    }
+	}
+    }
+}
@@ -12,7 +12,8 @@ import com.github.thehilikus.jrobocom.robot.Robot;
 public class RobotAddedEvent extends RobotEvent {
 
     private static final long serialVersionUID = 3701263690126469309L;
-    private Point coordinates;
+    private final int x;
+    private final int y;
 
     /**
      * Main constructor
@@ -21,15 +22,27 @@ public class RobotAddedEvent extends RobotEvent {
      * @param pCoordinates location of the new robot
      */
     public RobotAddedEvent(Robot newRobot, Point pCoordinates) {
+	this(newRobot, pCoordinates.x, pCoordinates.y);
+    }
+
+    /**
+     * Constructor that doesn't need a {@link Point}
+     * 
+     * @param newRobot robot just added to the game
+     * @param pX column of the new robot
+     * @param pY row of the new robot
+     */
+    public RobotAddedEvent(Robot newRobot, int pX, int pY) {
 	super(newRobot);
-	coordinates = pCoordinates;
+	x = pX;
+	y = pY;
     }
 
     /**
      * @return the X, Y coordinates where the new robot was added
      */
     public Point getCoordinates() {
-	return coordinates;
+	return new Point(x, y);
     }
 
 }
@@ -12,8 +12,10 @@ import com.github.thehilikus.jrobocom.robot.Robot;
 public class RobotMovedEvent extends RobotEvent {
 
     private static final long serialVersionUID = 860096734812275081L;
-    private Point oldPosition;
-    private Point newPosition;
+    private final int oldX;
+    private final int oldY;
+    private final int newX;
+    private final int newY;
 
     /**
      * Constructs an event
@@ -23,23 +25,38 @@ public class RobotMovedEvent extends RobotEvent {
      * @param pNewPosition the new location
      */
     public RobotMovedEvent(Robot source, Point old, Point pNewPosition) {
+	this(source, old.x, old.y, pNewPosition.x, pNewPosition.y);
+    }
+
+    /**
+     * Constructor that doesn't need {@link Point}s
+     * 
+     * @param source the robot that moved
+     * @param pOldX the old column
+     * @param pOldY the old row
+     * @param pNewX the new column
+     * @param pNewY the new row
+     */
+    public RobotMovedEvent(Robot source, int pOldX, int pOldY, int pNewX, int pNewY) {
 	super(source);
-	this.newPosition = pNewPosition;
-	oldPosition = old;
+	oldX = pOldX;
+	oldY = pOldY;
+	newX = pNewX;
+	newY = pNewY;
     }
 
     /**
      * @return the oldPosition
      */
     public Point getOldPosition() {
-	return oldPosition;
+	return new Point(oldX, oldY);
     }
 
     /**
      * @return the newPosition
      */
     public Point getNewPosition() {
-	return newPosition;
+	return new Point(newX, newY);
     }
 
 }
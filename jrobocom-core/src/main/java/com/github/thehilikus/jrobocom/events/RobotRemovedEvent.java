@@ -12,7 +12,8 @@ import com.github.thehilikus.jrobocom.robot.Robot;
 public class RobotRemovedEvent extends RobotEvent {
 
     private static final long serialVersionUID = 8962044780427247123L;
-    private Point lastPosition;
+    private final int lastX;
+    private final int lastY;
 
     /**
      * Main constructor
@@ -21,16 +22,28 @@ public class RobotRemovedEvent extends RobotEvent {
      * @param pLastPosition last coordinates of the robot
      */
     public RobotRemovedEvent(Robot robot, Point pLastPosition) {
+	this(robot, pLastPosition.x, pLastPosition.y);
+    }
+
+    /**
+     * Constructor that doesn't need a {@link Point}
+     * 
+     * @param robot robot removed
+     * @param pLastX last column of the robot
+     * @param pLastY last row of the robot
+     */
+    public RobotRemovedEvent(Robot robot, int pLastX, int pLastY) {
 	super(robot);
 
-	lastPosition = pLastPosition;
+	lastX = pLastX;
+	lastY = pLastY;
     }
 
     /**
      * @return the last known position of the robot
      */
     public Point getCoordinates() {
-	return lastPosition;
+	return new Point(lastX, lastY);
     }
 
 }
@@ -4,6 +4,8 @@
 package com.github.thehilikus.jrobocom.events;
 
 import java.util.EventListener;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.github.thehilikus.events.event_manager.SubscriptionManager;
 import com.github.thehilikus.events.event_manager.api.EventDispatcher;
@@ -11,12 +13,15 @@ import com.github.thehilikus.events.event_manager.api.EventPublisher;
 import com.github.thehilikus.jrobocom.security.GamePermission;
 
 /**
- * Confirms each operation with a SecurityManager
+ * Confirms each operation with a SecurityManager. Listener methods are bound when they subscribe
+ * so firing an event doesn't look them up again
  * 
  * @author hilikus
  */
 public class SecureSubscriptionManager extends SubscriptionManager {
 
+    private final ConcurrentMap<EventPublisher, BoundEventDispatcher> dispatchers = new ConcurrentHashMap<>();
+
     /* (non-Javadoc)
      * @see com.github.thehilikus.events.event_manager.SubscriptionManager#subscribe(com.github.thehilikus.events.event_manager.api.EventPublisher, java.util.EventListener)
      */
@@ -26,7 +31,7 @@ public class SecureSubscriptionManager extends SubscriptionManager {
 	if (source == null || listener == null) {
 	    throw new IllegalArgumentException("Parameters cannot be null");
 	}
-	super.subscribe(source, listener);
+	getDispatcher(source).add(listener);
     }
 
     /* (non-Javadoc)
@@ -38,7 +43,7 @@ public class SecureSubscriptionManager extends SubscriptionManager {
 	if (source == null || listener == null) {
 	    throw new IllegalArgumentException("Parameters cannot be null");
 	}
-	super.unsubscribe(source, listener);
+	getDispatcher(source).remove(listener);
     }
 
     /* (non-Javadoc)
@@ -50,7 +55,7 @@ public class SecureSubscriptionManager extends SubscriptionManager {
 	if (source == null) {
 	    throw new IllegalArgumentException("Parameter cannot be null");
 	}
-	return super.getEventDispatcher(source);
+	return getDispatcher(source);
     }
 
     /* (non-Javadoc)
@@ -62,7 +67,30 @@ public class SecureSubscriptionManager extends SubscriptionManager {
 	if (source == null) {
 	    throw new IllegalArgumentException("Parameter cannot be null");
 	}
-	super.unsubscribeAll(source);
+	getDispatcher(source).clear();
+    }
+
+    /* (non-Javadoc)
+     * @see com.github.thehilikus.events.event_manager.SubscriptionManager#unsubscribeAll()
+     */
+    @Override
+    public void unsubscribeAll() {
+	checkPermission();
+	for (BoundEventDispatcher dispatcher : dispatchers.values()) {
+	    dispatcher.clear();
+	}
+    }
+
+    private BoundEventDispatcher getDispatcher(EventPublisher source) {
+	BoundEventDispatcher dispatcher = dispatchers.get(source);
+	if (dispatcher == null) {
+	    BoundEventDispatcher created = new BoundEventDispatcher();
+	    dispatcher = dispatchers.putIfAbsent(source, created);
+	    if (dispatcher == null) {
+		dispatcher = created;
+	    }
+	}
+	return dispatcher;
     }
 
     private static void checkPermission() {
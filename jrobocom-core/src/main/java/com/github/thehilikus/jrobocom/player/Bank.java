@@ -2,6 +2,7 @@ package com.github.thehilikus.jrobocom.player;
 
 import com.github.thehilikus.jrobocom.WorldInfo;
 import com.github.thehilikus.jrobocom.exceptions.BankInterruptedException;
+import com.github.thehilikus.jrobocom.robot.BankComplexity;
 import com.github.thehilikus.jrobocom.robot.api.RobotAction;
 import com.github.thehilikus.jrobocom.robot.api.RobotStatus;
 import com.github.thehilikus.jrobocom.security.GamePermission;
@@ -42,11 +43,11 @@ public abstract class Bank {
 
 
     /**
-     * @return the relative cost of a bank's logic
+     * @return the relative cost of a bank's logic, measured once per bank class
+     * @see BankComplexity
      */
     final public int getCost() {
-	// TODO implement
-	return 1;
+	return BankComplexity.of(getClass());
     }
 
     /**
@@ -3,35 +3,47 @@ package com.github.thehilikus.jrobocom.player;
 import com.github.thehilikus.jrobocom.GameSettings;
 
 /**
- * Settings that may be used by players in their banks
- * 
+ * Settings that may be used by players in their banks. Each session can have its own, so banks get
+ * them from {@link com.github.thehilikus.jrobocom.WorldInfo#getSettings()}
+ *
  * @author hilikus
- * 
+ *
  */
 public class ReadableSettings {
 
     /**
      * board size
      */
-    public static int FIELDS = GameSettings.getInstance().BOARD_SIZE;
+    public final int FIELDS;
 
     /**
      * maximum number of generations (ancestors)
      */
-    public static int MAX_GENERATION = GameSettings.getInstance().MAX_GENERATION;
+    public final int MAX_GENERATION;
 
     /**
      * maximum number of I/O instructions before a robot dies
      */
-    public static int MAX_AGE = GameSettings.getInstance().MAX_AGE;
+    public final int MAX_AGE;
 
     /**
      * maximum number of robots in each team
      */
-    public static int MAX_BOTS_PER_TEAM = GameSettings.getInstance().MAX_BOTS;
-    
+    public final int MAX_BOTS_PER_TEAM;
+
     /**
      * age of the world at which the game ends or -1 for infinite
      */
-    public static int MAX_WORLD_AGE = GameSettings.getInstance().MAX_WORLD_AGE;
+    public final int MAX_WORLD_AGE;
+
+    /**
+     * @param settings the settings of the session
+     */
+    public ReadableSettings(GameSettings settings) {
+	FIELDS = settings.BOARD_SIZE;
+	MAX_GENERATION = settings.MAX_GENERATION;
+	MAX_AGE = settings.MAX_AGE;
+	MAX_BOTS_PER_TEAM = settings.MAX_BOTS;
+	MAX_WORLD_AGE = settings.MAX_WORLD_AGE;
+    }
 }
@@ -7,8 +7,18 @@ package com.github.thehilikus.jrobocom.player;
  * 
  */
 public class ScanResult {
-    private int distance;
-    private Found result;
+    private final int distance;
+    private final Found result;
+
+    /**
+     * Distances with shared instances of every outcome
+     */
+    private static final int CACHED_DISTANCES = 64;
+
+    /**
+     * Shared instances indexed as [outcome][distance]
+     */
+    private static final ScanResult[][] CACHE = new ScanResult[Found.values().length][CACHED_DISTANCES];
 
     /**
      * Scan status
@@ -38,6 +48,29 @@ public class ScanResult {
 	distance = dist;
     }
 
+    static {
+	for (Found outcome : Found.values()) {
+	    for (int dist = 0; dist < CACHED_DISTANCES; dist++) {
+		CACHE[outcome.ordinal()][dist] = new ScanResult(outcome, dist);
+	    }
+	}
+    }
+
+    /**
+     * Gets a result without creating a new one when possible. Results are immutable so they can
+     * be shared
+     * 
+     * @param pResult the scan outcome
+     * @param dist relevant distance of the outcome
+     * @return a result with the given values
+     */
+    public static ScanResult valueOf(Found pResult, int dist) {
+	if (dist >= 0 && dist < CACHED_DISTANCES) {
+	    return CACHE[pResult.ordinal()][dist];
+	}
+	return new ScanResult(pResult, dist);
+    }
+
     /**
      * @return true if the scan didn't find any robots
      */
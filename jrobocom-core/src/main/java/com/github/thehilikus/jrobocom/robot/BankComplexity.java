@@ -0,0 +1,257 @@
+package com.github.thehilikus.jrobocom.robot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.thehilikus.jrobocom.player.Bank;
+
+/**
+ * Measures how complex the code of a bank is, which is what a robot pays to transfer it. The
+ * complexity is the number of bytecode instructions of {@link Bank#run()} and of the methods of the
+ * bank it reaches, including its lambdas. Each class is analysed once from its bytecode and the
+ * result kept with the class
+ *
+ * @author hilikus
+ */
+public final class BankComplexity {
+
+    private static final Logger log = LoggerFactory.getLogger(BankComplexity.class);
+
+    /**
+     * Complexity of banks whose code can't be read
+     */
+    private static final int MIN_COMPLEXITY = 1;
+
+    private static final String RUN = "run()V";
+
+    private static final ClassValue<Integer> COMPLEXITIES = new ClassValue<Integer>() {
+
+	@Override
+	protected Integer computeValue(Class<?> type) {
+	    return analyse(type);
+	}
+    };
+
+    private BankComplexity() {
+	// only static methods
+    }
+
+    /**
+     * @param bankClass the class of a bank
+     * @return the complexity of the banks of the class, at least {@value #MIN_COMPLEXITY}
+     */
+    public static int of(Class<? extends Bank> bankClass) {
+	return COMPLEXITIES.get(bankClass);
+    }
+
+    /**
+     * A call made by a method
+     */
+    private static final class Call {
+	private final int opcode;
+	private final String owner;
+	private final String method;
+
+	private Call(int pOpcode, String pOwner, String pMethod) {
+	    opcode = pOpcode;
+	    owner = pOwner;
+	    method = pMethod;
+	}
+    }
+
+    /**
+     * The size of a method and the calls it makes
+     */
+    private static final class MethodCode {
+	private int instructions;
+	private final List<Call> calls = new ArrayList<>();
+    }
+
+    private static int analyse(Class<?> bankClass) {
+	// the classes of the bank from the most specific and the code of each of their methods
+	List<String> hierarchy = new ArrayList<>();
+	List<Map<String, MethodCode>> methods = new ArrayList<>();
+	try {
+	    for (Class<?> level = bankClass; level != null && level != Bank.class; level = level.getSuperclass()) {
+		hierarchy.add(Type.getInternalName(level));
+		methods.add(read(level));
+	    }
+	} catch (IOException | RuntimeException exc) {
+	    log.warn("[analyse] Could not read the code of bank {}. Using the minimum complexity", bankClass.getName(),
+		    exc);
+	    return MIN_COMPLEXITY;
+	}
+
+	int instructions = 0;
+	Set<String> visited = new HashSet<>();
+	Deque<MethodCode> pending = new ArrayDeque<>();
+	MethodCode run = resolve(hierarchy, methods, 0, RUN, visited);
+	if (run != null) {
+	    pending.add(run);
+	}
+	while (!pending.isEmpty()) {
+	    MethodCode code = pending.poll();
+	    instructions += code.instructions;
+	    for (Call call : code.calls) {
+		int level = hierarchy.indexOf(call.owner);
+		if (level != -1) {
+		    // super and private calls are bound to their class, the rest to the bank's
+		    int start = call.opcode == Opcodes.INVOKESPECIAL ? level : 0;
+		    MethodCode called = resolve(hierarchy, methods, start, call.method, visited);
+		    if (called != null) {
+			pending.add(called);
+		    }
+		}
+	    }
+	}
+	log.debug("[analyse] Bank {} has {} instructions", bankClass.getName(), instructions);
+
+	return Math.max(MIN_COMPLEXITY, instructions);
+    }
+
+    /**
+     * @return the code of the first implementation of the method from the start level up, or null
+     *         if it's not in the bank's code or was already visited
+     */
+    private static MethodCode resolve(List<String> hierarchy, List<Map<String, MethodCode>> methods, int start,
+	    String method, Set<String> visited) {
+	for (int level = start; level < hierarchy.size(); level++) {
+	    MethodCode code = methods.get(level).get(method);
+	    if (code != null) {
+		return visited.add(hierarchy.get(level) + '.' + method) ? code : null;
+	    }
+	}
+	return null;
+    }
+
+    private static Map<String, MethodCode> read(Class<?> type) throws IOException {
+	String resource = Type.getInternalName(type) + ".class";
+	ClassLoader loader = type.getClassLoader();
+	InputStream bytecode = loader == null ? ClassLoader.getSystemResourceAsStream(resource) : loader
+		.getResourceAsStream(resource);
+	if (bytecode == null) {
+	    throw new IOException("Class file not found: " + resource);
+	}
+
+	final Map<String, MethodCode> methods = new HashMap<>();
+	try {
+	    new ClassReader(bytecode).accept(new ClassVisitor(Opcodes.ASM9) {
+
+		@Override
+		public MethodVisitor visitMethod(int access, String name, String desc, String signature,
+			String[] exceptions) {
+		    MethodCode code = new MethodCode();
+		    methods.put(name + desc, code);
+		    return new InstructionCounter(code);
+		}
+	    }, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+	} finally {
+	    bytecode.close();
+	}
+	return methods;
+    }
+
+    /**
+     * Counts the instructions of a method and collects its calls
+     */
+    private static final class InstructionCounter extends MethodVisitor {
+
+	private final MethodCode code;
+
+	private InstructionCounter(MethodCode pCode) {
+	    super(Opcodes.ASM9);
+	    code = pCode;
+	}
+
+	@Override
+	public void visitInsn(int opcode) {
+	    code.instructions++;
+	}
+
+	@Override
+	public void visitIntInsn(int opcode, int operand) {
+	    code.instructions++;
+	}
+
+	@Override
+	public void visitVarInsn(int opcode, int var) {
+	    code.instructions++;
+	}
+
+	@Override
+	public void visitTypeInsn(int opcode, String type) {
+	    code.instructions++;
+	}
+
+	@Override
+	public void visitFieldInsn(int opcode, String owner, String name, String desc) {
+	    code.instructions++;
+	}
+
+	@Override
+	public void visitMethodInsn(int opcode, String owner, String name, String desc, boolean isInterface) {
+	    code.instructions++;
+	    code.calls.add(new Call(opcode, owner, name + desc));
+	}
+
+	@Override
+	public void visitInvokeDynamicInsn(String name, String desc, Handle bootstrap, Object... bootstrapArgs) {
+	    code.instructions++;
+	    // the body of a lambda is a method of the class that creates it
+	    for (Object arg : bootstrapArgs) {
+		if (arg instanceof Handle) {
+		    Handle target = (Handle) arg;
+		    code.calls.add(new Call(Opcodes.INVOKESPECIAL, target.getOwner(), target.getName() + target.getDesc()));
+		}
+	    }
+	}
+
+	@Override
+	public void visitJumpInsn(int opcode, Label label) {
+	    code.instructions++;
+	}
+
+	@Override
+	public void visitLdcInsn(Object value) {
+	    code.instructions++;
+	}
+
+	@Override
+	public void visitIincInsn(int var, int increment) {
+	    code.instructions++;
+	}
+
+	@Override
+	public void visitTableSwitchInsn(int min, int max, Label dflt, Label... labels) {
+	    code.instructions++;
+	}
+
+	@Override
+	public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
+	    code.instructions++;
+	}
+
+	@Override
+	public void visitMultiANewArrayInsn(String desc, int dims) {
+	    code.instructions++;
+	}
+    }
+}
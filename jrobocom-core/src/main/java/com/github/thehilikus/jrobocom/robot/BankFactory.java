@@ -0,0 +1,83 @@
+package com.github.thehilikus.jrobocom.robot;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.thehilikus.jrobocom.exceptions.BankInterruptedException;
+import com.github.thehilikus.jrobocom.player.Bank;
+
+/**
+ * Creates copies of banks without reflection. The no-arg constructor of each bank class is looked
+ * up once and kept with the class itself, so transfers don't repeat the lookup and its security
+ * checks. Classes of players that are gone are not kept alive by it
+ *
+ * @author hilikus
+ */
+public final class BankFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(BankFactory.class);
+
+    private static final MethodType NO_ARGS = MethodType.methodType(Bank.class);
+
+    /**
+     * The constructor of each bank class as a handle of type {@link #NO_ARGS}, or null if the class
+     * can't be instantiated
+     */
+    private static final ClassValue<MethodHandle> CONSTRUCTORS = new ClassValue<MethodHandle>() {
+
+	@Override
+	protected MethodHandle computeValue(Class<?> type) {
+	    try {
+		MethodHandle constructor = MethodHandles.lookup().unreflectConstructor(type.getDeclaredConstructor());
+		return constructor.asType(NO_ARGS);
+	    } catch (NoSuchMethodException | IllegalAccessException | SecurityException exc) {
+		log.error("[computeValue] Banks of type " + type.getName() + " can't be copied", exc);
+		return null;
+	    }
+	}
+    };
+
+    private BankFactory() {
+	// only static methods
+    }
+
+    /**
+     * Looks up the constructor of a bank class ahead of its first copy
+     *
+     * @param bankClass the class of the banks of a player
+     * @return true if banks of the class can be copied
+     */
+    public static boolean prepare(Class<? extends Bank> bankClass) {
+	return CONSTRUCTORS.get(bankClass) != null;
+    }
+
+    /**
+     * @param original the bank to copy
+     * @return a new bank of the same class and team as the original or null if it couldn't be
+     *         created
+     * @throws BankInterruptedException if the robot making the copy was interrupted while the
+     *             constructor of the bank ran
+     */
+    public static Bank copyOf(Bank original) {
+	MethodHandle constructor = CONSTRUCTORS.get(original.getClass());
+	if (constructor == null) {
+	    return null;
+	}
+	Bank copy;
+	try {
+	    copy = (Bank) constructor.invokeExact();
+	} catch (BankInterruptedException exc) {
+	    throw exc; // the constructor is metered like the rest of the player's code
+	} catch (Throwable exc) {
+	    // anything the player's constructor throws, as reflection did
+	    log.error("[copyOf] Error instantiating copy of bank " + original.getClass().getName(), exc);
+	    return null;
+	}
+	copy.setTeamId(original.getTeamId());
+	return copy;
+    }
+}
@@ -1,7 +1,10 @@
 package com.github.thehilikus.jrobocom.robot;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.EventListener;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,6 +13,7 @@ import com.github.thehilikus.events.event_manager.api.EventDispatcher;
 import com.github.thehilikus.events.event_manager.api.EventPublisher;
 import com.github.thehilikus.jrobocom.Direction;
 import com.github.thehilikus.jrobocom.GameSettings;
+import com.github.thehilikus.jrobocom.GameSettings.Timing;
 import com.github.thehilikus.jrobocom.Player;
 import com.github.thehilikus.jrobocom.World;
 import com.github.thehilikus.jrobocom.events.RobotChangedEvent;
@@ -19,7 +23,7 @@ import com.github.thehilikus.jrobocom.player.InstructionSet;
 import com.github.thehilikus.jrobocom.player.ScanResult;
 import com.github.thehilikus.jrobocom.robot.api.RobotAction;
 import com.github.thehilikus.jrobocom.robot.api.RobotStatusLocal;
-import com.github.thehilikus.jrobocom.timing.Delayer;
+import com.github.thehilikus.jrobocom.timing.api.TurnScheduler;
 
 /**
  * Keeps the state of each robot in the board
@@ -29,17 +33,33 @@ import com.github.thehilikus.jrobocom.timing.Delayer;
  */
 public class Robot implements RobotAction, Runnable, EventPublisher {
 
-    private static int lastSerial = 0;
+    /**
+     * Used by robots created without the serial numbers of a session, e.g. in tests
+     */
+    private static final AtomicInteger sharedSerialNumbers = new AtomicInteger();
+
+    private final AtomicInteger serialNumbers;
 
     private final TurnManager turnsControl;
 
     private final World world;
 
+    /**
+     * The limits of the robot's session
+     */
+    private final GameSettings settings;
+
+    /**
+     * The delays of the robot's actions, resolved once for the whole team so its proxies don't
+     * check the permission to read them on every action
+     */
+    private final Timing timing;
+
     private Logger log = LoggerFactory.getLogger(Robot.class);
 
     private RobotData data;
 
-    private boolean alive;
+    private volatile boolean alive;
 
     private boolean pendingBankChange;
 
@@ -47,7 +67,7 @@ public class Robot implements RobotAction, Runnable, EventPublisher {
 
     private int runningBank;
 
-    private int serialNumber;
+    private final int serialNumber;
 
     private final String name;
 
@@ -76,12 +96,20 @@ public class Robot implements RobotAction, Runnable, EventPublisher {
      * @param banksCount number of banks
      * @param pName this robot's name
      * @param pOwner the player that created this robot
+     * @param pSerialNumbers the source of serial numbers of the robot's session
+     * @param pSettings the limits of the robot's session
+     * @param pTiming the delays of the robot's actions
      */
-    private Robot(World theWorld, Delayer delayer, int banksCount, String pName, Player pOwner) {
-	if (theWorld == null || delayer == null || pOwner == null) {
+    private Robot(World theWorld, TurnScheduler delayer, int banksCount, String pName, Player pOwner,
+	    AtomicInteger pSerialNumbers, GameSettings pSettings, Timing pTiming) {
+	if (theWorld == null || delayer == null || pOwner == null || pSerialNumbers == null || pSettings == null
+		|| pTiming == null) {
 	    throw new IllegalArgumentException("Arguments cannot be null");
 	}
-	serialNumber = Robot.getNextSerialNumber();
+	serialNumbers = pSerialNumbers;
+	settings = pSettings;
+	timing = pTiming;
+	serialNumber = serialNumbers.getAndIncrement();
 
 	world = theWorld;
 	turnsControl = new TurnManager(delayer);
@@ -100,17 +128,71 @@ public class Robot implements RobotAction, Runnable, EventPublisher {
      * @param name this robot's name
      * @param pOwner the player that created this robot
      */
-    public Robot(World theWorld, Delayer delayer, Bank[] allBanks, String name, Player pOwner) {
-	this(theWorld, delayer, allBanks.length, name, pOwner);
+    public Robot(World theWorld, TurnScheduler delayer, Bank[] allBanks, String name, Player pOwner) {
+	this(theWorld, delayer, allBanks, name, pOwner, sharedSerialNumbers);
+    }
+
+    /**
+     * Creates first robot of each team with serial numbers from its session. It is the
+     * responsibility of the caller to start the robot's thread
+     * 
+     * @param theWorld the environment of the robot
+     * @param delayer the ticker to control turns
+     * @param allBanks the code to execute
+     * @param name this robot's name
+     * @param pOwner the player that created this robot
+     * @param serialNumbers the source of serial numbers of the session, shared by all its robots
+     *            and their descendants
+     */
+    public Robot(World theWorld, TurnScheduler delayer, Bank[] allBanks, String name, Player pOwner,
+	    AtomicInteger serialNumbers) {
+	this(theWorld, delayer, allBanks, name, pOwner, serialNumbers, GameSettings.getInstance());
+    }
+
+    /**
+     * Creates first robot of each team in a session with its own limits. It is the responsibility
+     * of the caller to start the robot's thread
+     * 
+     * @param theWorld the environment of the robot
+     * @param delayer the ticker to control turns
+     * @param allBanks the code to execute
+     * @param name this robot's name
+     * @param pOwner the player that created this robot
+     * @param serialNumbers the source of serial numbers of the session, shared by all its robots
+     *            and their descendants
+     * @param pSettings the limits of the session, inherited by the robot's descendants
+     */
+    public Robot(World theWorld, TurnScheduler delayer, Bank[] allBanks, String name, Player pOwner,
+	    AtomicInteger serialNumbers, GameSettings pSettings) {
+	this(theWorld, delayer, allBanks, name, pOwner, serialNumbers, pSettings, Timing.getInstance());
+    }
+
+    /**
+     * Creates first robot of each team in a session with its own limits and delays. It is the
+     * responsibility of the caller to start the robot's thread
+     * 
+     * @param theWorld the environment of the robot
+     * @param delayer the ticker to control turns
+     * @param allBanks the code to execute
+     * @param name this robot's name
+     * @param pOwner the player that created this robot
+     * @param serialNumbers the source of serial numbers of the session, shared by all its robots
+     *            and their descendants
+     * @param pSettings the limits of the session, inherited by the robot's descendants
+     * @param pTiming the delays of the actions, inherited by the robot's descendants
+     */
+    public Robot(World theWorld, TurnScheduler delayer, Bank[] allBanks, String name, Player pOwner,
+	    AtomicInteger serialNumbers, GameSettings pSettings, Timing pTiming) {
+	this(theWorld, delayer, allBanks.length, name, pOwner, serialNumbers, pSettings, pTiming);
 
-	Direction randomDir = Direction.fromInt(World.getRandGenerator().nextInt(Direction.COUNT));
+	Direction randomDir = Direction.fromInt(theWorld.getRandGenerator().nextInt(Direction.COUNT));
 	data = new RobotData(this, InstructionSet.SUPER, false, 0, randomDir);
 
 	for (int pos = 0; pos < allBanks.length; pos++) {
 	    setBank(allBanks[pos], pos, false);
 	}
 
-	alive = data.getGeneration() < GameSettings.getInstance().MAX_GENERATION;
+	alive = data.getGeneration() < settings.MAX_GENERATION;
     }
 
     /**
@@ -123,9 +205,10 @@ public class Robot implements RobotAction, Runnable, EventPublisher {
      * @param name a name of this single robot
      */
     private Robot(InstructionSet pSet, int banksCount, boolean pMobile, Robot parent, String name) {
-	this(parent.world, parent.getTurnsControl().delayer, banksCount, name, parent.owner);
+	this(parent.world, parent.getTurnsControl().delayer, banksCount, name, parent.owner, parent.serialNumbers,
+		parent.settings, parent.timing);
 
-	if (banksCount > GameSettings.getInstance().MAX_BANKS) {
+	if (banksCount > settings.MAX_BANKS) {
 	    throw new IllegalArgumentException("Too many banks");
 	}
 	if (parent.data.getInstructionSet().isLessThan(InstructionSet.SUPER)) {
@@ -184,23 +267,26 @@ public class Robot implements RobotAction, Runnable, EventPublisher {
 	return 0;
     }
 
-    private static int getNextSerialNumber() {
-	return lastSerial++;
-    }
-    
-    /**
-     * resets the serial number counter
-     */
-    public static void resetSerialNumber() {
-	lastSerial = 0;
-    }
 
     /**
      * The main loop of the robot
      */
     @Override
     public void run() {
+	TurnMeter.attach(turnsControl);
+	try {
+	    runBanks();
+	} finally {
+	    TurnMeter.detach();
+	    // a robot whose thread ended never takes its turn, however it ended
+	    turnsControl.delayer.removeListener(serialNumber);
+	}
+    }
+
+    private void runBanks() {
 	try {
+	    // don't look at the robot's state before its first turn, it may change until then
+	    turnsControl.delayer.awaitTurn(serialNumber);
 	    try {
 		turnsControl.waitTurns(1, "Robot starting"); // block at the beginning so that all
 							     // robots start at the
@@ -215,8 +301,13 @@ public class Robot implements RobotAction, Runnable, EventPublisher {
 
 	    log.debug("[run] Robot terminated gracefully");
 	} catch (Exception | Error all) {
-	    log.error("[run] Problem running robot " + this, all);
-	    die("Execution Error -- " + all);
+	    if (alive) {
+		log.error("[run] Problem running robot " + this, all);
+		die("Execution Error -- " + all);
+	    } else {
+		// e.g. the session was cleaned while the robot was still running
+		log.debug("[run] Robot {} failed after dying: {}", this, all);
+	    }
 	}
     }
 
@@ -263,7 +354,7 @@ public class Robot implements RobotAction, Runnable, EventPublisher {
 
     private void prepareBankExecution() {
 	if (runningBank > banks.length) {
-	    if (runningBank >= GameSettings.getInstance().MAX_BANKS) {
+	    if (runningBank >= settings.MAX_BANKS) {
 		die("Impossible Bank number");
 	    } else {
 		reboot("Bank not found");
@@ -299,6 +390,7 @@ public class Robot implements RobotAction, Runnable, EventPublisher {
 	    alive = false;
 	    interrupted = true; // to speed up death
 	    world.remove(Robot.this);
+	    turnsControl.activated(); // a disabled robot would otherwise wait forever
 	}
 
     }
@@ -342,8 +434,8 @@ public class Robot implements RobotAction, Runnable, EventPublisher {
 	} else {
 
 	    if (bank != null) {
-		bank.plugInterfaces(new RobotControlProxy(this), new RobotStatusProxy(this, world),
-			new WorldPlayerProxy(turnsControl, world));
+		bank.plugInterfaces(new RobotControlProxy(this, timing, settings),
+			new RobotStatusProxy(this, world, timing), new WorldPlayerProxy(turnsControl, world, timing));
 	    }
 	    if (localBankIndex == runningBank && alive && banks[localBankIndex] != null) {
 		log.debug("[setBank] Changed running bank of {}", this);
@@ -365,14 +457,7 @@ public class Robot implements RobotAction, Runnable, EventPublisher {
 		die("Invalid local bank position");
 	    }
 	} else if (banks[localBankIndex] != null) {
-	    try {
-		Bank bankCopy = banks[localBankIndex].getClass().getDeclaredConstructor().newInstance();
-		bankCopy.setTeamId(banks[localBankIndex].getTeamId());
-		return bankCopy;
-	    } catch (InstantiationException | IllegalAccessException | IllegalArgumentException
-		    | InvocationTargetException | NoSuchMethodException | SecurityException exc) {
-		log.error("[getBankCopy] Error instantiating copy of Bank to transfer", exc);
-	    }
+	    return BankFactory.copyOf(banks[localBankIndex]);
 	}
 
 	return null;
@@ -388,14 +473,24 @@ public class Robot implements RobotAction, Runnable, EventPublisher {
 
 	private int turnsCounter = 0;
 
-	private Delayer delayer;
+	/**
+	 * Steps of the bank's code since the robot last waited
+	 */
+	private int steps = 0;
+
+	private TurnScheduler delayer;
 
-	private final Object syncObj = new Object();
+	/**
+	 * Not a monitor, so disabled robots running in virtual threads don't pin their carrier
+	 */
+	private final Lock stateLock = new ReentrantLock();
+
+	private final Condition enabledCondition = stateLock.newCondition();
 
 	/**
 	 * @param pClock master clock used to schedule tasks
 	 */
-	public TurnManager(Delayer pClock) {
+	public TurnManager(TurnScheduler pClock) {
 	    delayer = pClock;
 	}
 
@@ -409,13 +504,13 @@ public class Robot implements RobotAction, Runnable, EventPublisher {
 	public void waitTurns(int turns, String reason) throws BankInterruptedException {
 	    blockIfDisabled();
 	    checkIfInterrupt();
-	    if (turnsCounter > GameSettings.getInstance().MAX_AGE) {
-		die("Old Age");
+	    if (world.checkAge(Robot.this)) {
 		throw new BankInterruptedException("Execution interrupted due to old age");
 	    } else {
 		//FIXME: we can't wait while the robot is disabled
 		delayer.waitFor(serialNumber, turns, reason);
 		turnsCounter += turns;
+		steps = 0;
 		blockIfDisabled();
 		checkIfInterrupt();
 	    }
@@ -430,15 +525,35 @@ public class Robot implements RobotAction, Runnable, EventPublisher {
 	}
 
 	private void blockIfDisabled() {
-	    synchronized (syncObj) {
-		while (!data.isEnabled()) {
-		    log.debug("[blockIfDisabled] Disabled robot executing. Blocking");
-		    try {
-			syncObj.wait();
-		    } catch (InterruptedException exc) {
-			log.error("[waitTurns]", exc);
+	    while (alive && !data.isEnabled()) {
+		delayer.suspend(serialNumber);
+		stateLock.lock();
+		try {
+		    if (alive && !data.isEnabled()) {
+			log.debug("[blockIfDisabled] Disabled robot executing. Blocking");
+			try {
+			    enabledCondition.await();
+			} catch (InterruptedException exc) {
+			    log.error("[waitTurns]", exc);
+			}
 		    }
+		} finally {
+		    stateLock.unlock();
 		}
+		// the robot may have been disabled again, so it checks once it has its turn back
+		delayer.awaitTurn(serialNumber);
+	    }
+	}
+
+	/**
+	 * Charges a turn once the bank has run too long without waiting
+	 * 
+	 * @throws BankInterruptedException if the execution is interrupted while waiting
+	 * @see TurnMeter
+	 */
+	void countStep() throws BankInterruptedException {
+	    if (++steps >= timing.BUSY_STEPS) {
+		waitTurns(1, "Busy running code");
 	    }
 	}
 
@@ -450,8 +565,12 @@ public class Robot implements RobotAction, Runnable, EventPublisher {
 	}
 
 	private void activated() {
-	    synchronized (syncObj) {
-		syncObj.notifyAll();
+	    delayer.activate(serialNumber);
+	    stateLock.lock();
+	    try {
+		enabledCondition.signalAll();
+	    } finally {
+		stateLock.unlock();
 	    }
 
 	}
@@ -487,8 +606,8 @@ public class Robot implements RobotAction, Runnable, EventPublisher {
 	    die("Robot cannot create other robots");
 	} else {
 	    int robotsCount = world.getBotsCount(data.getTeamId(), false);
-	    if (data.getGeneration() < GameSettings.getInstance().MAX_GENERATION
-		    && robotsCount < GameSettings.getInstance().MAX_BOTS) {
+	    if (data.getGeneration() < settings.MAX_GENERATION
+		    && robotsCount < settings.MAX_BOTS) {
 		Robot child = new Robot(pSet, banksCount, pMobile, this, pName);
 
 		child.setEventDispatcher(eventDispatcher);
@@ -497,9 +616,7 @@ public class Robot implements RobotAction, Runnable, EventPublisher {
 					      // guaranteed yet
 		    // all verifications passed
 		    child.alive = true;
-		    Thread newThread = new Thread(Thread.currentThread().getThreadGroup(), child, "Bot-"
-			    + child.getSerialNumber());
-		    newThread.start(); // jumpstarts the robot
+		    owner.launchRobot(child); // jumpstarts the robot
 		}
 	    }
 	}
@@ -528,17 +645,7 @@ public class Robot implements RobotAction, Runnable, EventPublisher {
 	if (data.getInstructionSet().isLessThan(InstructionSet.ADVANCED)) {
 	    die("Robot doesn't have Scan operation in its Instruction Set");
 	} else {
-
-	    ScanResult res = null;
-	    for (int dist = 1; dist <= maxDist; dist++) {
-		res = world.scan(this, dist);
-		if (!res.isEmpty()) {
-		    break;
-		}
-	    }
-	    assert res != null : "Scan result can't be null";
-
-	    return res;
+	    return world.scanAhead(this, maxDist);
 	}
 	return null;
     }
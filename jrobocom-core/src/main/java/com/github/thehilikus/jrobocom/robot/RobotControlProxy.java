@@ -24,14 +24,22 @@ public final class RobotControlProxy implements RobotAction {
 
     private final TurnManager turnsControl;
 
+    private final Timing timing;
+
+    private final GameSettings settings;
+
     private static final Logger log = LoggerFactory.getLogger(RobotControlProxy.class);
 
     /**
      * @param robot
+     * @param pTiming the delays of the actions, already resolved for the robot's session
+     * @param pSettings the limits of the robot's session
      */
-    RobotControlProxy(Robot robot) {
+    RobotControlProxy(Robot robot, Timing pTiming, GameSettings pSettings) {
 	this.robot = robot;
 	turnsControl = robot.getTurnsControl();
+	timing = pTiming;
+	settings = pSettings;
     }
 
     /* (non-Javadoc)
@@ -39,7 +47,7 @@ public final class RobotControlProxy implements RobotAction {
      */
     @Override
     public void changeBank(int newBank) {
-	int penalty = Timing.getInstance().BANK_CHANGE;
+	int penalty = timing.BANK_CHANGE;
 	log.trace("[changeBank] Waiting {} cycles to change to bank {}", penalty, newBank);
 	turnsControl.waitTurns(penalty, "Change bank");
 	robot.changeBank(newBank);
@@ -51,19 +59,19 @@ public final class RobotControlProxy implements RobotAction {
      */
     @Override
     public void createRobot(String name, InstructionSet pSet, int banksCount, boolean pMobile) {
-	int turnsForBanks = Timing.getInstance().CREATION_BASE + Timing.getInstance().CREATION_PER_BANK * banksCount;
+	int turnsForBanks = timing.CREATION_BASE + timing.CREATION_PER_BANK * banksCount;
 	if (pMobile) {
-	    turnsForBanks = (int) (turnsForBanks * Timing.getInstance().MOBILITY_PENALTY + Timing.getInstance().MOBILITY_CONSTANT);
+	    turnsForBanks = (int) (turnsForBanks * timing.MOBILITY_PENALTY + timing.MOBILITY_CONSTANT);
 	}
 	int turnsForSet = 0;
 	if (pSet == InstructionSet.ADVANCED) {
-	    turnsForSet = Timing.getInstance().ADVANCED_SET_PENALTY;
+	    turnsForSet = timing.ADVANCED_SET_PENALTY;
 	}
 	if (pSet == InstructionSet.SUPER) {
-	    turnsForSet += Timing.getInstance().SUPER_SET_PENALTY;
+	    turnsForSet += timing.SUPER_SET_PENALTY;
 	}
 
-	int totalWait = Math.min(turnsForBanks + turnsForSet, GameSettings.getInstance().MAX_CREATE_WAIT);
+	int totalWait = Math.min(turnsForBanks + turnsForSet, settings.MAX_CREATE_WAIT);
 	log.trace("[createRobot] Waiting {} cycles to create Robot {}", totalWait, name);
 	turnsControl.waitTurns(totalWait, "Create Robot");
 
@@ -91,7 +99,7 @@ public final class RobotControlProxy implements RobotAction {
      */
     @Override
     public void move() {
-	int penalty = Timing.getInstance().MOVE;
+	int penalty = timing.MOVE;
 	log.trace("[move] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Move");
 
@@ -104,13 +112,13 @@ public final class RobotControlProxy implements RobotAction {
      */
     @Override
     public int reverseTransfer(int remoteBankIndex, int localBankIndex) {
-	int penalty = Timing.getInstance().REMOTE_ACCESS_PENALTY + Timing.getInstance().TRANSFER_BASE;
+	int penalty = timing.REMOTE_ACCESS_PENALTY + timing.TRANSFER_BASE;
 	log.trace("[reverseTransfer] Waiting {} cycles to start transfer from {} to {}", penalty, remoteBankIndex, localBankIndex);
 	turnsControl.waitTurns(penalty, "Reverse Transfer Wait 1/2");
 	int bankComplexity = robot.reverseTransfer(localBankIndex, remoteBankIndex);
 
-	log.trace("[reverseTransfer] Waiting {} cycles to complete transfer", Timing.getInstance().TRANSFER_SINGLE * bankComplexity);
-	turnsControl.waitTurns(Timing.getInstance().TRANSFER_SINGLE * bankComplexity, "Reverse Transfer Wait 2/2");
+	log.trace("[reverseTransfer] Waiting {} cycles to complete transfer", timing.TRANSFER_SINGLE * bankComplexity);
+	turnsControl.waitTurns(timing.TRANSFER_SINGLE * bankComplexity, "Reverse Transfer Wait 2/2");
 
 	return bankComplexity;
     }
@@ -128,7 +136,7 @@ public final class RobotControlProxy implements RobotAction {
      */
     @Override
     public ScanResult scan(int maxDist) {
-	int penalty = Timing.getInstance().SCAN_BASE + Timing.getInstance().SCAN_PER_DIST * (maxDist - 1);
+	int penalty = timing.SCAN_BASE + timing.SCAN_PER_DIST * (maxDist - 1);
 	log.trace("[scan] Waiting {} cycles to scan {} fields", penalty, maxDist);
 	turnsControl.waitTurns(penalty, "Scan");
 
@@ -140,12 +148,12 @@ public final class RobotControlProxy implements RobotAction {
      */
     @Override
     public int transfer(int localBankIndex, int remoteBankIndex) {
-	int penalty = Timing.getInstance().REMOTE_ACCESS_PENALTY + Timing.getInstance().TRANSFER_BASE;
+	int penalty = timing.REMOTE_ACCESS_PENALTY + timing.TRANSFER_BASE;
 	log.trace("[transfer] Waiting {} cycles to start transfer from {} to {}", penalty, localBankIndex, remoteBankIndex);
 	turnsControl.waitTurns(penalty, "Transfer Wait 1/2");
 	int bankComplexity = robot.transfer(localBankIndex, remoteBankIndex);
 
-	penalty = Timing.getInstance().TRANSFER_SINGLE * bankComplexity;
+	penalty = timing.TRANSFER_SINGLE * bankComplexity;
 	log.trace("[transfer] Waiting {} cycles to complete transfer", penalty);
 	turnsControl.waitTurns(penalty, "Transfer Wait 2/2");
 
@@ -157,7 +165,7 @@ public final class RobotControlProxy implements RobotAction {
      */
     @Override
     public void turn(boolean right) {
-	int penalty = Timing.getInstance().TURN;
+	int penalty = timing.TURN;
 	log.trace("[turn] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Turn");
 	robot.turn(right);
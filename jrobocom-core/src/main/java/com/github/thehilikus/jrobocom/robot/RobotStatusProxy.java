@@ -24,16 +24,20 @@ public class RobotStatusProxy implements RobotStatus {
     private final TurnManager turnsControl;
 
     private final World world;
+
+    private final Timing timing;
     
     private static final Logger log = LoggerFactory.getLogger(RobotStatusProxy.class);
 
     /**
      * @param pRobot the robot mapped to this proxy
      * @param pWorld the world where the robot lives
+     * @param pTiming the delays of the actions, already resolved for the robot's session
      */
-    RobotStatusProxy(Robot pRobot, World pWorld) {
+    RobotStatusProxy(Robot pRobot, World pWorld, Timing pTiming) {
 	robot = pRobot;
 	world = pWorld;
+	timing = pTiming;
 	turnsControl = pRobot.getTurnsControl();
     }
 
@@ -42,7 +46,7 @@ public class RobotStatusProxy implements RobotStatus {
      */
     @Override
     public int getActiveState() {
-	int penalty = Timing.getInstance().LOCAL_READ;
+	int penalty = timing.LOCAL_READ;
 	log.trace("[getActiveState] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Get State");
 	return this.robot.getData().getActiveState();
@@ -53,7 +57,7 @@ public class RobotStatusProxy implements RobotStatus {
      */
     @Override
     public int getRemoteActiveState() {
-	int penalty = Timing.getInstance().REMOTE_ACCESS_PENALTY;
+	int penalty = timing.REMOTE_ACCESS_PENALTY;
 	log.trace("[getRemoteActiveState] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Get Neighbour State");
 	Robot neighbour = world.getNeighbour(this.robot);
@@ -67,7 +71,7 @@ public class RobotStatusProxy implements RobotStatus {
 
     @Override
     public void setRemoteActiveState(int pActiveState) {
-	int penalty = Timing.getInstance().REMOTE_ACCESS_PENALTY;
+	int penalty = timing.REMOTE_ACCESS_PENALTY;
 	log.trace("[setRemoteActiveState] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Set Neighbour State");
 	Robot neighbour = world.getNeighbour(robot);
@@ -82,7 +86,7 @@ public class RobotStatusProxy implements RobotStatus {
      */
     @Override
     public int getGeneration() {
-	int penalty = Timing.getInstance().LOCAL_READ;
+	int penalty = timing.LOCAL_READ;
 	log.trace("[getGeneration] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Get Generation");
 	return this.robot.getData().getGeneration();
@@ -93,7 +97,7 @@ public class RobotStatusProxy implements RobotStatus {
      */
     @Override
     public int getBanksCount() {
-	int penalty = Timing.getInstance().LOCAL_READ;
+	int penalty = timing.LOCAL_READ;
 	log.trace("[getBanksCount] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Get Bank count");
 	return this.robot.getBanksCount();
@@ -104,7 +108,7 @@ public class RobotStatusProxy implements RobotStatus {
      */
     @Override
     public int getRemoteBanksCount() {
-	int penalty = Timing.getInstance().REMOTE_ACCESS_PENALTY;
+	int penalty = timing.REMOTE_ACCESS_PENALTY;
 	log.trace("[getRemoteBanksCount] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Get Neighbour's Bank count");
 	Robot neighbour = world.getNeighbour(this.robot);
@@ -121,7 +125,7 @@ public class RobotStatusProxy implements RobotStatus {
      */
     @Override
     public InstructionSet getInstructionSet() {
-	int penalty = Timing.getInstance().LOCAL_READ;
+	int penalty = timing.LOCAL_READ;
 	log.trace("[getInstructionSet] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Get Instruction set");
 	return this.robot.getData().getInstructionSet();
@@ -132,7 +136,7 @@ public class RobotStatusProxy implements RobotStatus {
      */
     @Override
     public InstructionSet getRemoteInstructionSet() {
-	int penalty = Timing.getInstance().REMOTE_ACCESS_PENALTY;
+	int penalty = timing.REMOTE_ACCESS_PENALTY;
 	log.trace("[getRemoteInstructionSet] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Get Neighbour's Instruction set");
 	Robot neighbour = world.getNeighbour(this.robot);
@@ -148,7 +152,7 @@ public class RobotStatusProxy implements RobotStatus {
      */
     @Override
     public int getTeamId() {
-	int penalty = Timing.getInstance().LOCAL_READ;
+	int penalty = timing.LOCAL_READ;
 	log.trace("[getTeamId] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Get Team Id");
 	return this.robot.getData().getTeamId();
@@ -159,7 +163,7 @@ public class RobotStatusProxy implements RobotStatus {
      */
     @Override
     public int getRemoteTeamId() {
-	int penalty = Timing.getInstance().REMOTE_ACCESS_PENALTY;
+	int penalty = timing.REMOTE_ACCESS_PENALTY;
 	log.trace("[getRemoteTeamId] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Get Remote Team Id");
 	Robot neighbour = world.getNeighbour(this.robot);
@@ -176,7 +180,7 @@ public class RobotStatusProxy implements RobotStatus {
      */
     @Override
     public boolean isEnabled() {
-	int penalty = Timing.getInstance().LOCAL_READ;
+	int penalty = timing.LOCAL_READ;
 	log.trace("[isEnabled] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Get is enabled");
 	return robot.getData().getActiveState() > 0;
@@ -187,7 +191,7 @@ public class RobotStatusProxy implements RobotStatus {
      */
     @Override
     public boolean isRemoteEnabled() {
-	int penalty = Timing.getInstance().REMOTE_ACCESS_PENALTY;
+	int penalty = timing.REMOTE_ACCESS_PENALTY;
 	log.trace("[isRemoteEnabled] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Get is Neighbour enabled");
 	Robot neighbour = world.getNeighbour(this.robot);
@@ -203,7 +207,7 @@ public class RobotStatusProxy implements RobotStatus {
      */
     @Override
     public boolean isMobile() {
-	int penalty = Timing.getInstance().LOCAL_READ;
+	int penalty = timing.LOCAL_READ;
 	log.trace("[isMobile] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Get is Mobile");
 	return this.robot.getData().isMobile();
@@ -214,7 +218,7 @@ public class RobotStatusProxy implements RobotStatus {
      */
     @Override
     public boolean isRemoteMobile() {
-	int penalty = Timing.getInstance().REMOTE_ACCESS_PENALTY;
+	int penalty = timing.REMOTE_ACCESS_PENALTY;
 	log.trace("[isRemoteMobile] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Get is Neighbour Mobile");
 	Robot neighbour = world.getNeighbour(this.robot);
@@ -231,7 +235,7 @@ public class RobotStatusProxy implements RobotStatus {
      */
     @Override
     public int getAge() {
-	int penalty = Timing.getInstance().LOCAL_READ;
+	int penalty = timing.LOCAL_READ;
 	log.trace("[getAge] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Get Age");
 	return this.robot.getData().getAge();
@@ -242,7 +246,7 @@ public class RobotStatusProxy implements RobotStatus {
      */
     @Override
     public int getRemoteAge() {
-	int penalty = Timing.getInstance().REMOTE_ACCESS_PENALTY;
+	int penalty = timing.REMOTE_ACCESS_PENALTY;
 	log.trace("[getRemoteAge] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Get Neighbour's Age");
 	Robot neighbour = world.getNeighbour(this.robot);
@@ -255,7 +259,7 @@ public class RobotStatusProxy implements RobotStatus {
 
     @Override
     public Direction getFacing() {
-	int penalty = Timing.getInstance().LOCAL_READ;
+	int penalty = timing.LOCAL_READ;
 	log.trace("[getAge] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Get Direction");
 	return robot.getData().getFacing();
@@ -263,7 +267,7 @@ public class RobotStatusProxy implements RobotStatus {
 
     @Override
     public void setActiveState(int pActiveState) {
-	int penalty = Timing.getInstance().LOCAL_WRITE;
+	int penalty = timing.LOCAL_WRITE;
 	log.trace("[setActiveState] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Set State");
 	this.robot.getData().setActiveState(pActiveState);
@@ -0,0 +1,41 @@
+package com.github.thehilikus.jrobocom.robot;
+
+import com.github.thehilikus.jrobocom.robot.Robot.TurnManager;
+
+/**
+ * Charges robots for running their banks' code. The players' classes are instrumented to call
+ * {@link #step()} at the start of every method and on every backward jump, so a bank that loops
+ * without giving instructions still spends turns
+ *
+ * @author hilikus
+ */
+public final class TurnMeter {
+
+    /**
+     * The turns of the robot running in the current thread, if any
+     */
+    private static final ThreadLocal<TurnManager> runningRobot = new ThreadLocal<>();
+
+    private TurnMeter() {
+	// only static methods
+    }
+
+    /**
+     * Counts a step of the robot running in the calling thread. Called by the instrumented code of
+     * the players
+     */
+    public static void step() {
+	TurnManager turns = runningRobot.get();
+	if (turns != null) {
+	    turns.countStep();
+	}
+    }
+
+    static void attach(TurnManager turns) {
+	runningRobot.set(turns);
+    }
+
+    static void detach() {
+	runningRobot.remove();
+    }
+}
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import com.github.thehilikus.jrobocom.World;
 import com.github.thehilikus.jrobocom.WorldInfo;
 import com.github.thehilikus.jrobocom.GameSettings.Timing;
+import com.github.thehilikus.jrobocom.player.ReadableSettings;
 import com.github.thehilikus.jrobocom.robot.Robot.TurnManager;
 
 /**
@@ -20,6 +21,8 @@ public class WorldPlayerProxy implements WorldInfo {
     private final World world;
 
     private final TurnManager turnsControl;
+
+    private final Timing timing;
     
     private static final Logger log = LoggerFactory.getLogger(WorldPlayerProxy.class);
     
@@ -27,15 +30,17 @@ public class WorldPlayerProxy implements WorldInfo {
     /**
      * @param turnManager turns handler for calling robot
      * @param pWorld the world of the calling robot
+     * @param pTiming the delays of the actions, already resolved for the robot's session
      */
-    WorldPlayerProxy(TurnManager turnManager, World pWorld) {
+    WorldPlayerProxy(TurnManager turnManager, World pWorld, Timing pTiming) {
 	turnsControl = turnManager;
 	world = pWorld;
+	timing = pTiming;
     }
 
     @Override
     public int getBotsCount(int teamId, boolean invert) {
-	int penalty = Timing.getInstance().REMOTE_ACCESS_PENALTY;
+	int penalty = timing.REMOTE_ACCESS_PENALTY;
 	log.trace("[getBotsCount] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Get Robots count");
 
@@ -47,11 +52,16 @@ public class WorldPlayerProxy implements WorldInfo {
      */
     @Override
     public int getWorldAge() {
-	int penalty = Timing.getInstance().REMOTE_ACCESS_PENALTY;
+	int penalty = timing.REMOTE_ACCESS_PENALTY;
 	log.trace("[getWorldAge] Waiting {} cycles", penalty);
 	turnsControl.waitTurns(penalty, "Get World's Age");
 
 	return world.getAge();
     }
 
+    @Override
+    public ReadableSettings getSettings() {
+	return world.getPlayerSettings();
+    }
+
 }
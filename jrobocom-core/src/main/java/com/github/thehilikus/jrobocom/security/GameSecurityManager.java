@@ -6,7 +6,6 @@ import java.security.Permission;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.github.thehilikus.events.event_manager.GenericEventDispatcher;
 import com.github.thehilikus.jrobocom.Player;
 import com.github.thehilikus.jrobocom.player.Bank;
 
@@ -119,7 +118,7 @@ public class GameSecurityManager extends SecurityManager {
     @Override
     public void checkMemberAccess(Class<?> clazz, int which) {
 	log.trace("[checkMemberAccess] Trying to use reflection on {}", clazz);
-	if (isPlayer() && !getClassContext()[3].equals(GenericEventDispatcher.class)) {
+	if (isPlayer()) {
 	    throw new SecurityException("Cannot use reflection");
 	}
     }
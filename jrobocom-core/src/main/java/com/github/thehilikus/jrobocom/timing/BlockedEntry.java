@@ -7,19 +7,25 @@ import java.util.concurrent.Semaphore;
  * 
  * @author hilikus
  */
-final class BlockedEntry {
+final class BlockedEntry implements Comparable<BlockedEntry> {
 
     private long timeout;
 
+    private final int clientId;
+
+    private volatile boolean cancelled;
+
     Semaphore sync = new Semaphore(0);
 
     /**
      * Constructs a waiting entity
      * 
      * @param pTimeout the cycle where the entity unblocks
+     * @param pClientId the ID of the blocked client
      */
-    public BlockedEntry(long pTimeout) {
+    public BlockedEntry(long pTimeout, int pClientId) {
 	timeout = pTimeout;
+	clientId = pClientId;
     }
 
     /**
@@ -35,4 +41,31 @@ final class BlockedEntry {
     public long getTimeout() {
 	return timeout;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return the ID of the blocked client
+     */
+    public int getClientId() {
+	return clientId;
+    }
+
+    /**
+     * Releases the entity without waiting for its timeout
+     */
+    public void cancel() {
+	cancelled = true;
+	sync.release();
+    }
+
+    /**
+     * @return true if the entity was released before its timeout
+     */
+    public boolean isCancelled() {
+	return cancelled;
+    }
+
+    @Override
+    public int compareTo(BlockedEntry other) {
+	return Long.compare(timeout, other.timeout);
+    }
+}
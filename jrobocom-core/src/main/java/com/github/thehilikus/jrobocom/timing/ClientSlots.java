@@ -0,0 +1,94 @@
+package com.github.thehilikus.jrobocom.timing;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An integer per client indexed by the client's ID. The slots are kept in chunks of fixed size
+ * created the first time an ID in their range is used, so reading and updating a slot never locks.
+ * Slots that were never set are 0
+ *
+ * @author hilikus
+ */
+class ClientSlots {
+
+    private static final int CHUNK_BITS = 10;
+
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private static final int OFFSET_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * Replaced with a copy every time a chunk is created, so readers never need a lock
+     */
+    private volatile AtomicIntegerArray[] chunks = new AtomicIntegerArray[1];
+
+    private final Lock growLock = new ReentrantLock();
+
+    /**
+     * @param id unique ID of the client
+     * @return the current value of the client's slot
+     */
+    int get(int id) {
+	AtomicIntegerArray chunk = chunkOf(id, false);
+	return chunk == null ? 0 : chunk.get(id & OFFSET_MASK);
+    }
+
+    /**
+     * Atomically changes the slot of a client if it has the expected value
+     *
+     * @param id unique ID of the client
+     * @param expect the value the slot must have
+     * @param update the new value
+     * @return true if the slot changed
+     */
+    boolean compareAndSet(int id, int expect, int update) {
+	AtomicIntegerArray chunk = chunkOf(id, update != 0);
+	if (chunk == null) {
+	    return expect == 0;
+	}
+	return chunk.compareAndSet(id & OFFSET_MASK, expect, update);
+    }
+
+    /**
+     * Resets all the slots to 0
+     */
+    void clear() {
+	growLock.lock();
+	try {
+	    chunks = new AtomicIntegerArray[1];
+	} finally {
+	    growLock.unlock();
+	}
+    }
+
+    private AtomicIntegerArray chunkOf(int id, boolean create) {
+	if (id < 0) {
+	    throw new IllegalArgumentException("Client IDs can't be negative: " + id);
+	}
+	int index = id >>> CHUNK_BITS;
+	AtomicIntegerArray[] current = chunks;
+	if (index < current.length && current[index] != null) {
+	    return current[index];
+	}
+	if (!create) {
+	    return null;
+	}
+
+	growLock.lock();
+	try {
+	    current = chunks;
+	    if (index >= current.length || current[index] == null) {
+		int length = index < current.length ? current.length : Math.max(index + 1, current.length * 2);
+		current = Arrays.copyOf(current, length);
+		current[index] = new AtomicIntegerArray(CHUNK_SIZE);
+		chunks = current;
+	    }
+	    return current[index];
+	} finally {
+	    growLock.unlock();
+	}
+    }
+}
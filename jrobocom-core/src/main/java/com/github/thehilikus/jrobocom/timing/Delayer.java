@@ -1,12 +1,17 @@
 package com.github.thehilikus.jrobocom.timing;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.thehilikus.jrobocom.timing.api.TurnScheduler;
+
 /**
  * A class that blocks threads for a specified number of cycles. A separate thread needs to make the
  * delayer tick
@@ -14,30 +19,93 @@ import org.slf4j.LoggerFactory;
  * @author hilikus
  * @see MasterClock
  */
-public class Delayer {
+public class Delayer implements TurnScheduler {
 
     private volatile long cycles;
 
-    private List<BlockedEntry> blockedCollection = new CopyOnWriteArrayList<>();
+    /**
+     * Blocked entries sorted by the cycle when they unblock. Guarded by {@link #queueLock}
+     */
+    private final Queue<BlockedEntry> blockedCollection = new PriorityQueue<>();
+
+    /**
+     * Guards the blocked entries and changes to {@link #cycles}. Locks are used instead of monitors
+     * so robots running in virtual threads don't pin their carrier
+     */
+    private final Lock queueLock = new ReentrantLock();
+
+    /**
+     * Signalled when no registered client is running. Guarded by {@link #queueLock}
+     */
+    private final Condition idle = queueLock.newCondition();
 
     private Logger log = LoggerFactory.getLogger(Delayer.class);
 
-    private List<Integer> registered = new ArrayList<>();
+    /**
+     * The {@link ClientState} of each registered client plus the {@link #WAITING} flag, indexed by
+     * client ID. States change with {@link #queueLock} held but are read without it; the flag is
+     * changed only by the client's own thread
+     */
+    private final ClientSlots clients = new ClientSlots();
+
+    private static final int STATE_MASK = 0x3;
+
+    /**
+     * Set in the slot of a client while it is inside {@link #waitFor(int, int, String)}
+     */
+    private static final int WAITING = 0x4;
+
+    /**
+     * Number of registered clients in {@link ClientState#RUNNING}. Guarded by {@link #queueLock}
+     */
+    private int runningCount;
+
+    /**
+     * What a registered client is doing, as far as the delayer knows
+     * 
+     */
+    private enum ClientState {
+	/**
+	 * Executing code between waits
+	 */
+	RUNNING,
+	/**
+	 * Waiting for some cycles to elapse
+	 */
+	BLOCKED,
+	/**
+	 * Not running until it is activated
+	 */
+	SUSPENDED;
 
-    private List<Integer> waitingList = new ArrayList<>();
+	/**
+	 * The value of the state in the slot of a client; 0 is an unregistered client
+	 */
+	private final int code = ordinal() + 1;
+    }
 
     /**
      * Blocks the calling thread until enough turns have elapsed
      * 
+     * @param clientId unique ID of the client
      * @param cyclesToBlock number of ticks to block
      */
-    private void blockMe(int cyclesToBlock) {
-	long unblock = cycles + cyclesToBlock;
+    private void blockMe(int clientId, int cyclesToBlock) {
+	if (cyclesToBlock <= 0) {
+	    return;
+	}
 
-	BlockedEntry newEntry = new BlockedEntry(unblock);
-	blockedCollection.add(newEntry);
+	BlockedEntry newEntry;
+	queueLock.lock();
+	try {
+	    newEntry = new BlockedEntry(cycles + cyclesToBlock, clientId);
+	    blockedCollection.add(newEntry);
+	    changeState(clientId, ClientState.RUNNING, ClientState.BLOCKED);
+	} finally {
+	    queueLock.unlock();
+	}
 
-	while (unblock > cycles) {
+	while (newEntry.getTimeout() > cycles && !newEntry.isCancelled()) {
 	    try {
 		newEntry.getSync().acquire(); // blocks
 	    } catch (InterruptedException exc) {
@@ -47,85 +115,210 @@ public class Delayer {
 
     }
 
-    /**
-     * Signals one cycles has elapsed
-     */
+    @Override
     public void tick() {
 	log.trace("Tick {}", cycles);
 
-	cycles++;
+	queueLock.lock();
+	try {
+	    cycles++;
 
-	// check for robots up for unblocking
-	for (BlockedEntry entry : blockedCollection) {
-	    if (entry.getTimeout() >= cycles) {
-		entry.getSync().release();
+	    // only the entries that are due are touched; the rest stay sorted in the queue
+	    while (!blockedCollection.isEmpty() && blockedCollection.peek().getTimeout() <= cycles) {
+		BlockedEntry due = blockedCollection.poll();
+		// the client counts as running from now on, even if its thread hasn't woken up yet
+		changeState(due.getClientId(), ClientState.BLOCKED, ClientState.RUNNING);
+		due.getSync().release();
 	    }
+	} finally {
+	    queueLock.unlock();
 	}
     }
 
     /**
-     * Registers an object interested in notifications
-     * 
-     * @param listenerId a unique ID of the listener
+     * @return the number of entries waiting to be unblocked
      */
-    public void addListener(int listenerId) {
-	registered.add(listenerId);
+    int getPendingCount() {
+	queueLock.lock();
+	try {
+	    return blockedCollection.size();
+	} finally {
+	    queueLock.unlock();
+	}
+    }
 
+    @Override
+    public boolean awaitIdle(long timeout) throws InterruptedException {
+	long remaining = TimeUnit.MILLISECONDS.toNanos(timeout);
+	queueLock.lock();
+	try {
+	    while (runningCount > 0) {
+		if (remaining <= 0) {
+		    return false;
+		}
+		remaining = idle.awaitNanos(remaining);
+	    }
+	    return true;
+	} finally {
+	    queueLock.unlock();
+	}
     }
 
     /**
-     * Removes an interested object
+     * Moves a client from one state to another, keeping track of how many are running. Called with
+     * {@link #queueLock} held
      * 
-     * @param listenerId a unique ID of the listener
+     * @param clientId unique ID of the client
+     * @param from the state the client must be in for the change to happen
+     * @param to the new state
      */
-    public void removeListener(int listenerId) {
-	registered.remove(Integer.valueOf(listenerId));
+    private void changeState(int clientId, ClientState from, ClientState to) {
+	if (!replaceState(clientId, from.code, to.code)) {
+	    return;
+	}
+	if (from == ClientState.RUNNING) {
+	    runningCount--;
+	    if (runningCount == 0) {
+		idle.signalAll();
+	    }
+	} else if (to == ClientState.RUNNING) {
+	    runningCount++;
+	}
     }
 
     /**
-     * Blocks the calling thread for the specified number of cycles
+     * Changes the state code of a client keeping its other flags
      * 
-     * @param clientId unique ID of the client.
-     * @param turns the number of clock ticks to block
-     * @param reason explanation for the wait
+     * @param clientId unique ID of the client
+     * @param from the state code the client must have, or -1 for any
+     * @param to the new state code
+     * @return true if the state changed
      */
-    public void waitFor(Integer clientId, int turns, String reason) {
-	// for safety, check if we know the robot, otherwise fail
-	if (!registered.contains(clientId)) {
-	    throw new IllegalArgumentException("Unknown robot. All robots must first register with clock");
-	}
+    private boolean replaceState(int clientId, int from, int to) {
+	int slot;
+	do {
+	    slot = clients.get(clientId);
+	    if (from != -1 && (slot & STATE_MASK) != from) {
+		return false;
+	    }
+	} while (!clients.compareAndSet(clientId, slot, (slot & ~STATE_MASK) | to));
+	return true;
+    }
 
-	synchronized (waitingList) {
+    /**
+     * Sets or clears the {@link #WAITING} flag of a client
+     * 
+     * @param clientId unique ID of the client
+     * @param waiting true to set the flag
+     * @return false if the flag was already set
+     */
+    private boolean setWaiting(int clientId, boolean waiting) {
+	int slot;
+	int newSlot;
+	do {
+	    slot = clients.get(clientId);
+	    if (waiting && (slot & WAITING) != 0) {
+		return false;
+	    }
+	    newSlot = waiting ? slot | WAITING : slot & ~WAITING;
+	} while (!clients.compareAndSet(clientId, slot, newSlot));
+	return true;
+    }
 
-	    if (waitingList.contains(clientId)) {
-		throw new IllegalArgumentException("Client " + clientId
-			+ " is already waiting, no multithreading is allowed");
+    /**
+     * New clients are assumed to be running until they first wait
+     */
+    @Override
+    public void addListener(int listenerId) {
+	queueLock.lock();
+	try {
+	    int previous = clients.get(listenerId) & STATE_MASK;
+	    replaceState(listenerId, -1, ClientState.RUNNING.code);
+	    if (previous != ClientState.RUNNING.code) {
+		runningCount++;
 	    }
+	} finally {
+	    queueLock.unlock();
+	}
+    }
 
-	    waitingList.add(clientId);
+    @Override
+    public void removeListener(int listenerId) {
+	queueLock.lock();
+	try {
+	    changeState(listenerId, ClientState.RUNNING, ClientState.SUSPENDED);
+	    replaceState(listenerId, -1, 0);
+	} finally {
+	    queueLock.unlock();
+	}
+    }
+
+    @Override
+    public void waitFor(int clientId, int turns, String reason) {
+	// for safety, check if we know the robot, otherwise fail
+	if ((clients.get(clientId) & STATE_MASK) == 0) {
+	    throw new IllegalArgumentException("Unknown robot. All robots must first register with clock");
+	}
+	if (!setWaiting(clientId, true)) {
+	    throw new IllegalArgumentException("Client " + clientId
+		    + " is already waiting, no multithreading is allowed");
 	}
 
 	// we are in the robot's thread
 
-	log.trace("[waitFor] Blocking {} for {} turns. Reason: {}", clientId, turns, reason);
-	blockMe(turns);
+	if (log.isTraceEnabled()) { // saves boxing the arguments on every wait
+	    log.trace("[waitFor] Blocking {} for {} turns. Reason: {}", clientId, turns, reason);
+	}
+	try {
+	    blockMe(clientId, turns);
+	} finally {
+	    setWaiting(clientId, false);
+	}
 	log.trace("[waitFor] Unblocked {} - {}", clientId, reason);
 
-	synchronized (waitingList) {
-	    waitingList.remove(clientId);
+    }
+
+    @Override
+    public void suspend(Integer clientId) {
+	queueLock.lock();
+	try {
+	    changeState(clientId, ClientState.RUNNING, ClientState.SUSPENDED);
+	} finally {
+	    queueLock.unlock();
 	}
+    }
 
+    @Override
+    public void activate(Integer clientId) {
+	queueLock.lock();
+	try {
+	    changeState(clientId, ClientState.SUSPENDED, ClientState.RUNNING);
+	} finally {
+	    queueLock.unlock();
+	}
     }
 
-    /**
-     * cleans all the registered listeners and waiting clients
-     */
+    @Override
+    public void awaitTurn(Integer clientId) {
+	// clients are independent threads, they can run right away. The activation may have been
+	// missed if the client was enabled again before it got to suspend itself
+	activate(clientId);
+    }
+
+    @Override
     public void clean() {
-	if (registered != null) {
-	    registered.clear();
-	}
-	if (waitingList != null) {
-	    waitingList.clear();
+	queueLock.lock();
+	try {
+	    // let the threads still blocked finish
+	    for (BlockedEntry entry : blockedCollection) {
+		entry.cancel();
+	    }
+	    blockedCollection.clear();
+	    clients.clear();
+	    runningCount = 0;
+	    idle.signalAll();
+	} finally {
+	    queueLock.unlock();
 	}
     }
 
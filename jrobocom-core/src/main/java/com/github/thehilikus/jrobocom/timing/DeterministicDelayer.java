@@ -0,0 +1,308 @@
+package com.github.thehilikus.jrobocom.timing;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.thehilikus.jrobocom.timing.api.TurnScheduler;
+
+/**
+ * A delayer that lets only one client run at a time. Each tick hands a turn to every client that
+ * is due, in order of their IDs, and waits for it to block again before handing the next turn, so
+ * the clock's thread only continues once all the robots are done with their turns. Every wait
+ * becomes a point where the running client gives up its turn.
+ * <p>
+ * Since robots never run concurrently, games don't depend on the OS scheduling and can be repeated
+ * exactly given the same random seed. A client that never waits again (e.g. a bank stuck in a loop
+ * that doesn't call the robot) stalls the game
+ * </p>
+ *
+ * @author hilikus
+ */
+public class DeterministicDelayer implements TurnScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(DeterministicDelayer.class);
+
+    private long cycles;
+
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Guarded by {@link #lock}
+     */
+    private final Map<Integer, Slot> clients = new HashMap<>();
+
+    /**
+     * Clients waiting for a turn sorted by the cycle they are due and then by their ID. Guarded by
+     * {@link #lock}
+     */
+    private final Queue<Slot> schedule = new PriorityQueue<>(11, new Comparator<Slot>() {
+
+	@Override
+	public int compare(Slot first, Slot second) {
+	    int byCycle = Long.compare(first.wakeUp, second.wakeUp);
+	    return byCycle != 0 ? byCycle : Integer.compare(first.id, second.id);
+	}
+    });
+
+    /**
+     * The client that has the turn. Guarded by {@link #lock}
+     */
+    private Slot current;
+
+    /**
+     * Released when the running client gives up its turn
+     */
+    private final Semaphore turnDone = new Semaphore(0);
+
+    /**
+     * The scheduling information of a single client
+     *
+     */
+    private static final class Slot {
+	private final int id;
+	private final Semaphore turn = new Semaphore(0);
+	private long wakeUp;
+	private boolean parked;
+	private boolean suspended;
+	private boolean removed;
+
+	private Slot(int pId) {
+	    id = pId;
+	}
+    }
+
+    @Override
+    public void tick() {
+	Slot next;
+	lock.lock();
+	try {
+	    cycles++;
+	    log.trace("Tick {}", cycles);
+	} finally {
+	    lock.unlock();
+	}
+
+	do {
+	    lock.lock();
+	    try {
+		next = schedule.peek();
+		if (next != null && next.wakeUp <= cycles) {
+		    schedule.poll();
+		    current = next;
+		} else {
+		    next = null;
+		}
+	    } finally {
+		lock.unlock();
+	    }
+
+	    if (next != null) {
+		next.turn.release();
+		turnDone.acquireUninterruptibly();
+	    }
+	} while (next != null);
+    }
+
+    /**
+     * New clients get their first turn in the next cycle
+     */
+    @Override
+    public void addListener(int listenerId) {
+	lock.lock();
+	try {
+	    if (clients.containsKey(listenerId)) {
+		throw new IllegalArgumentException("Client " + listenerId + " is already registered");
+	    }
+	    Slot newSlot = new Slot(listenerId);
+	    newSlot.wakeUp = cycles + 1;
+	    clients.put(listenerId, newSlot);
+	    schedule.add(newSlot);
+	} finally {
+	    lock.unlock();
+	}
+    }
+
+    @Override
+    public void removeListener(int listenerId) {
+	lock.lock();
+	try {
+	    Slot removed = clients.remove(listenerId);
+	    if (removed == null) {
+		return;
+	    }
+	    removed.removed = true;
+	    schedule.remove(removed);
+	    if (removed == current) {
+		endTurn();
+	    } else if (removed.parked) {
+		removed.turn.release(); // let the thread finish
+	    }
+	} finally {
+	    lock.unlock();
+	}
+    }
+
+    @Override
+    public void waitFor(int clientId, int turns, String reason) {
+	Slot slot;
+	lock.lock();
+	try {
+	    slot = clients.get(clientId);
+	    if (slot == null) {
+		throw new IllegalArgumentException("Unknown robot. All robots must first register with clock");
+	    }
+	    if (slot.parked) {
+		throw new IllegalArgumentException("Client " + clientId
+			+ " is already waiting, no multithreading is allowed");
+	    }
+	    if (slot == current) {
+		if (turns <= 0 || slot.turn.tryAcquire()) {
+		    // a new client whose first turn was handed before it got here can run already
+		    return;
+		}
+		slot.wakeUp = cycles + turns;
+		schedule.add(slot);
+		endTurn();
+	    } // else a new client waiting for its first turn
+	    slot.parked = true;
+	} finally {
+	    lock.unlock();
+	}
+
+	if (log.isTraceEnabled()) { // saves boxing the arguments on every wait
+	    log.trace("[waitFor] Blocking {} for {} turns. Reason: {}", clientId, turns, reason);
+	}
+	park(slot);
+	log.trace("[waitFor] Unblocked {} - {}", clientId, reason);
+    }
+
+    @Override
+    public void suspend(Integer clientId) {
+	lock.lock();
+	try {
+	    Slot slot = clients.get(clientId);
+	    if (slot == null) {
+		return;
+	    }
+	    slot.suspended = true;
+	    schedule.remove(slot);
+	    if (slot == current) {
+		slot.turn.drainPermits(); // the turn may have been handed before the client arrived
+		endTurn();
+	    }
+	} finally {
+	    lock.unlock();
+	}
+    }
+
+    /**
+     * Suspended clients get their turn back in the next cycle
+     */
+    @Override
+    public void activate(Integer clientId) {
+	lock.lock();
+	try {
+	    Slot slot = clients.get(clientId);
+	    if (slot != null && slot.suspended) {
+		slot.suspended = false;
+		slot.wakeUp = cycles + 1;
+		schedule.add(slot);
+	    }
+	} finally {
+	    lock.unlock();
+	}
+    }
+
+    @Override
+    public void awaitTurn(Integer clientId) {
+	Slot slot;
+	lock.lock();
+	try {
+	    slot = clients.get(clientId);
+	    if (slot == null) {
+		return;
+	    }
+	    if (slot == current) {
+		slot.turn.tryAcquire(); // the turn may have been handed before the client got here
+		return;
+	    }
+	    slot.parked = true;
+	} finally {
+	    lock.unlock();
+	}
+
+	park(slot);
+    }
+
+    /**
+     * Ticks only return once every due client gave up its turn, so clients are always idle
+     * between ticks
+     */
+    @Override
+    public boolean awaitIdle(long timeout) {
+	return true;
+    }
+
+    @Override
+    public void clean() {
+	lock.lock();
+	try {
+	    for (Slot slot : clients.values()) {
+		slot.removed = true;
+		if (slot.parked) {
+		    slot.turn.release();
+		}
+	    }
+	    clients.clear();
+	    schedule.clear();
+	    if (current != null) {
+		endTurn();
+	    }
+	} finally {
+	    lock.unlock();
+	}
+    }
+
+    /**
+     * @return the number of clients waiting for a turn
+     */
+    int getPendingCount() {
+	lock.lock();
+	try {
+	    return schedule.size();
+	} finally {
+	    lock.unlock();
+	}
+    }
+
+    /**
+     * Gives up the turn of the current client. Called with {@link #lock} held
+     */
+    private void endTurn() {
+	current = null;
+	turnDone.release();
+    }
+
+    /**
+     * Blocks the calling client until it gets its turn or is removed
+     */
+    private void park(Slot slot) {
+	slot.turn.acquireUninterruptibly();
+	lock.lock();
+	try {
+	    slot.parked = false;
+	    assert slot.removed || slot == current : "Client running out of turn";
+	} finally {
+	    lock.unlock();
+	}
+    }
+}
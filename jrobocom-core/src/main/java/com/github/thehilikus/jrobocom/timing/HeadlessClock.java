@@ -0,0 +1,166 @@
+package com.github.thehilikus.jrobocom.timing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.thehilikus.events.event_manager.api.EventDispatcher;
+import com.github.thehilikus.jrobocom.events.TickEvent;
+import com.github.thehilikus.jrobocom.timing.api.Clock;
+import com.github.thehilikus.jrobocom.timing.api.TurnScheduler;
+
+/**
+ * A time keeper that runs as fast as possible. Instead of ticking on wall-clock time, the next tick
+ * happens as soon as all the robots are blocked waiting for turns (or finished), so games are only
+ * bounded by CPU. Meant for games without a GUI, e.g. tournaments
+ * <p>
+ * The period is the longest time to wait for the robots before ticking anyway, so a bank stuck in a
+ * loop that never calls the robot can't stall the game
+ * </p>
+ *
+ * @author hilikus
+ * @see TurnScheduler#awaitIdle(long)
+ */
+public class HeadlessClock implements Clock {
+
+    private volatile long cycles;
+
+    private static final Logger log = LoggerFactory.getLogger(HeadlessClock.class);
+
+    private volatile int period = 1000;
+
+    private Ticker currentTicker;
+
+    private TurnScheduler delayer;
+
+    private EventDispatcher eventDispatcher;
+
+    /**
+     * Main constructor
+     *
+     * @param pDelayer thread blocker object
+     */
+    public HeadlessClock(TurnScheduler pDelayer) {
+	delayer = pDelayer;
+    }
+
+    @Override
+    public synchronized void start(boolean reset) {
+	log.debug("Starting Headless Clock. Max period = {}, Reset = {}", period, reset);
+	if (isRunning()) {
+	    throw new IllegalStateException("Clock is already running");
+	}
+	if (reset) {
+	    cycles = 0;
+	}
+	currentTicker = new Ticker();
+	Thread tickerThread = new Thread(currentTicker, "Headless Clock Ticker");
+	currentTicker.thread = tickerThread;
+	tickerThread.start();
+    }
+
+    @Override
+    public void start() {
+	start(true);
+    }
+
+    @Override
+    public void step() {
+	tick();
+    }
+
+    /**
+     * Not synchronized, the robots may need to stop or check the clock during a tick
+     */
+    private void tick() {
+	cycles++;
+	log.trace("Tick {}", cycles);
+
+	delayer.tick();
+
+	eventDispatcher.fireEvent(new TickEvent(this, cycles));
+    }
+
+    /**
+     * Doesn't wait for a tick in progress to finish since the clock can be stopped by the tick
+     * itself, e.g. when it ends the game
+     */
+    @Override
+    public synchronized void stop() {
+	log.debug("Stopping Headless Clock");
+	if (currentTicker != null) {
+	    currentTicker.cancel();
+	    currentTicker = null;
+	}
+    }
+
+    @Override
+    public void clean() {
+	if (isRunning()) {
+	    stop();
+	}
+    }
+
+    /**
+     * Changes the longest time to wait for the robots to block before ticking anyway
+     *
+     * @param pPeriod new maximum period in ms.
+     */
+    @Override
+    public void setPeriod(int pPeriod) {
+	if (pPeriod < 0) {
+	    throw new IllegalArgumentException("Period cannot be negative");
+	}
+	log.debug("Changing clock max period to {}", pPeriod);
+	period = pPeriod;
+    }
+
+    @Override
+    public int getPeriod() {
+	return period;
+    }
+
+    @Override
+    public long getCycles() {
+	return cycles;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+	return currentTicker != null;
+    }
+
+    @Override
+    public void setEventDispatcher(EventDispatcher dispatcher) {
+	eventDispatcher = dispatcher;
+    }
+
+    private class Ticker implements Runnable {
+
+	private volatile boolean cancelled;
+
+	private Thread thread;
+
+	@Override
+	public void run() {
+	    try {
+		while (!cancelled) {
+		    if (!delayer.awaitIdle(period)) {
+			log.debug("[run] Robots still running after {} ms. Ticking anyway", period);
+		    }
+		    if (!cancelled) {
+			tick();
+		    }
+		}
+	    } catch (InterruptedException exc) {
+		log.debug("[run] Ticker interrupted", exc);
+	    }
+	}
+
+	private void cancel() {
+	    cancelled = true;
+	    if (Thread.currentThread() != thread) {
+		thread.interrupt();
+	    }
+	}
+    }
+}
@@ -10,6 +10,7 @@ import com.github.thehilikus.events.event_manager.api.EventDispatcher;
 import com.github.thehilikus.events.event_manager.api.EventPublisher;
 import com.github.thehilikus.jrobocom.events.TickEvent;
 import com.github.thehilikus.jrobocom.timing.api.Clock;
+import com.github.thehilikus.jrobocom.timing.api.TurnScheduler;
 
 /**
  * Time keeper
@@ -29,7 +30,7 @@ public class MasterClock implements Clock, EventPublisher {
 
     private Ticker currentTicker;
 
-    private Delayer delayer;
+    private TurnScheduler delayer;
 
     private EventDispatcher eventDispatcher;
 
@@ -43,7 +44,7 @@ public class MasterClock implements Clock, EventPublisher {
      * 
      * @param pDelayer thread blocker object
      */
-    public MasterClock(Delayer pDelayer) {
+    public MasterClock(TurnScheduler pDelayer) {
 	delayer = pDelayer;
     }
 
@@ -63,7 +64,16 @@ public class MasterClock implements Clock, EventPublisher {
      */
     @Override
     public void step() {
+	tick();
+    }
+
+    private void tick() {
+	cycles++;
+	log.trace("Tick {}", cycles);
+
 	delayer.tick();
+
+	eventDispatcher.fireEvent(new TickEvent(MasterClock.this, cycles));
     }
 
     /* (non-Javadoc)
@@ -87,12 +97,7 @@ public class MasterClock implements Clock, EventPublisher {
 
 	@Override
 	public void run() {
-	    cycles++;
-	    log.trace("Tick {}", cycles);
-
-	    delayer.tick();
-
-	    eventDispatcher.fireEvent(new TickEvent(MasterClock.this, cycles));
+	    tick();
 	}
 
     }
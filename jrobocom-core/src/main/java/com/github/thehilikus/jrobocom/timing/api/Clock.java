@@ -1,11 +1,14 @@
 package com.github.thehilikus.jrobocom.timing.api;
 
+import com.github.thehilikus.events.event_manager.api.EventPublisher;
+
 /**
- * A central unit to control turns and time
+ * A central unit to control turns and time. Clocks publish a
+ * {@link com.github.thehilikus.jrobocom.events.TickEvent} after every tick
  * 
  * @author hilikus
  */
-public interface Clock {
+public interface Clock extends EventPublisher {
 
     /**
      * A single clock tick
@@ -0,0 +1,75 @@
+package com.github.thehilikus.jrobocom.timing.api;
+
+/**
+ * Blocks the threads of its clients for a number of cycles. A separate thread needs to make it
+ * tick
+ *
+ * @author hilikus
+ */
+public interface TurnScheduler {
+
+    /**
+     * Signals one cycle has elapsed
+     */
+    public void tick();
+
+    /**
+     * Waits until every registered client is either blocked, suspended or gone, i.e. until ticking
+     * is the only way for the game to advance
+     *
+     * @param timeout the maximum time to wait in milliseconds
+     * @return true if all clients are idle; false if the time elapsed first
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public boolean awaitIdle(long timeout) throws InterruptedException;
+
+    /**
+     * Registers an object interested in notifications
+     *
+     * @param listenerId a unique ID of the listener
+     */
+    public void addListener(int listenerId);
+
+    /**
+     * Removes an interested object. Removing a client that is not registered has no effect
+     *
+     * @param listenerId a unique ID of the listener
+     */
+    public void removeListener(int listenerId);
+
+    /**
+     * Blocks the calling thread for the specified number of cycles
+     *
+     * @param clientId unique ID of the client.
+     * @param turns the number of clock ticks to block
+     * @param reason explanation for the wait
+     */
+    public void waitFor(int clientId, int turns, String reason);
+
+    /**
+     * Called by a client before it stops running because it was disabled. The client won't wait
+     * for turns until it is activated again
+     *
+     * @param clientId unique ID of the client
+     */
+    public void suspend(Integer clientId);
+
+    /**
+     * Called when a client is activated again after being disabled
+     *
+     * @param clientId unique ID of the client
+     */
+    public void activate(Integer clientId);
+
+    /**
+     * Blocks a client that was just activated until it is allowed to run again
+     *
+     * @param clientId unique ID of the client
+     */
+    public void awaitTurn(Integer clientId);
+
+    /**
+     * cleans all the registered listeners and releases the waiting clients
+     */
+    public void clean();
+}
@@ -0,0 +1,85 @@
+package com.github.thehilikus.jrobocom;
+
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.github.thehilikus.jrobocom.robot.Robot;
+
+/**
+ * Tests for {@link AgeWheel}
+ *
+ * @author hilikus
+ */
+public class AgeWheelTest extends AbstractTest {
+
+    private AgeWheel TU;
+
+    /**
+     *
+     */
+    public AgeWheelTest() {
+	super(AgeWheel.class);
+    }
+
+    /**
+     * Configures each test
+     */
+    @BeforeMethod
+    public void setUpTU() {
+	TU = new AgeWheel(8);
+    }
+
+    /**
+     * Robots come out exactly in the tick they are due
+     */
+    @Test
+    public void dueTick() {
+	Robot first = mock(Robot.class);
+	Robot second = mock(Robot.class);
+	TU.schedule(first, 2);
+	TU.schedule(second, 2);
+
+	assertTrue(TU.advance().isEmpty(), "Robots came out too early");
+	assertEquals(TU.advance(), Arrays.asList(first, second));
+	assertTrue(TU.advance().isEmpty(), "Robots came out twice");
+    }
+
+    /**
+     * Robots due after more than one turn of the wheel wait for their own tick
+     */
+    @Test
+    public void longDelay() {
+	Robot robot = mock(Robot.class);
+	TU.schedule(robot, 19);
+	for (int tick = 1; tick < 19; tick++) {
+	    assertTrue(TU.advance().isEmpty(), "Robot came out in tick " + tick);
+	}
+	assertEquals(TU.advance(), Arrays.asList(robot));
+    }
+
+    /**
+     * Delays are relative to the ticks elapsed
+     */
+    @Test
+    public void relativeDelay() {
+	TU.advance();
+	TU.advance();
+	Robot robot = mock(Robot.class);
+	TU.schedule(robot, 1);
+	assertEquals(TU.advance(), Arrays.asList(robot));
+    }
+
+    /**
+     * Robots can't be due now or in the past
+     */
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void noDelay() {
+	TU.schedule(mock(Robot.class), 0);
+    }
+}
@@ -5,10 +5,18 @@ import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertTrue;
 
 import java.awt.Point;
+import java.util.Arrays;
+import java.util.EventObject;
+import java.util.Random;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.hamcrest.Description;
 import org.junit.internal.matchers.TypeSafeMatcher;
@@ -19,12 +27,15 @@ import com.github.thehilikus.events.event_manager.api.EventDispatcher;
 import com.github.thehilikus.jrobocom.GameSettings;
 import com.github.thehilikus.jrobocom.GameTracker;
 import com.github.thehilikus.jrobocom.Player;
+import com.github.thehilikus.jrobocom.events.LeaderChangedEvent;
 import com.github.thehilikus.jrobocom.events.ResultEvent;
 import com.github.thehilikus.jrobocom.events.ResultEvent.Result;
 import com.github.thehilikus.jrobocom.events.RobotAddedEvent;
 import com.github.thehilikus.jrobocom.events.RobotRemovedEvent;
 import com.github.thehilikus.jrobocom.events.TickEvent;
+import com.github.thehilikus.jrobocom.player.Bank;
 import com.github.thehilikus.jrobocom.robot.Robot;
+import com.github.thehilikus.jrobocom.timing.Delayer;
 import com.github.thehilikus.jrobocom.timing.api.Clock;
 
 /**
@@ -139,13 +150,140 @@ public class GameTrackerTest extends AbstractTest {
 	verify(dispatcher).fireEvent(argThat(isOfType(Result.DRAW)));
     }
 
-    @SuppressWarnings("javadoc")
+    /**
+     * Verifies that a team with more robots than the others becomes the only leader
+     */
+    @Test
     public void detectNewSingleLeader() {
-	// TODO: implement
+	Player mockPlayer = mock(Player.class);
+	Robot mockRobot = mock(Robot.class);
+	when(mockRobot.getOwner()).thenReturn(mockPlayer);
+	Player mockPlayer2 = mock(Player.class);
+	Robot mockRobot2 = mock(Robot.class);
+	when(mockRobot2.getOwner()).thenReturn(mockPlayer2);
+
+	TU.getEventsReceiver().update(new RobotAddedEvent(mockRobot, new Point()));
+	verify(dispatcher).fireEvent(argThat(hasLeaders(mockPlayer)));
+
+	TU.getEventsReceiver().update(new RobotAddedEvent(mockRobot2, new Point()));
+	TU.getEventsReceiver().update(new RobotAddedEvent(mockRobot2, new Point()));
+	verify(dispatcher).fireEvent(argThat(hasLeaders(mockPlayer2)));
+
+	// the first player ties and falls behind again
+	TU.getEventsReceiver().update(new RobotAddedEvent(mockRobot, new Point()));
+	TU.getEventsReceiver().update(new RobotRemovedEvent(mockRobot, new Point()));
+	verify(dispatcher, times(2)).fireEvent(argThat(hasLeaders(mockPlayer, mockPlayer2)));
+	verify(dispatcher, times(2)).fireEvent(argThat(hasLeaders(mockPlayer2)));
+	verify(dispatcher, times(5)).fireEvent(isA(LeaderChangedEvent.class));
     }
 
-    @SuppressWarnings("javadoc")
+    /**
+     * Verifies that teams with the same number of robots share the lead
+     */
+    @Test
     public void detectNewTieForLeader() {
-	// TODO: implement
+	Player mockPlayer = mock(Player.class);
+	Robot mockRobot = mock(Robot.class);
+	when(mockRobot.getOwner()).thenReturn(mockPlayer);
+	Player mockPlayer2 = mock(Player.class);
+	Robot mockRobot2 = mock(Robot.class);
+	when(mockRobot2.getOwner()).thenReturn(mockPlayer2);
+	Player mockPlayer3 = mock(Player.class);
+	Robot mockRobot3 = mock(Robot.class);
+	when(mockRobot3.getOwner()).thenReturn(mockPlayer3);
+
+	TU.getEventsReceiver().update(new RobotAddedEvent(mockRobot, new Point()));
+	TU.getEventsReceiver().update(new RobotAddedEvent(mockRobot2, new Point()));
+	TU.getEventsReceiver().update(new RobotAddedEvent(mockRobot3, new Point()));
+	verify(dispatcher).fireEvent(argThat(hasLeaders(mockPlayer, mockPlayer2, mockPlayer3)));
+
+	TU.getEventsReceiver().update(new RobotAddedEvent(mockRobot, new Point()));
+	TU.getEventsReceiver().update(new RobotAddedEvent(mockRobot, new Point()));
+	TU.getEventsReceiver().update(new RobotAddedEvent(mockRobot2, new Point()));
+	TU.getEventsReceiver().update(new RobotAddedEvent(mockRobot3, new Point()));
+
+	// the only leader drops back to the others
+	TU.getEventsReceiver().update(new RobotRemovedEvent(mockRobot, new Point()));
+	verify(dispatcher, times(2)).fireEvent(argThat(hasLeaders(mockPlayer, mockPlayer2, mockPlayer3)));
+    }
+
+    /**
+     * Verifies that robots added and removed from many threads at once leave consistent counts
+     * 
+     * @throws Exception
+     */
+    @Test(timeOut = 10000)
+    public void concurrentUpdates() throws Exception {
+	final int TEAMS = 8;
+	final int ROBOTS = 20000;
+	final AtomicReference<LeaderChangedEvent> lastLeaders = new AtomicReference<>();
+	TU.setEventDispatcher(new EventDispatcher() {
+
+	    @Override
+	    public void fireEvent(EventObject event) {
+		if (event instanceof LeaderChangedEvent) {
+		    lastLeaders.set((LeaderChangedEvent) event);
+		}
+	    }
+	});
+	World mockWorld = mock(World.class);
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
+	Player[] players = new Player[TEAMS];
+	final Robot[] robots = new Robot[TEAMS];
+	for (int team = 0; team < TEAMS; team++) {
+	    players[team] = mock(Player.class);
+	    // real robots, so the threads don't serialize on the stubs of mocks
+	    robots[team] = new Robot(mockWorld, new Delayer(), new Bank[1], "Robot " + team, players[team]);
+	    TU.getEventsReceiver().update(new RobotAddedEvent(robots[team], new Point())); // nobody dies
+	}
+
+	final CyclicBarrier start = new CyclicBarrier(TEAMS);
+	Thread[] threads = new Thread[TEAMS];
+	for (int team = 0; team < TEAMS; team++) {
+	    final Robot robot = robots[team];
+	    threads[team] = new Thread(new Runnable() {
+
+		@Override
+		public void run() {
+		    try {
+			start.await();
+		    } catch (InterruptedException | BrokenBarrierException exc) {
+			throw new IllegalStateException(exc);
+		    }
+		    for (int count = 0; count < ROBOTS; count++) {
+			TU.getEventsReceiver().update(new RobotAddedEvent(robot, new Point()));
+		    }
+		    for (int count = 0; count < ROBOTS; count++) {
+			TU.getEventsReceiver().update(new RobotRemovedEvent(robot, new Point()));
+		    }
+		}
+	    });
+	    threads[team].start();
+	}
+	for (Thread thread : threads) {
+	    thread.join();
+	}
+
+	// every team is back to one robot
+	TU.getEventsReceiver().update(new RobotAddedEvent(robots[0], new Point()));
+	assertTrue(hasLeaders(players[0]).matches(lastLeaders.get()), "Wrong single leader");
+	TU.getEventsReceiver().update(new RobotRemovedEvent(robots[0], new Point()));
+	assertTrue(hasLeaders(players).matches(lastLeaders.get()), "Teams with the same count are not tied");
+    }
+
+    private static TypeSafeMatcher<LeaderChangedEvent> hasLeaders(final Player... expected) {
+	return new TypeSafeMatcher<LeaderChangedEvent>() {
+
+	    @Override
+	    public void describeTo(Description description) {
+		description.appendText("Check leaders are " + Arrays.toString(expected));
+	    }
+
+	    @Override
+	    public boolean matchesSafely(LeaderChangedEvent event) {
+		return event.getLeaders().size() == expected.length
+			&& event.getLeaders().containsAll(Arrays.asList(expected));
+	    }
+	};
     }
 }
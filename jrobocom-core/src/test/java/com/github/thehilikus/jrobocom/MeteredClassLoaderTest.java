@@ -0,0 +1,191 @@
+package com.github.thehilikus.jrobocom;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.github.thehilikus.jrobocom.robot.TurnMeter;
+
+/**
+ * Tests for {@link MeteredClassLoader}
+ *
+ * @author hilikus
+ */
+public class MeteredClassLoaderTest extends AbstractTest {
+
+    private byte[] metered;
+
+    /**
+     *
+     */
+    public MeteredClassLoaderTest() {
+	super(MeteredClassLoader.class);
+    }
+
+    /**
+     * Code like a player's
+     */
+    public static class Looper {
+	/**
+	 * @param count the number of iterations
+	 * @return the sum of the numbers below count
+	 */
+	public static int spin(int count) {
+	    int sum = 0;
+	    for (int i = 0; i < count; i++) {
+		sum += i;
+	    }
+	    return sum;
+	}
+
+	/**
+	 * @return a constant
+	 */
+	public static int straight() {
+	    return 42;
+	}
+    }
+
+    private static final String SWITCHER = "com.github.thehilikus.jrobocom.Switcher";
+
+    private static class Definer extends ClassLoader {
+	private Class<?> define(String name, byte[] code) {
+	    return defineClass(name, code, 0, code.length);
+	}
+    }
+
+    /**
+     * Instruments the test class
+     *
+     * @throws IOException
+     */
+    @BeforeMethod
+    public void setUpTU() throws IOException {
+	try (InputStream stream = Looper.class.getResourceAsStream("MeteredClassLoaderTest$Looper.class")) {
+	    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+	    byte[] buffer = new byte[1024];
+	    int read;
+	    while ((read = stream.read(buffer)) != -1) {
+		bytes.write(buffer, 0, read);
+	    }
+	    metered = MeteredClassLoader.instrument(bytes.toByteArray());
+	}
+    }
+
+    /**
+     * Methods step on entry and loops on every iteration
+     */
+    @Test
+    public void meterCalls() {
+	Map<String, Integer> steps = countSteps(metered);
+
+	assertEquals(steps.get("straight").intValue(), 1, "Entry not metered");
+	assertEquals(steps.get("spin").intValue(), 2, "Loop not metered");
+    }
+
+    /**
+     * Instrumented code passes verification and behaves as the original outside robots
+     *
+     * @throws Exception
+     */
+    @Test
+    public void runMetered() throws Exception {
+	Class<?> meteredLooper = new Definer().define(Looper.class.getName(), metered);
+	Method spin = meteredLooper.getMethod("spin", int.class);
+	assertEquals(spin.invoke(null, 100), Looper.spin(100));
+    }
+
+    /**
+     * Switches that go back to code already run are metered like loops, whichever their target
+     *
+     * @throws Exception
+     */
+    @Test
+    public void meterSwitches() throws Exception {
+	byte[] switches = MeteredClassLoader.instrument(createSwitcher());
+	Map<String, Integer> steps = countSteps(switches);
+	assertEquals(steps.get("tableLoop").intValue(), 2, "Table switch not metered");
+	assertEquals(steps.get("lookupLoop").intValue(), 2, "Lookup switch not metered");
+
+	Class<?> switcher = new Definer().define(SWITCHER, switches);
+	switcher.getMethod("tableLoop", int.class).invoke(null, 5);
+	switcher.getMethod("lookupLoop", int.class).invoke(null, 5);
+    }
+
+    /**
+     * Classes that can't be read are not loaded unmetered
+     */
+    @Test(expectedExceptions = ClassFormatError.class)
+    public void unreadableClass() {
+	MeteredClassLoader.instrument(new byte[] { (byte) 0xCA, (byte) 0xFE, 1, 2 });
+    }
+
+    /**
+     * @return a class whose methods loop while their argument counts down to 0, going back through
+     *         the default target of a switch
+     */
+    private static byte[] createSwitcher() {
+	ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+	writer.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC, SWITCHER.replace('.', '/'), null, "java/lang/Object", null);
+	for (String name : new String[] { "tableLoop", "lookupLoop" }) {
+	    MethodVisitor method = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, name, "(I)V", null,
+		    null);
+	    method.visitCode();
+	    Label top = new Label();
+	    Label end = new Label();
+	    method.visitLabel(top);
+	    method.visitVarInsn(Opcodes.ILOAD, 0);
+	    method.visitIincInsn(0, -1);
+	    if (name.equals("tableLoop")) {
+		method.visitTableSwitchInsn(0, 0, top, end);
+	    } else {
+		method.visitLookupSwitchInsn(top, new int[] { 0 }, new Label[] { end });
+	    }
+	    method.visitLabel(end);
+	    method.visitInsn(Opcodes.RETURN);
+	    method.visitMaxs(0, 0);
+	    method.visitEnd();
+	}
+	writer.visitEnd();
+	return writer.toByteArray();
+    }
+
+    private static Map<String, Integer> countSteps(byte[] code) {
+	final Map<String, Integer> steps = new HashMap<>();
+	final String meter = Type.getInternalName(TurnMeter.class);
+	new ClassReader(code).accept(new ClassVisitor(Opcodes.ASM9) {
+
+	    @Override
+	    public MethodVisitor visitMethod(int access, final String name, String desc, String signature,
+		    String[] exceptions) {
+		steps.put(name, 0);
+		return new MethodVisitor(Opcodes.ASM9) {
+
+		    @Override
+		    public void visitMethodInsn(int opcode, String owner, String calledName, String calledDesc,
+			    boolean isInterface) {
+			if (owner.equals(meter)) {
+			    steps.put(name, steps.get(name) + 1);
+			}
+		    }
+		};
+	    }
+	}, 0);
+	return steps;
+    }
+}
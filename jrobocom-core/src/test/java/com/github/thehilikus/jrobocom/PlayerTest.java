@@ -1,11 +1,15 @@
 package com.github.thehilikus.jrobocom;
 
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -13,10 +17,19 @@ import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.SkipException;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -158,6 +171,18 @@ public class PlayerTest extends AbstractTest {
 	simulatePropertiesFile("Banks=someBank");
     }
 
+    /**
+     * Tests loading a bank whose code can't be metered
+     * 
+     * @throws ClassNotFoundException
+     * @throws PlayerException
+     */
+    @Test(expectedExceptions = PlayerException.class)
+    public void constructBankNotMetered() throws ClassNotFoundException, PlayerException {
+	when(loader.loadClass("someBank")).thenThrow(new ClassFormatError("Expected by the test"));
+	simulatePropertiesFile("Banks=someBank");
+    }
+
     /**
      * Tests building a good player with dummy banks
      * 
@@ -178,6 +203,50 @@ public class PlayerTest extends AbstractTest {
 	assertEquals(TU.getCode()[0].getClass(), DummyBank.class);
     }
 
+    /**
+     * Tests that players loaded together never share a team ID
+     * 
+     * @throws ClassNotFoundException
+     * @throws PlayerException
+     */
+    @Test(dependsOnMethods = "constructGoodBanks")
+    public void uniqueTeamIds() throws ClassNotFoundException, PlayerException {
+	doReturn(DummyBank.class).when(loader).loadClass("DummyBank");
+	List<Player> players = new ArrayList<>();
+	Set<Integer> ids = new HashSet<>();
+	for (int count = 0; count < 100; count++) {
+	    simulatePropertiesFile("Banks=DummyBank");
+	    players.add(TU);
+	    assertTrue(ids.add(TU.getTeamId()), "Team ID " + TU.getTeamId() + " given twice");
+	}
+	for (Player player : players) {
+	    player.clean();
+	}
+    }
+
+    /**
+     * Tests that players that fail to load don't keep their team ID
+     * 
+     * @throws ClassNotFoundException
+     * @throws PlayerException
+     */
+    @Test(dependsOnMethods = "constructGoodBanks")
+    public void failedLoadsReleaseTeamIds() throws ClassNotFoundException, PlayerException {
+	when(loader.loadClass("someBank")).thenThrow(new ClassFormatError("Expected by the test"));
+	for (int count = 0; count < 1500; count++) { // more than there are IDs
+	    try {
+		simulatePropertiesFile("Banks=someBank");
+		fail("Player with invalid code was loaded");
+	    } catch (PlayerException exc) {
+		// expected
+	    }
+	}
+
+	doReturn(DummyBank.class).when(loader).loadClass("DummyBank");
+	simulatePropertiesFile("Banks=DummyBank");
+	TU.clean();
+    }
+
     /**
      * Tests loading players from paths that don't have anything
      * 
@@ -202,6 +271,114 @@ public class PlayerTest extends AbstractTest {
 	verify(mockData).setActiveState(Player.DEFAULT_START_STATE);
     }
 
+    /**
+     * Tests that robots started in platform threads run in the team's thread group
+     * 
+     * @throws Exception
+     */
+    @Test(dependsOnMethods = "constructGoodBanks", timeOut = 2000)
+    public void launchRobotPlatformThread() throws Exception {
+	launchAndCapture(ExecutionMode.PLATFORM_THREADS);
+	assertTrue(Player.PLAYERS_GROUP.parentOf(robotGroup), "Robot not running in the players' group");
+    }
+
+    /**
+     * Tests that robots started in virtual threads get the robot's name
+     * 
+     * @throws Exception
+     */
+    @Test(dependsOnMethods = "constructGoodBanks", timeOut = 2000)
+    public void launchRobotVirtualThread() throws Exception {
+	if (!ExecutionMode.VIRTUAL_THREADS.isSupported()) {
+	    throw new SkipException("Virtual threads not supported in this JVM");
+	}
+	Thread robotThread = launchAndCapture(ExecutionMode.VIRTUAL_THREADS);
+	assertEquals(robotThread.getName(), "Bot-0", "Wrong thread name");
+    }
+
+    /**
+     * Tests that robots started in pooled threads run in the team's thread group under their own
+     * name and that the threads get their name back when the robot ends
+     *
+     * @throws Exception
+     */
+    @Test(dependsOnMethods = "constructGoodBanks", timeOut = 2000)
+    public void launchRobotPooledThread() throws Exception {
+	doReturn(DummyBank.class).when(loader).loadClass("DummyBank");
+	simulatePropertiesFile("Banks=DummyBank");
+	TU.setExecutionMode(ExecutionMode.POOLED_THREADS);
+	ExecutorService pool = TU.createRobotsPool(0, true, Thread.MAX_PRIORITY);
+	try {
+	    Thread robotThread = captureLaunch();
+	    assertTrue(Player.PLAYERS_GROUP.parentOf(robotGroup), "Robot not running in the players' group");
+	    assertEquals(robotName, "Bot-0", "Wrong thread name");
+
+	    pool.shutdown();
+	    assertTrue(pool.awaitTermination(1, TimeUnit.SECONDS), "Pooled thread didn't end");
+	    assertFalse(robotThread.getName().startsWith("Bot-"), "Worker kept the name of the robot");
+	} finally {
+	    pool.shutdownNow();
+	}
+    }
+
+    /**
+     * Tests that pooled robots aren't started without the pool of their team
+     * 
+     * @throws Exception
+     */
+    @Test(dependsOnMethods = "constructGoodBanks", expectedExceptions = IllegalStateException.class)
+    public void launchRobotWithoutPool() throws Exception {
+	doReturn(DummyBank.class).when(loader).loadClass("DummyBank");
+	simulatePropertiesFile("Banks=DummyBank");
+	TU.setExecutionMode(ExecutionMode.POOLED_THREADS);
+	TU.launchRobot(mock(Robot.class));
+    }
+
+    /**
+     * Tests choosing virtual threads in a JVM that doesn't support them
+     * 
+     * @throws Exception
+     */
+    @Test(dependsOnMethods = "constructGoodBanks", expectedExceptions = UnsupportedOperationException.class)
+    public void virtualThreadsUnsupported() throws Exception {
+	if (ExecutionMode.VIRTUAL_THREADS.isSupported()) {
+	    throw new SkipException("Virtual threads are supported in this JVM");
+	}
+	doReturn(DummyBank.class).when(loader).loadClass("DummyBank");
+	simulatePropertiesFile("Banks=DummyBank");
+	TU.setExecutionMode(ExecutionMode.VIRTUAL_THREADS);
+    }
+
+    private volatile ThreadGroup robotGroup;
+
+    private volatile String robotName;
+
+    private Thread launchAndCapture(ExecutionMode mode) throws Exception {
+	doReturn(DummyBank.class).when(loader).loadClass("DummyBank");
+	simulatePropertiesFile("Banks=DummyBank");
+	TU.setExecutionMode(mode);
+	return captureLaunch();
+    }
+
+    private Thread captureLaunch() throws Exception {
+	final BlockingQueue<Thread> robotThreads = new ArrayBlockingQueue<>(1);
+	Robot mockRobot = mock(Robot.class);
+	doAnswer(new Answer<Void>() {
+
+	    @Override
+	    public Void answer(InvocationOnMock invocation) throws Throwable {
+		robotGroup = Thread.currentThread().getThreadGroup();
+		robotName = Thread.currentThread().getName();
+		robotThreads.add(Thread.currentThread());
+		return null;
+	    }
+	}).when(mockRobot).run();
+
+	TU.launchRobot(mockRobot);
+
+	return robotThreads.take();
+    }
+
     /**
      * Tests cleaning the Player
      * 
@@ -0,0 +1,80 @@
+package com.github.thehilikus.jrobocom;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link RobotThreadFactory}
+ *
+ * @author hilikus
+ */
+public class RobotThreadFactoryTest extends AbstractTest {
+
+    private RobotThreadFactory TU;
+
+    private ThreadGroup group;
+
+    /**
+     *
+     */
+    public RobotThreadFactoryTest() {
+	super(RobotThreadFactory.class);
+    }
+
+    /**
+     * Configures each test
+     */
+    @BeforeMethod
+    public void setUpTU() {
+	group = new ThreadGroup(Player.PLAYERS_GROUP, "Factory test Threads");
+	group.setMaxPriority(3);
+	TU = new RobotThreadFactory(group, 256 * 1024, true, Thread.MAX_PRIORITY);
+    }
+
+    /**
+     * Threads are created in the team's group with the configured flags
+     */
+    @Test
+    public void newThread() {
+	Thread worker = TU.newThread(new Runnable() {
+
+	    @Override
+	    public void run() {
+		// nothing to do
+	    }
+	});
+
+	assertSame(worker.getThreadGroup(), group, "Thread outside the team's group");
+	assertTrue(worker.isDaemon(), "Thread should be a daemon");
+	assertEquals(worker.getPriority(), 3, "Group's priority limit ignored");
+    }
+
+    /**
+     * A ceiling lower than the group's is used as is
+     */
+    @Test
+    public void lowerPriority() {
+	TU = new RobotThreadFactory(group, 0, false, Thread.MIN_PRIORITY);
+	assertEquals(TU.getPriority(), Thread.MIN_PRIORITY);
+    }
+
+    /**
+     * Priorities outside the valid range are rejected
+     */
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void invalidPriority() {
+	new RobotThreadFactory(group, 0, false, Thread.MAX_PRIORITY + 1);
+    }
+
+    /**
+     * Stack sizes can't be negative
+     */
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void negativeStack() {
+	new RobotThreadFactory(group, -1, false, Thread.NORM_PRIORITY);
+    }
+}
@@ -6,23 +6,27 @@ import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 import java.awt.Point;
 import java.util.Random;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
 
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.junit.internal.matchers.TypeSafeMatcher;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
-import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -71,14 +75,6 @@ public class WorldTest extends AbstractTest {
 
     }
 
-    /**
-     * cleans testing resources
-     */
-    @AfterMethod
-    public void bringDown() {
-	World.setRandGenerator(new Random()); // reset it in case one of the tests changed it
-    }
-
     private static Robot createRobotMockup(int teamId, int serialNumber) {
 	Robot mockRobot = mock(Robot.class);
 	RobotStatusLocal mockStatus = mock(RobotStatusLocal.class);
@@ -111,7 +107,7 @@ public class WorldTest extends AbstractTest {
     @Test
     public void addOccupied() {
 	Random rand = mock(Random.class);
-	World.setRandGenerator(rand);
+	TU.setRandGenerator(rand);
 	int x = 5;
 	int y = 8;
 	when(rand.nextInt(anyInt())).thenReturn(x).thenReturn(y).thenReturn(x + 1).thenReturn(y);
@@ -170,7 +166,7 @@ public class WorldTest extends AbstractTest {
 	Robot mock2 = createRobotMockup(3110, 5);
 
 	Random rand = mock(Random.class);
-	World.setRandGenerator(rand);
+	TU.setRandGenerator(rand);
 
 	int x = 5;
 	int y = 8;
@@ -270,6 +266,49 @@ public class WorldTest extends AbstractTest {
 	assertEquals(TU.getBotsCount(1, true), 3);
     }
 
+    /**
+     * Checks the counts stay consistent while robots of many teams are added and removed
+     * 
+     * @throws InterruptedException if interrupted while waiting for the robots
+     */
+    @Test(timeOut = 10000)
+    public void getBotsCountConcurrent() throws InterruptedException {
+	final int teams = 8;
+	final int rounds = 500;
+	Thread[] threads = new Thread[teams];
+	for (int team = 0; team < teams; team++) {
+	    final Robot mockRobot = createRobotMockup(team, team);
+	    threads[team] = new Thread(new Runnable() {
+
+		@Override
+		public void run() {
+		    for (int round = 0; round < rounds; round++) {
+			TU.addFirst(mockRobot);
+			TU.remove(mockRobot);
+		    }
+		    TU.addFirst(mockRobot);
+		}
+	    });
+	    threads[team].start();
+	}
+
+	boolean running = true;
+	while (running) {
+	    int others = TU.getBotsCount(0, true);
+	    assertTrue(others >= 0 && others < teams, "Inconsistent count: " + others);
+	    running = false;
+	    for (Thread thread : threads) {
+		running |= thread.isAlive();
+	    }
+	}
+	for (Thread thread : threads) {
+	    thread.join();
+	}
+
+	assertEquals(TU.getBotsCount(0, false), 1);
+	assertEquals(TU.getBotsCount(0, true), teams - 1);
+    }
+
     /**
      * Checks removing an existing robot
      */
@@ -326,6 +365,87 @@ public class WorldTest extends AbstractTest {
 
     }
 
+    /**
+     * Checks scanning in one pass stops at the first robot
+     */
+    @Test(dependsOnMethods = { "addFirst" })
+    public void scanAhead() {
+	Robot mockRobot = createRobotMockup(311, 0);
+	TU.addFirst(mockRobot);
+
+	int size = GameSettings.getInstance().BOARD_SIZE;
+	ScanResult res = TU.scanAhead(mockRobot, size - 1);
+	assertEquals(res.getDistance(), size - 1, "Distance in result");
+	assertEquals(res.getResult(), Found.EMPTY, "Result should be empty");
+
+	Robot mockChild = createRobotMockup(312, 1);
+	when(mockChild.getData().getGeneration()).thenReturn(1);
+	TU.add(mockRobot, mockChild);
+
+	res = TU.scanAhead(mockRobot, size - 1);
+	assertEquals(res.getDistance(), 1, "Distance in result");
+	assertEquals(res.getResult(), Found.ENEMY, "Result should be the child");
+	assertSame(TU.scanAhead(mockRobot, size + 5), res, "Results are shared");
+    }
+
+    /**
+     * Worlds can have their own board size
+     */
+    @Test
+    public void largeBoard() {
+	int size = 512;
+	TU = new World(new MasterClock(mock(Delayer.class)), new Delayer(), new GameSettings(size, 1000, 1000));
+	TU.setEventDispatcher(dispatcher);
+	Random rand = mock(Random.class);
+	TU.setRandGenerator(rand);
+	when(rand.nextInt(size)).thenReturn(size - 1).thenReturn(300);
+
+	Robot mockRobot = createRobotMockup(311, 0);
+	TU.addFirst(mockRobot);
+	verify(dispatcher).fireEvent(argThat(isAddedAt(new Point(size - 1, 300))));
+
+	ScanResult res = TU.scanAhead(mockRobot, size - 1);
+	assertEquals(res.getDistance(), size - 1, "Distance in result");
+	assertEquals(res.getResult(), Found.EMPTY, "Result should be empty");
+
+	Robot mockChild = createRobotMockup(312, 1);
+	when(mockChild.getData().getGeneration()).thenReturn(1);
+	assertTrue(TU.add(mockRobot, mockChild), "Child added in the wrapped field");
+	verify(dispatcher).fireEvent(argThat(isAddedAt(new Point(0, 300))));
+	assertEquals(TU.scanAhead(mockRobot, size - 1).getDistance(), 1, "Child is right in front");
+    }
+
+    /**
+     * Players read the settings of their own world
+     */
+    @Test
+    public void playerSettings() {
+	TU = new World(new MasterClock(mock(Delayer.class)), new Delayer(), new GameSettings(40, 50, 1000));
+
+	assertEquals(TU.getPlayerSettings().FIELDS, 40, "Board size");
+	assertEquals(TU.getPlayerSettings().MAX_AGE, 50, "Robot age");
+	assertEquals(TU.getPlayerSettings().MAX_WORLD_AGE, 1000, "World age");
+    }
+
+    /**
+     * Boards need at least two fields per side
+     */
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void boardTooSmall() {
+	new GameSettings(1, 1000, 1000);
+    }
+
+    /**
+     * Scanning further than the board with nothing in front is not allowed
+     */
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void scanAheadTooFar() {
+	Robot mockRobot = createRobotMockup(311, 0);
+	TU.addFirst(mockRobot);
+
+	TU.scanAhead(mockRobot, GameSettings.getInstance().BOARD_SIZE);
+    }
+
     /**
      * Tests a normal move of one field
      */
@@ -338,7 +458,7 @@ public class WorldTest extends AbstractTest {
 
 	Random rand = mock(Random.class);
 
-	World.setRandGenerator(rand);
+	TU.setRandGenerator(rand);
 
 	int x = 5;
 	int y = 0;
@@ -406,7 +526,7 @@ public class WorldTest extends AbstractTest {
 
 	Random rand = mock(Random.class);
 
-	World.setRandGenerator(rand);
+	TU.setRandGenerator(rand);
 
 	int x = 5;
 	int y = 8;
@@ -424,6 +544,116 @@ public class WorldTest extends AbstractTest {
 	assertEquals(mockRobot2, TU.getNeighbour(mockRobot), "Check neighbour is detected");
     }
 
+    /**
+     * Checks that moving into an occupied field leaves both robots where they were
+     */
+    @Test(dependsOnMethods = { "getNeighbour" })
+    public void moveOccupied() {
+	Robot mockRobot = createRobotMockup(311, 0);
+	when(mockRobot.getData().isMobile()).thenReturn(true);
+
+	Random rand = mock(Random.class);
+	TU.setRandGenerator(rand);
+	int x = 5;
+	int y = 8;
+	when(rand.nextInt(anyInt())).thenReturn(x).thenReturn(y).thenReturn(x + 1).thenReturn(y);
+
+	TU.addFirst(mockRobot);
+	Robot mockRobot2 = createRobotMockup(312, 1);
+	TU.addFirst(mockRobot2);
+
+	TU.move(mockRobot);
+
+	verify(dispatcher, never()).fireEvent(isA(RobotMovedEvent.class));
+	assertEquals(TU.getNeighbour(mockRobot), mockRobot2, "Robot moved into an occupied field");
+    }
+
+    /**
+     * Checks that only one of two robots moving into the same free field at the same time gets it
+     *
+     * @throws InterruptedException if interrupted while waiting for the robots
+     */
+    @Test(dependsOnMethods = { "moveOccupied" }, timeOut = 10000)
+    public void moveConcurrent() throws InterruptedException {
+	final int rounds = 200;
+	Random rand = mock(Random.class);
+	TU.setRandGenerator(rand);
+	int x = 5;
+	int y = 8;
+
+	for (int round = 0; round < rounds; round++) {
+	    final Robot east = createRobotMockup(311, 0);
+	    when(east.getData().isMobile()).thenReturn(true);
+	    final Robot west = createRobotMockup(312, 1);
+	    when(west.getData().isMobile()).thenReturn(true);
+	    when(west.getData().getFacing()).thenReturn(Direction.WEST);
+	    when(rand.nextInt(anyInt())).thenReturn(x).thenReturn(y).thenReturn(x + 2).thenReturn(y);
+	    TU.addFirst(east);
+	    TU.addFirst(west);
+
+	    final CyclicBarrier start = new CyclicBarrier(2);
+	    Thread[] threads = new Thread[2];
+	    int index = 0;
+	    for (final Robot robot : new Robot[] { east, west }) {
+		threads[index] = new Thread(new Runnable() {
+
+		    @Override
+		    public void run() {
+			try {
+			    start.await();
+			} catch (InterruptedException | BrokenBarrierException exc) {
+			    return;
+			}
+			TU.move(robot);
+		    }
+		});
+		threads[index++].start();
+	    }
+	    for (Thread thread : threads) {
+		thread.join();
+	    }
+
+	    assertEquals(TU.getNeighbour(east), west, "Robots should be next to each other");
+	    assertEquals(TU.getNeighbour(west), east, "Robots should be next to each other");
+	    TU.remove(east);
+	    TU.remove(west);
+	}
+	verify(dispatcher, times(rounds)).fireEvent(isA(RobotMovedEvent.class));
+	assertEquals(TU.getBotsCount(311, true), 0, "Robots left in the board");
+    }
+
+    /**
+     * Checks that the fields left behind by moved and removed robots become free again
+     */
+    @Test(dependsOnMethods = { "getNeighbour", "moveNormal" })
+    public void fieldsReleased() {
+	Robot mockRobot = createRobotMockup(311, 0);
+	when(mockRobot.getData().isMobile()).thenReturn(true);
+
+	Random rand = mock(Random.class);
+	TU.setRandGenerator(rand);
+	int x = 5;
+	int y = 8;
+	when(rand.nextInt(anyInt())).thenReturn(x).thenReturn(y).thenReturn(x + 2).thenReturn(y);
+
+	TU.addFirst(mockRobot);
+	Robot mockRobot2 = createRobotMockup(312, 1);
+	TU.addFirst(mockRobot2);
+	assertNull(TU.getNeighbour(mockRobot), "Field in front should be empty");
+
+	TU.move(mockRobot);
+	assertEquals(TU.getNeighbour(mockRobot), mockRobot2, "Neighbour not found after move");
+
+	TU.remove(mockRobot2);
+	assertNull(TU.getNeighbour(mockRobot), "Removed robot still occupies its field");
+	assertEquals(TU.scan(mockRobot, 1).getResult(), Found.EMPTY, "Removed robot still found by scan");
+
+	Robot mockRobotChild = createRobotMockup(311, 2);
+	when(mockRobotChild.getData().getGeneration()).thenReturn(1);
+	assertTrue(TU.add(mockRobot, mockRobotChild), "Could not add into released field");
+	assertEquals(TU.scan(mockRobot, 1).getResult(), Found.FRIEND, "New robot not found by scan");
+    }
+
     /**
      * Checks the effects of ticking the clock on robots
      */
@@ -442,6 +672,28 @@ public class WorldTest extends AbstractTest {
 
     }
 
+    /**
+     * Checks that robots are checked again when they were still young and die in the first tick
+     * they are too old
+     */
+    @Test
+    public void detectAgingRobots() {
+	TU = new World(new MasterClock(mock(Delayer.class)), new Delayer(), new GameSettings(18, 10, 1000));
+	TU.setEventDispatcher(dispatcher);
+	Robot mockRobot = createRobotMockup(311, 0);
+	// 5 turns at creation, 8 when first checked in tick 6 and then too old
+	when(mockRobot.getData().getAge()).thenReturn(5).thenReturn(8).thenReturn(11);
+	TU.addFirst(mockRobot);
+
+	TickEvent tick = new TickEvent(mock(Clock.class), 1);
+	for (int cycle = 1; cycle < 9; cycle++) {
+	    TU.update(tick);
+	}
+	verify(mockRobot, never()).die(anyString());
+	TU.update(tick);
+	verify(mockRobot).die(anyString());
+    }
+
     /**
      * Tests the cleanup procedure
      */
@@ -0,0 +1,303 @@
+package com.github.thehilikus.jrobocom.events;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EventObject;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.github.thehilikus.events.event_manager.api.EventDispatcher;
+import com.github.thehilikus.jrobocom.AbstractTest;
+import com.github.thehilikus.jrobocom.robot.Robot;
+import com.github.thehilikus.jrobocom.timing.api.Clock;
+
+/**
+ * Tests for {@link EventPipeline}
+ *
+ * @author hilikus
+ */
+@Test(timeOut = 2000)
+public class EventPipelineTest extends AbstractTest {
+
+    private EventPipeline TU;
+
+    /**
+     *
+     */
+    public EventPipelineTest() {
+	super(EventPipeline.class);
+    }
+
+    /**
+     * Configures each test
+     */
+    @BeforeMethod
+    public void setUpTU() {
+	TU = new EventPipeline(4);
+	TU.start();
+    }
+
+    /**
+     * Stops the delivery thread
+     */
+    @AfterMethod
+    public void tearDownTU() {
+	TU.clean();
+    }
+
+    /**
+     * Synchronous listeners get the event right away, the rest only when the batch ends
+     *
+     * @throws InterruptedException if interrupted while waiting for the delivery
+     */
+    public void synchronousFirst() throws InterruptedException {
+	EventDispatcher sync = mock(EventDispatcher.class);
+	Recorder async = new Recorder(1);
+	EventDispatcher dispatcher = TU.newDispatcher(sync, async);
+
+	EventObject event = new EventObject(this);
+	dispatcher.fireEvent(event);
+	verify(sync).fireEvent(event);
+
+	TU.update(new TickEvent(mock(Clock.class), 1));
+	assertTrue(async.await());
+	assertEquals(async.received, Collections.singletonList(event));
+    }
+
+    /**
+     * Events are delivered in the order they were fired, also when the ring had to be emptied to
+     * make room
+     */
+    public void deliverInOrder() {
+	Recorder async = new Recorder(10);
+	EventDispatcher dispatcher = TU.newDispatcher(mock(EventDispatcher.class), async);
+
+	List<EventObject> fired = new ArrayList<>();
+	for (int i = 0; i < 10; i++) {
+	    EventObject event = new EventObject(Integer.valueOf(i));
+	    fired.add(event);
+	    dispatcher.fireEvent(event);
+	}
+	TU.clean();
+
+	assertEquals(async.received, fired);
+    }
+
+    /**
+     * Repeated changes of a robot in the same batch are delivered once
+     */
+    public void coalesceChanges() {
+	EventPipeline notStarted = new EventPipeline(4); // keeps all the events in one batch
+	Recorder async = new Recorder(2);
+	EventDispatcher dispatcher = notStarted.newDispatcher(mock(EventDispatcher.class), async);
+	Robot robot = mock(Robot.class);
+	Robot other = mock(Robot.class);
+
+	RobotChangedEvent first = new RobotChangedEvent(robot);
+	RobotChangedEvent otherChange = new RobotChangedEvent(other);
+	dispatcher.fireEvent(first);
+	dispatcher.fireEvent(otherChange);
+	dispatcher.fireEvent(new RobotChangedEvent(robot));
+	notStarted.start();
+	notStarted.clean();
+
+	List<EventObject> expected = new ArrayList<>();
+	expected.add(first);
+	expected.add(otherChange);
+	assertEquals(async.received, expected);
+    }
+
+    /**
+     * Events fired after cleaning don't wait for a deliverer
+     */
+    public void deliverDirectlyWhenStopped() {
+	EventDispatcher async = mock(EventDispatcher.class);
+	EventDispatcher dispatcher = TU.newDispatcher(mock(EventDispatcher.class), async);
+	TU.clean();
+
+	EventObject event = new EventObject(this);
+	dispatcher.fireEvent(event);
+	verify(async).fireEvent(event);
+    }
+
+    /**
+     * A failing listener doesn't stop the delivery of later events
+     */
+    public void survivesFailingListener() {
+	EventDispatcher failing = new EventDispatcher() {
+	    @Override
+	    public void fireEvent(EventObject event) {
+		throw new IllegalStateException("Expected by the test");
+	    }
+	};
+	Recorder async = new Recorder(1);
+	TU.newDispatcher(mock(EventDispatcher.class), failing).fireEvent(new EventObject(this));
+	EventObject event = new EventObject(this);
+	TU.newDispatcher(mock(EventDispatcher.class), async).fireEvent(event);
+	TU.clean();
+
+	assertEquals(async.received, Collections.singletonList(event));
+    }
+
+    /**
+     * A robot firing into a full ring waits without spinning until the deliverer makes room
+     *
+     * @throws InterruptedException if interrupted while waiting for the robot
+     */
+    public void waitForRoom() throws InterruptedException {
+	final CountDownLatch unblock = new CountDownLatch(1);
+	final Recorder async = new Recorder(10) {
+	    @Override
+	    public void fireEvent(EventObject event) {
+		try {
+		    unblock.await();
+		} catch (InterruptedException exc) {
+		    Thread.currentThread().interrupt();
+		}
+		super.fireEvent(event);
+	    }
+	};
+	final EventDispatcher dispatcher = TU.newDispatcher(mock(EventDispatcher.class), async);
+	final List<EventObject> fired = new ArrayList<>();
+	for (int i = 0; i < 10; i++) {
+	    fired.add(new EventObject(Integer.valueOf(i)));
+	}
+	Thread robot = new Thread(new Runnable() {
+
+	    @Override
+	    public void run() {
+		for (EventObject event : fired) {
+		    dispatcher.fireEvent(event);
+		}
+	    }
+	});
+	robot.start();
+
+	while (robot.getState() != Thread.State.WAITING) {
+	    assertTrue(robot.isAlive(), "Robot didn't wait for the full ring");
+	    Thread.sleep(10);
+	}
+	unblock.countDown();
+	robot.join();
+
+	assertTrue(async.await());
+	assertEquals(async.received, fired);
+    }
+
+    /**
+     * A listener firing events into a full ring doesn't block the deliverer
+     */
+    public void listenerFiresIntoFullRing() {
+	final Recorder async = new Recorder(0);
+	final EventDispatcher[] dispatcher = new EventDispatcher[1];
+	EventDispatcher firing = new EventDispatcher() {
+	    @Override
+	    public void fireEvent(EventObject event) {
+		if (event.getSource() == EventPipelineTest.this) {
+		    for (int i = 0; i < 10; i++) {
+			dispatcher[0].fireEvent(new EventObject(Integer.valueOf(i)));
+		    }
+		}
+		async.fireEvent(event);
+	    }
+	};
+	dispatcher[0] = TU.newDispatcher(mock(EventDispatcher.class), firing);
+	dispatcher[0].fireEvent(new EventObject(this));
+	TU.clean();
+
+	assertEquals(async.received.size(), 11);
+    }
+
+    /**
+     * Events fired while the pipeline stops are all delivered by the time their robots finish
+     *
+     * @throws InterruptedException if interrupted while waiting for the robots
+     */
+    public void noEventLostWhenStopping() throws InterruptedException {
+	final int robots = 4;
+	final int events = 2000;
+	final Recorder async = new Recorder(0);
+	final EventDispatcher dispatcher = TU.newDispatcher(mock(EventDispatcher.class), async);
+	final CountDownLatch started = new CountDownLatch(robots);
+	List<Thread> threads = new ArrayList<>();
+	for (int i = 0; i < robots; i++) {
+	    Thread robot = new Thread(new Runnable() {
+
+		@Override
+		public void run() {
+		    started.countDown();
+		    for (int j = 0; j < events; j++) {
+			dispatcher.fireEvent(new EventObject(this));
+		    }
+		}
+	    });
+	    threads.add(robot);
+	    robot.start();
+	}
+	started.await();
+	TU.clean();
+	for (Thread robot : threads) {
+	    robot.join();
+	}
+
+	assertEquals(async.received.size(), robots * events);
+    }
+
+    /**
+     * Ring capacity has to be a power of 2
+     */
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void capacityNotPowerOfTwo() {
+	new EventPipeline(6);
+    }
+
+    /**
+     * The ring refuses events when full until the first one is removed
+     */
+    public void ringFull() {
+	EventRing ring = new EventRing(2);
+	assertEquals(ring.peekEvent(), null);
+
+	EventDispatcher target = mock(EventDispatcher.class);
+	EventObject event = new EventObject(this);
+	assertTrue(ring.offer(target, event));
+	assertTrue(ring.offer(target, event));
+	assertEquals(ring.offer(target, event), false);
+	assertEquals(ring.peekEvent(), event);
+	ring.remove();
+	assertTrue(ring.offer(target, event));
+	verify(target, never()).fireEvent(event);
+    }
+
+    private static class Recorder implements EventDispatcher {
+
+	private final List<EventObject> received = Collections.synchronizedList(new ArrayList<EventObject>());
+
+	private final CountDownLatch expected;
+
+	public Recorder(int count) {
+	    expected = new CountDownLatch(count);
+	}
+
+	@Override
+	public void fireEvent(EventObject event) {
+	    received.add(event);
+	    expected.countDown();
+	}
+
+	public boolean await() throws InterruptedException {
+	    return expected.await(1, TimeUnit.SECONDS);
+	}
+    }
+}
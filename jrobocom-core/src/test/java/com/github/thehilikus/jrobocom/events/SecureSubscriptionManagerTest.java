@@ -0,0 +1,163 @@
+package com.github.thehilikus.jrobocom.events;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.testng.Assert.assertEquals;
+
+import java.util.EventListener;
+
+import org.mockito.InOrder;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.github.thehilikus.events.event_manager.api.EventDispatcher;
+import com.github.thehilikus.events.event_manager.api.EventPublisher;
+import com.github.thehilikus.jrobocom.AbstractTest;
+import com.github.thehilikus.jrobocom.timing.api.Clock;
+import com.github.thehilikus.jrobocom.timing.api.ClockListener;
+
+/**
+ * Tests for {@link SecureSubscriptionManager}
+ *
+ * @author hilikus
+ */
+public class SecureSubscriptionManagerTest extends AbstractTest {
+
+    private SecureSubscriptionManager TU;
+
+    private EventPublisher source;
+
+    /**
+     *
+     */
+    public SecureSubscriptionManagerTest() {
+	super(SecureSubscriptionManager.class);
+    }
+
+    /**
+     * Configures each test
+     */
+    @BeforeMethod
+    public void setUpTU() {
+	TU = new SecureSubscriptionManager();
+	source = mock(EventPublisher.class);
+    }
+
+    /**
+     * Listeners get the events of their interfaces in the order they subscribed
+     */
+    @Test
+    public void deliverInSubscriptionOrder() {
+	ClockListener first = mock(ClockListener.class);
+	ClockListener second = mock(ClockListener.class);
+	TU.subscribe(source, first);
+	TU.subscribe(source, second);
+
+	TickEvent tick = new TickEvent(mock(Clock.class), 3);
+	TU.getEventDispatcher(source).fireEvent(tick);
+
+	InOrder order = inOrder(first, second);
+	order.verify(first).update(tick);
+	order.verify(second).update(tick);
+    }
+
+    /**
+     * A listener of several interfaces only gets the methods that accept the event
+     */
+    @Test
+    public void deliverToMatchingMethod() {
+	GameListener listener = mock(GameListener.class);
+	TU.subscribe(source, listener);
+
+	ResultEvent result = new ResultEvent(this, true);
+	TU.getEventDispatcher(source).fireEvent(result);
+
+	verify(listener).update(result);
+	verify(listener, never()).update(any(LeaderChangedEvent.class));
+    }
+
+    /**
+     * Update methods outside the game's interfaces are still called
+     */
+    @Test
+    public void deliverToOtherListeners() {
+	CustomListener listener = new CustomListener();
+	TU.subscribe(source, listener);
+
+	TU.getEventDispatcher(source).fireEvent(new TickEvent(mock(Clock.class), 1));
+
+	assertEquals(listener.received, 1);
+    }
+
+    /**
+     * Dispatchers obtained before subscribing see the listeners subscribed later
+     */
+    @Test
+    public void dispatcherBeforeSubscribe() {
+	EventDispatcher dispatcher = TU.getEventDispatcher(source);
+	ClockListener listener = mock(ClockListener.class);
+	TU.subscribe(source, listener);
+
+	TickEvent tick = new TickEvent(mock(Clock.class), 1);
+	dispatcher.fireEvent(tick);
+	verify(listener).update(tick);
+    }
+
+    /**
+     * Unsubscribed listeners get no more events
+     */
+    @Test
+    public void unsubscribe() {
+	ClockListener listener = mock(ClockListener.class);
+	ClockListener other = mock(ClockListener.class);
+	TU.subscribe(source, listener);
+	TU.subscribe(source, other);
+	TU.unsubscribe(source, listener);
+
+	TickEvent tick = new TickEvent(mock(Clock.class), 1);
+	TU.getEventDispatcher(source).fireEvent(tick);
+	verifyZeroInteractions(listener);
+	verify(other).update(tick);
+
+	TU.unsubscribeAll();
+	TU.getEventDispatcher(source).fireEvent(tick);
+	verify(other).update(tick);
+    }
+
+    /**
+     * Exceptions from listeners don't reach the publisher nor stop the delivery to the rest
+     */
+    @Test
+    public void listenerException() {
+	TU.subscribe(source, new CustomListener() {
+	    @Override
+	    public void update(TickEvent tick) {
+		throw new IllegalStateException("Expected by the test");
+	    }
+	});
+	ClockListener next = mock(ClockListener.class);
+	TU.subscribe(source, next);
+
+	TickEvent tick = new TickEvent(mock(Clock.class), 1);
+	TU.getEventDispatcher(source).fireEvent(tick);
+	verify(next).update(tick);
+    }
+
+    /**
+     * A listener that doesn't implement any of the game's interfaces
+     */
+    public static class CustomListener implements EventListener {
+	private int received;
+
+	/**
+	 * @param tick the event
+	 */
+	public void update(TickEvent tick) {
+	    received++;
+	}
+    }
+}
@@ -0,0 +1,134 @@
+package com.github.thehilikus.jrobocom.robot;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.github.thehilikus.jrobocom.AbstractTest;
+import com.github.thehilikus.jrobocom.exceptions.BankInterruptedException;
+import com.github.thehilikus.jrobocom.player.Bank;
+
+/**
+ * Tests for {@link BankComplexity}
+ *
+ * @author hilikus
+ */
+public class BankComplexityTest extends AbstractTest {
+
+    /**
+     *
+     */
+    public BankComplexityTest() {
+	super(BankComplexity.class);
+    }
+
+    /**
+     * A bank that gives no instructions
+     */
+    public static class IdleBank extends Bank {
+	@Override
+	public void run() throws BankInterruptedException {
+	    // does nothing
+	}
+    }
+
+    /**
+     * A bank that gives instructions directly and through helper methods
+     */
+    public static class BusyBank extends Bank {
+	@Override
+	public void run() throws BankInterruptedException {
+	    control.move();
+	    if (info.getRemoteAge() > 10) {
+		turnAround();
+	    }
+	    turnAround();
+	}
+
+	private void turnAround() {
+	    control.turn(true);
+	    control.turn(true);
+	    again();
+	}
+
+	private void again() {
+	    turnAround(); // counted once
+	}
+
+	/**
+	 * Never called by the bank
+	 */
+	public void unused() {
+	    control.die();
+	}
+    }
+
+    /**
+     * A bank that works without giving instructions
+     */
+    public static class ThinkingBank extends Bank {
+	private int total;
+
+	@Override
+	public void run() throws BankInterruptedException {
+	    for (int i = 0; i < 10; i++) {
+		total += i;
+	    }
+	}
+    }
+
+    /**
+     * A bank that overrides a helper of its parent
+     */
+    public static class QuietBank extends BusyBank {
+	@Override
+	public void unused() {
+	    control.scan();
+	}
+
+	@Override
+	public void run() throws BankInterruptedException {
+	    super.run();
+	}
+    }
+
+    /**
+     * An empty bank costs its return
+     */
+    @Test
+    public void minimum() {
+	assertEquals(BankComplexity.of(IdleBank.class), 1);
+    }
+
+    /**
+     * Only the code reachable from the bank's entry point is counted, each method once
+     */
+    @Test
+    public void reachableInstructions() {
+	assertEquals(BankComplexity.of(BusyBank.class), 27);
+    }
+
+    /**
+     * Code that gives no instructions to the robot is counted too
+     */
+    @Test
+    public void ownCode() {
+	assertEquals(BankComplexity.of(ThinkingBank.class), 14);
+    }
+
+    /**
+     * Code inherited from other banks is part of the bank
+     */
+    @Test
+    public void inheritedInstructions() {
+	assertEquals(BankComplexity.of(QuietBank.class), 30);
+    }
+
+    /**
+     * The cost of a bank comes from its class
+     */
+    @Test
+    public void bankCost() {
+	assertEquals(new BusyBank().getCost(), 27);
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.thehilikus.jrobocom.robot;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+import com.github.thehilikus.jrobocom.AbstractTest;
+import com.github.thehilikus.jrobocom.exceptions.BankInterruptedException;
+import com.github.thehilikus.jrobocom.player.Bank;
+
+/**
+ * Tests for {@link BankFactory}
+ *
+ * @author hilikus
+ */
+public class BankFactoryTest extends AbstractTest {
+
+    /**
+     *
+     */
+    public BankFactoryTest() {
+	super(BankFactory.class);
+    }
+
+    /**
+     * A bank that can be copied
+     */
+    public static class CopiedBank extends Bank {
+	@Override
+	public void run() throws BankInterruptedException {
+	    // does nothing
+	}
+    }
+
+    /**
+     * A bank whose constructor the game can't call
+     */
+    public static class HiddenBank extends Bank {
+	private HiddenBank() {
+	}
+
+	@Override
+	public void run() throws BankInterruptedException {
+	    // does nothing
+	}
+    }
+
+    /**
+     * A bank whose constructor runs out of turns
+     */
+    public static class InterruptedBank extends Bank {
+	/**
+	 * Interrupted like a metered robot
+	 */
+	public InterruptedBank() {
+	    if (interrupt) {
+		throw new BankInterruptedException("Expected by the test");
+	    }
+	}
+
+	@Override
+	public void run() throws BankInterruptedException {
+	    // does nothing
+	}
+    }
+
+    private static volatile boolean interrupt;
+
+    /**
+     * Copies are new banks of the same class and team
+     */
+    @Test
+    public void copyOf() {
+	Bank original = new CopiedBank();
+	original.setTeamId(311);
+	assertTrue(BankFactory.prepare(CopiedBank.class), "Bank should be copiable");
+
+	Bank copy = BankFactory.copyOf(original);
+	assertNotSame(copy, original, "Copy is the same bank");
+	assertSame(copy.getClass(), CopiedBank.class, "Copy of a different class");
+	assertEquals(copy.getTeamId(), 311, "Copy of a different team");
+    }
+
+    /**
+     * Banks that can't be instantiated are not copied
+     */
+    @Test
+    public void inaccessibleConstructor() {
+	assertFalse(BankFactory.prepare(HiddenBank.class), "Bank should not be copiable");
+	assertNull(BankFactory.copyOf(new HiddenBank()));
+    }
+
+    /**
+     * Robots interrupted while copying a bank stop, instead of transferring nothing
+     */
+    @Test(expectedExceptions = BankInterruptedException.class)
+    public void interruptedCopy() {
+	Bank original = new InterruptedBank();
+	interrupt = true;
+	try {
+	    BankFactory.copyOf(original);
+	} finally {
+	    interrupt = false;
+	}
+    }
+}
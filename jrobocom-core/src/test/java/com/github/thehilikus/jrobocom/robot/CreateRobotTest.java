@@ -14,6 +14,8 @@ import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
+import java.util.Random;
+
 import org.mockito.ArgumentCaptor;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -53,6 +55,7 @@ public class CreateRobotTest extends AbstractTest {
     @BeforeMethod
     public void setUp() {
 	mockWorld = mock(World.class);
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
 	mockDelayer = mock(Delayer.class);
 	banks = new Bank[3];
 	mockPlayer = mock(Player.class);
@@ -2,6 +2,9 @@ package com.github.thehilikus.jrobocom.robot;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Random;
 
 import org.testng.annotations.Test;
 
@@ -34,6 +37,7 @@ public class MoveTest extends AbstractTest {
     @Test
     public void illegalMove() {
 	World mockWorld = mock(World.class);
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
 	Bank[] dummyBanks = new Bank[3];
 	Player pla = mock(Player.class);
 	Delayer clock = mock(Delayer.class);
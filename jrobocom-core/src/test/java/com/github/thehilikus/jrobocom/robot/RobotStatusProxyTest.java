@@ -17,6 +17,7 @@ import org.testng.annotations.BeforeMethod;
 
 import com.github.thehilikus.jrobocom.AbstractTest;
 import com.github.thehilikus.jrobocom.Direction;
+import com.github.thehilikus.jrobocom.GameSettings.Timing;
 import com.github.thehilikus.jrobocom.World;
 import com.github.thehilikus.jrobocom.player.InstructionSet;
 import com.github.thehilikus.jrobocom.robot.Robot.TurnManager;
@@ -62,7 +63,7 @@ public class RobotStatusProxyTest extends AbstractTest {
 	mockRemoteState = mock(RobotStatusLocal.class);
 	when(mockNeighbour.getData()).thenReturn(mockRemoteState);
 	when(mockWorld.getNeighbour(any(Robot.class))).thenReturn(mockNeighbour);
-	TU = new RobotStatusProxy(mockRobot, mockWorld);
+	TU = new RobotStatusProxy(mockRobot, mockWorld, Timing.getInstance());
     }
 
     /**
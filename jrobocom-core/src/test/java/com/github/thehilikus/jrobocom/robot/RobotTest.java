@@ -1,8 +1,11 @@
 package com.github.thehilikus.jrobocom.robot;
 
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -15,19 +18,23 @@ import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
+import java.util.Random;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.testng.annotations.Test;
 
 import com.github.thehilikus.events.event_manager.api.EventDispatcher;
 import com.github.thehilikus.jrobocom.AbstractTest;
 import com.github.thehilikus.jrobocom.Direction;
+import com.github.thehilikus.jrobocom.GameSettings.Timing;
 import com.github.thehilikus.jrobocom.Player;
 import com.github.thehilikus.jrobocom.World;
 import com.github.thehilikus.jrobocom.exceptions.BankInterruptedException;
 import com.github.thehilikus.jrobocom.player.Bank;
 import com.github.thehilikus.jrobocom.player.InstructionSet;
 import com.github.thehilikus.jrobocom.timing.Delayer;
+import com.github.thehilikus.jrobocom.timing.DeterministicDelayer;
 
 /**
  * Tests the robots, but not the control class
@@ -92,6 +99,7 @@ public class RobotTest extends AbstractTest {
     @Test(groups = "init")
     public void testFirstRobotCreation() {
 	World mockWorld = mock(World.class);
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
 
 	final int BANK_COUNT = 3;
 	Bank[] dummyBanks = new Bank[BANK_COUNT];
@@ -114,6 +122,7 @@ public class RobotTest extends AbstractTest {
     @Test(dependsOnMethods = { "testFirstRobotCreation" })
     public void testReboot() {
 	World mockWorld = mock(World.class);
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
 	Delayer mockDelayer = mock(Delayer.class);
 
 	Bank[] dummyBanks = new Bank[3];
@@ -162,6 +171,7 @@ public class RobotTest extends AbstractTest {
     @Test(dependsOnMethods = { "testFirstRobotCreation" })
     public void testDataHunger() {
 	World mockWorld = mock(World.class);
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
 
 	Bank[] dummyBanks = new Bank[3];
 	Delayer delayer = mock(Delayer.class);
@@ -181,6 +191,7 @@ public class RobotTest extends AbstractTest {
     @Test(dependsOnMethods = { "testFirstRobotCreation" })
     public void testDie() {
 	World mockWorld = mock(World.class);
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
 
 	Bank[] dummyBanks = new Bank[3];
 	Player pla = mock(Player.class);
@@ -192,12 +203,37 @@ public class RobotTest extends AbstractTest {
 	verify(mockWorld).remove(TU);
     }
 
+    /**
+     * Checks that robots of different sessions number themselves independently and that children
+     * use the numbers of their parent's session
+     */
+    @Test
+    public void serialNumbersPerSession() {
+	World mockWorld = mock(World.class);
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
+	Player mockPlayer = mock(Player.class);
+	AtomicInteger firstSession = new AtomicInteger();
+	AtomicInteger secondSession = new AtomicInteger();
+
+	Robot first = new Robot(mockWorld, new Delayer(), new Bank[3], "First session", mockPlayer, firstSession);
+	Robot second = new Robot(mockWorld, new Delayer(), new Bank[3], "Second session", mockPlayer, secondSession);
+	assertEquals(first.getSerialNumber(), 0, "Sessions start numbering at 0");
+	assertEquals(second.getSerialNumber(), 0, "Sessions start numbering at 0");
+
+	when(mockWorld.add(eq(first), isA(Robot.class))).thenReturn(true);
+	first.createRobot("Unit-test", InstructionSet.BASIC, 1, false);
+	Robot child = CreateRobotTest.getChild(mockWorld, first);
+	assertEquals(child.getSerialNumber(), 1, "Child didn't use its parent's session numbers");
+	assertEquals(secondSession.get(), 1, "Child used the numbers of another session");
+    }
+
     /**
      * Tests scanning when the robot doesn't have a valid instruction set for it
      */
     @Test
     public void testScan() {
 	World mockWorld = mock(World.class);
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
 	Player mockPlayer = mock(Player.class);
 	Bank[] dummyBanks = new Bank[3];
 	Robot TU = new Robot(mockWorld, new Delayer(), dummyBanks, "Test Robot", mockPlayer);
@@ -218,6 +254,7 @@ public class RobotTest extends AbstractTest {
     @Test(timeOut = 1000)
     public void testModifyRunningBank() throws InterruptedException {
 	World mockWorld = mock(World.class);
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
 	Player mockPlayer = mock(Player.class);
 
 	Delayer mockDelayer = mock(Delayer.class);
@@ -276,6 +313,7 @@ public class RobotTest extends AbstractTest {
     @Test(timeOut = 1000)
     public void testRobotClean() throws InterruptedException {
 	World mockWorld = mock(World.class);
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
 	Player mockPlayer = mock(Player.class);
 	Delayer delayer = mock(Delayer.class);
 	ChangerBank bank = new ChangerBank();
@@ -301,6 +339,7 @@ public class RobotTest extends AbstractTest {
     @Test
     public void testTransfer() {
 	World mockWorld = mock(World.class);
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
 	Player mockPlayer = mock(Player.class);
 	Delayer delayer = mock(Delayer.class);
 	ChangerBank bank = new ChangerBank();
@@ -321,6 +360,7 @@ public class RobotTest extends AbstractTest {
     @Test(dependsOnMethods = { "testTransfer" })
     public void testNullTransfer() {
 	World mockWorld = mock(World.class);
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
 	Player mockPlayer = mock(Player.class);
 	Delayer delayer = mock(Delayer.class);
 	ChangerBank bank = new ChangerBank();
@@ -341,6 +381,7 @@ public class RobotTest extends AbstractTest {
     @Test
     public void testReverseTransfer() {
 	World mockWorld = mock(World.class);
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
 	Player mockPlayer = mock(Player.class);
 	Delayer delayer = mock(Delayer.class);
 	ChangerBank bank = new ChangerBank();
@@ -361,6 +402,7 @@ public class RobotTest extends AbstractTest {
     @Test
     public void testReverseNullTransfer() {
 	World mockWorld = mock(World.class);
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
 	Player mockPlayer = mock(Player.class);
 	Delayer delayer = mock(Delayer.class);
 	ChangerBank bank = new ChangerBank();
@@ -381,6 +423,7 @@ public class RobotTest extends AbstractTest {
     @Test
     public void testSetBank() {
 	World mockWorld = mock(World.class);
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
 	Player mockPlayer = mock(Player.class);
 	Delayer delayer = mock(Delayer.class);
 	Robot TU = new Robot(mockWorld, delayer, new Bank[] { null, null }, "Test Robot", mockPlayer);
@@ -397,6 +440,7 @@ public class RobotTest extends AbstractTest {
     @Test
     public void testSetNullBank() {
 	World mockWorld = mock(World.class);
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
 	Player mockPlayer = mock(Player.class);
 	Delayer delayer = mock(Delayer.class);
 	Robot TU = new Robot(mockWorld, delayer, new Bank[] { new ChangerBank(), new ChangerBank() }, "Test Robot",
@@ -406,4 +450,62 @@ public class RobotTest extends AbstractTest {
 
 	assertNull(TU.getBank(0), "Bank set was the same");
     }
+
+    /**
+     * Tests that running the bank's code without waiting costs a turn once the budget is spent
+     */
+    @Test
+    public void busyCodeChargesTurns() {
+	World mockWorld = mock(World.class);
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
+	Player mockPlayer = mock(Player.class);
+	Delayer delayer = mock(Delayer.class);
+	Robot TU = new Robot(mockWorld, delayer, new Bank[1], "Test Robot", mockPlayer);
+	TU.setEventDispatcher(mock(EventDispatcher.class));
+	TU.getData().setActiveState(1);
+
+	int budget = Timing.getInstance().BUSY_STEPS;
+	for (int step = 1; step < budget; step++) {
+	    TU.getTurnsControl().countStep();
+	}
+	verify(delayer, never()).waitFor(anyInt(), anyInt(), anyString());
+
+	TU.getTurnsControl().countStep();
+	verify(delayer).waitFor(eq(TU.getSerialNumber()), eq(1), anyString());
+	assertEquals(TU.getTurnsControl().getTurnsCount(), 1, "Busy turn not counted");
+    }
+
+    /**
+     * Tests that a robot whose thread ends without deregistering doesn't keep the clock waiting
+     * for its turn
+     * 
+     * @throws InterruptedException
+     */
+    @Test(timeOut = 2000)
+    public void crashedRobotGivesUpTurn() throws InterruptedException {
+	World mockWorld = mock(World.class); // doesn't deregister robots that die
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
+	Player mockPlayer = mock(Player.class);
+	DeterministicDelayer delayer = new DeterministicDelayer();
+	Bank crasher = new Bank() {
+
+	    @Override
+	    public void run() throws BankInterruptedException {
+		throw new Error("Expected by the test");
+	    }
+	};
+	Robot TU = new Robot(mockWorld, delayer, new Bank[] { crasher }, "Test Robot", mockPlayer);
+	TU.setEventDispatcher(mock(EventDispatcher.class));
+	TU.getData().setActiveState(1);
+	delayer.addListener(TU.getSerialNumber());
+
+	Thread robotThread = new Thread(TU);
+	robotThread.start();
+	delayer.tick(); // robot starts
+	delayer.tick(); // bank crashes
+	robotThread.join();
+	delayer.tick();
+
+	assertFalse(TU.isAlive(), "Robot survived the error");
+    }
 }
@@ -9,6 +9,8 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertTrue;
 
+import java.util.Random;
+
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -63,6 +65,7 @@ public class TransferTest extends AbstractTest {
     @BeforeMethod
     public void setUp() {
 	mockWorld = mock(World.class);
+	when(mockWorld.getRandGenerator()).thenReturn(new Random());
 	mockDelayer = mock(Delayer.class);
 	DummyBank dummyBank = new DummyBank();
 	dummyBank.setTeamId(1);
@@ -0,0 +1,135 @@
+package com.github.thehilikus.jrobocom.security;
+
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.github.thehilikus.jrobocom.AbstractTest;
+import com.github.thehilikus.jrobocom.ExecutionMode;
+import com.github.thehilikus.jrobocom.exceptions.BankInterruptedException;
+import com.github.thehilikus.jrobocom.player.Bank;
+
+/**
+ * Tests for {@link GameSecurityManager}
+ *
+ * @author hilikus
+ */
+public class GameSecurityManagerTest extends AbstractTest {
+
+    private GameSecurityManager TU;
+
+    private SecurityManager previous;
+
+    /**
+     *
+     */
+    public GameSecurityManagerTest() {
+	super(GameSecurityManager.class);
+    }
+
+    /**
+     * A bank that tries to get the game's permissions
+     */
+    public static class SneakyBank extends Bank {
+	private volatile SecurityException blocked;
+
+	@Override
+	public void run() throws BankInterruptedException {
+	    try {
+		System.getSecurityManager().checkPermission(new GamePermission("readSettings"));
+	    } catch (SecurityException exc) {
+		blocked = exc;
+	    }
+	}
+    }
+
+    /**
+     * Creates the security manager
+     */
+    @BeforeMethod
+    public void setUpTU() {
+	TU = new GameSecurityManager();
+	previous = System.getSecurityManager();
+    }
+
+    /**
+     * Puts back the security manager of the tests
+     */
+    @AfterMethod(alwaysRun = true)
+    public void tearDownTU() {
+	if (System.getSecurityManager() == TU) {
+	    System.setSecurityManager(previous);
+	}
+    }
+
+    /**
+     * Banks are recognized as players in virtual threads, which have no thread group of their own
+     *
+     * @throws Exception
+     */
+    @Test(timeOut = 2000)
+    public void playerInVirtualThread() throws Exception {
+	final SneakyBank bank = new SneakyBank();
+	install();
+	runVirtual(new Runnable() {
+
+	    @Override
+	    public void run() {
+		bank.run();
+	    }
+	});
+
+	assertNotNull(bank.blocked, "Bank got a game permission");
+    }
+
+    /**
+     * The game's own code keeps its permissions in virtual threads
+     *
+     * @throws Exception
+     */
+    @Test(timeOut = 2000)
+    public void gameInVirtualThread() throws Exception {
+	final SecurityException[] blocked = new SecurityException[1];
+	install();
+	runVirtual(new Runnable() {
+
+	    @Override
+	    public void run() {
+		try {
+		    System.getSecurityManager().checkPermission(new GamePermission("readSettings"));
+		} catch (SecurityException exc) {
+		    blocked[0] = exc;
+		}
+	    }
+	});
+
+	assertNull(blocked[0], "Game code was blocked");
+    }
+
+    /**
+     * Skips the test where it can't run, in the test itself so other classes' fixtures still run
+     */
+    private void install() {
+	if (!ExecutionMode.VIRTUAL_THREADS.isSupported()) {
+	    throw new SkipException("Virtual threads not supported in this JVM");
+	}
+	try {
+	    System.setSecurityManager(TU);
+	} catch (UnsupportedOperationException exc) {
+	    throw new SkipException("Security managers are disabled in this JVM");
+	}
+    }
+
+    private static void runVirtual(Runnable task) throws Exception {
+	// the tests are compiled for JVMs without virtual threads
+	Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+	Thread virtual = (Thread) Class.forName("java.lang.Thread$Builder").getMethod("unstarted", Runnable.class)
+		.invoke(builder, task);
+	virtual.start();
+	virtual.join();
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.thehilikus.jrobocom.timing;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.github.thehilikus.jrobocom.AbstractTest;
+
+/**
+ * Tests for {@link ClientSlots}
+ *
+ * @author hilikus
+ */
+public class ClientSlotsTest extends AbstractTest {
+
+    private ClientSlots TU;
+
+    /**
+     *
+     */
+    public ClientSlotsTest() {
+	super(ClientSlots.class);
+    }
+
+    /**
+     * Configures each test
+     */
+    @BeforeMethod
+    public void setUpTU() {
+	TU = new ClientSlots();
+    }
+
+    /**
+     * Slots start empty and only change when they have the expected value
+     */
+    @Test
+    public void compareAndSet() {
+	assertEquals(TU.get(5), 0);
+	assertFalse(TU.compareAndSet(5, 1, 2), "Changed a slot with the wrong value");
+	assertTrue(TU.compareAndSet(5, 0, 1));
+	assertEquals(TU.get(5), 1);
+	assertFalse(TU.compareAndSet(5, 0, 2), "Changed a slot with the wrong value");
+	assertEquals(TU.get(5), 1);
+    }
+
+    /**
+     * IDs far apart get their own chunks without losing the values of the others
+     */
+    @Test
+    public void distantIds() {
+	int[] ids = { 0, 1023, 1024, 70000, 3000 };
+	for (int id : ids) {
+	    assertTrue(TU.compareAndSet(id, 0, id + 1));
+	}
+	for (int id : ids) {
+	    assertEquals(TU.get(id), id + 1, "Wrong value for " + id);
+	}
+	assertEquals(TU.get(2000), 0);
+    }
+
+    /**
+     * Clearing resets every slot
+     */
+    @Test
+    public void clear() {
+	TU.compareAndSet(10, 0, 3);
+	TU.clear();
+	assertEquals(TU.get(10), 0);
+    }
+
+    /**
+     * Client IDs can't be negative
+     */
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void negativeId() {
+	TU.get(-1);
+    }
+}
@@ -6,6 +6,8 @@ import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 import java.lang.Thread.State;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
@@ -177,6 +179,92 @@ public class DelayerTest extends AbstractTest {
 	fail("Should throw exception");
     }
 
+    /**
+     * Runs many short waits and checks the delayer only keeps the entries that are still blocked,
+     * so ticks don't get slower as the game goes on
+     * 
+     * @throws Throwable
+     */
+    @Test(timeOut = 20000)
+    public void longRunKeepsPendingBounded() throws Throwable {
+	final int ROBOTS = 5;
+	final int WAITS = 2000;
+
+	List<FutureTask<Boolean>> tasks = new ArrayList<>();
+	for (int id = 0; id < ROBOTS; id++) {
+	    final int robotId = id;
+	    TU.addListener(robotId);
+	    FutureTask<Boolean> task = new FutureTask<>(new Callable<Boolean>() {
+
+		@Override
+		public Boolean call() throws Exception {
+		    for (int wait = 0; wait < WAITS; wait++) {
+			TU.waitFor(robotId, 1, "longRunKeepsPendingBounded");
+		    }
+		    return true;
+		}
+	    });
+	    tasks.add(task);
+	    new Thread(task, "Fake robot " + robotId).start();
+	}
+
+	boolean allDone = false;
+	while (!allDone) {
+	    TU.tick();
+	    assertTrue(TU.getPendingCount() <= ROBOTS, "Released entries are not being reclaimed");
+
+	    allDone = true;
+	    for (FutureTask<Boolean> task : tasks) {
+		allDone &= task.isDone();
+	    }
+	}
+
+	for (FutureTask<Boolean> task : tasks) {
+	    try {
+		assertTrue(task.get(), "Fake robot finished");
+	    } catch (ExecutionException exc) {
+		throw exc.getCause();
+	    }
+	}
+	assertEquals(TU.getPendingCount(), 0, "Entries left after all waits finished");
+    }
+
+    /**
+     * Checks the delayer is idle only when every client is blocked or suspended
+     * 
+     * @throws Throwable
+     */
+    @Test(timeOut = 3000)
+    public void awaitIdle() throws Throwable {
+	final int BLOCKED_ID = 311;
+	final int SUSPENDED_ID = 312;
+
+	assertTrue(TU.awaitIdle(0), "Delayer without clients is idle");
+	TU.addListener(BLOCKED_ID);
+	TU.addListener(SUSPENDED_ID);
+	assertFalse(TU.awaitIdle(10), "New clients are running");
+
+	TU.suspend(SUSPENDED_ID);
+	FutureTask<Boolean> blockedTask = new FutureTask<>(new SimulatedRobot(BLOCKED_ID));
+	new Thread(blockedTask, "Fake blocked robot").start();
+	assertTrue(TU.awaitIdle(1000), "All clients are blocked or suspended");
+
+	TU.tick();
+	assertTrue(TU.awaitIdle(0), "Client is still blocked");
+	TU.tick();
+	assertFalse(TU.awaitIdle(0), "Unblocked client is running until it waits again or is removed");
+	try {
+	    assertTrue(blockedTask.get(), "Fake robot finished");
+	} catch (ExecutionException exc) {
+	    throw exc.getCause();
+	}
+	TU.removeListener(BLOCKED_ID);
+	assertTrue(TU.awaitIdle(0), "Removed clients don't count");
+
+	TU.activate(SUSPENDED_ID);
+	assertFalse(TU.awaitIdle(0), "Activated client is running");
+    }
+
     /**
      * Tests signalling a robot that's not registered
      */
@@ -0,0 +1,127 @@
+package com.github.thehilikus.jrobocom.timing;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.github.thehilikus.jrobocom.AbstractTest;
+
+/**
+ * Tests for {@link DeterministicDelayer}
+ *
+ * @author hilikus
+ */
+@Test(timeOut = 2000)
+public class DeterministicDelayerTest extends AbstractTest {
+
+    private DeterministicDelayer TU;
+
+    private List<Integer> turnsTaken;
+
+    /**
+     *
+     */
+    public DeterministicDelayerTest() {
+	super(DeterministicDelayer.class);
+    }
+
+    /**
+     * Configures each test
+     */
+    @BeforeMethod
+    public void setUpTU() {
+	TU = new DeterministicDelayer();
+	turnsTaken = Collections.synchronizedList(new ArrayList<Integer>());
+    }
+
+    private Thread startClient(final int id, final int turns, final int waits) {
+	TU.addListener(id);
+	Thread client = new Thread(new Runnable() {
+
+	    @Override
+	    public void run() {
+		for (int wait = 0; wait < waits; wait++) {
+		    TU.waitFor(id, turns, "Simulated Robot");
+		    turnsTaken.add(id);
+		}
+		TU.removeListener(id);
+	    }
+	}, "Fake robot " + id);
+	client.start();
+	return client;
+    }
+
+    /**
+     * Checks that clients take their turns in order of ID, regardless of when their threads started,
+     * and that ticking only returns once every due client is done
+     *
+     * @throws InterruptedException
+     */
+    public void turnsInIdOrder() throws InterruptedException {
+	Thread third = startClient(3, 1, 3);
+	Thread first = startClient(1, 1, 3);
+	Thread second = startClient(2, 2, 2);
+
+	TU.tick();
+	assertEquals(turnsTaken, Arrays.asList(1, 2, 3), "Wrong order in first tick");
+	TU.tick();
+	assertEquals(turnsTaken, Arrays.asList(1, 2, 3, 1, 3), "Wrong order in second tick");
+	TU.tick();
+	assertEquals(turnsTaken, Arrays.asList(1, 2, 3, 1, 3, 1, 2, 3), "Wrong order in third tick");
+	TU.tick();
+	assertEquals(turnsTaken.size(), 8, "Clients ran after finishing");
+
+	first.join();
+	second.join();
+	third.join();
+	assertEquals(TU.getPendingCount(), 0, "Entries left after all clients finished");
+    }
+
+    /**
+     * Checks that suspended clients don't get turns until they are activated
+     *
+     * @throws InterruptedException
+     */
+    public void suspendAndActivate() throws InterruptedException {
+	final int ID = 311;
+	TU.addListener(ID);
+	Thread client = new Thread(new Runnable() {
+
+	    @Override
+	    public void run() {
+		TU.waitFor(ID, 1, "Robot starting");
+		turnsTaken.add(ID);
+		TU.suspend(ID);
+		TU.awaitTurn(ID);
+		turnsTaken.add(ID);
+		TU.removeListener(ID);
+	    }
+	}, "Fake suspended robot");
+	client.start();
+
+	TU.tick();
+	assertEquals(turnsTaken, Arrays.asList(ID), "Client didn't run in its first turn");
+	TU.tick();
+	TU.tick();
+	assertEquals(turnsTaken, Arrays.asList(ID), "Suspended client ran");
+
+	TU.activate(ID);
+	TU.tick();
+	assertEquals(turnsTaken, Arrays.asList(ID, ID), "Activated client didn't run");
+	client.join();
+    }
+
+    /**
+     * Tests waiting with a client that's not registered
+     */
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void notRegistered() {
+	TU.waitFor(123, 3, "notRegistered");
+    }
+}
@@ -0,0 +1,123 @@
+package com.github.thehilikus.jrobocom.timing;
+
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.github.thehilikus.events.event_manager.api.EventDispatcher;
+import com.github.thehilikus.jrobocom.AbstractTest;
+
+/**
+ * Tests for {@link HeadlessClock}
+ * 
+ * @author hilikus
+ * @see MasterClockTest
+ */
+@Test(timeOut = 5000)
+public class HeadlessClockTest extends AbstractTest {
+
+    private HeadlessClock TU;
+
+    private Delayer delayer;
+
+    /**
+     * 
+     */
+    public HeadlessClockTest() {
+	super(HeadlessClock.class);
+    }
+
+    /**
+     * Initializes each test
+     */
+    @BeforeMethod
+    public void setUpTU() {
+	delayer = new Delayer();
+	TU = new HeadlessClock(delayer);
+	TU.setEventDispatcher(mock(EventDispatcher.class));
+    }
+
+    /**
+     * Cleans tests
+     */
+    @AfterMethod
+    public void tearDown() {
+	TU.clean();
+    }
+
+    /**
+     * Tests starting and stopping the clock
+     */
+    public void testStartStop() {
+	assertEquals(TU.getCycles(), 0, "Cycles start at 0");
+	assertFalse(TU.isRunning());
+
+	TU.start(true);
+	assertTrue(TU.isRunning());
+
+	TU.stop();
+	assertFalse(TU.isRunning());
+    }
+
+    /**
+     * Checks that an idle game ticks much faster than the fastest timed clock
+     * 
+     * @throws InterruptedException
+     */
+    public void ticksWithoutPeriod() throws InterruptedException {
+	final int TICKS = 1000;
+	final int CLIENT_ID = 311;
+
+	final CountDownLatch done = new CountDownLatch(1);
+	delayer.addListener(CLIENT_ID);
+	new Thread(new Runnable() {
+
+	    @Override
+	    public void run() {
+		for (int turn = 0; turn < TICKS; turn++) {
+		    delayer.waitFor(CLIENT_ID, 1, "ticksWithoutPeriod");
+		}
+		done.countDown();
+	    }
+	}, "Fake robot").start();
+
+	TU.start();
+	assertTrue(done.await(TICKS * MasterClock.MIN_PERIOD / 2, TimeUnit.MILLISECONDS),
+		"Clock didn't tick as soon as the robot was waiting");
+	TU.stop();
+	assertTrue(TU.getCycles() >= TICKS, "Robot waited for more turns than ticks: " + TU.getCycles());
+    }
+
+    /**
+     * Checks that a robot that never waits doesn't stop the clock
+     * 
+     * @throws InterruptedException
+     */
+    public void ticksWithRunawayRobot() throws InterruptedException {
+	delayer.addListener(311);
+	TU.setPeriod(20);
+
+	TU.start();
+	Thread.sleep(200);
+	TU.stop();
+	assertTrue(TU.getCycles() > 0, "Clock waited forever for the robot");
+    }
+
+    /**
+     * Tests cleaning a running clock
+     */
+    public void testClean() {
+	TU.start();
+	assertTrue(TU.isRunning(), "Start failed");
+	TU.clean();
+	assertFalse(TU.isRunning(), "Should have stopped");
+    }
+}
@@ -1,7 +1,6 @@
 package com.github.thehilikus.jrobocom_samples._4lunch;
 
 import com.github.thehilikus.jrobocom.player.Bank;
-import com.github.thehilikus.jrobocom.player.ReadableSettings;
 import com.github.thehilikus.jrobocom.player.ScanResult;
 import com.github.thehilikus.jrobocom.player.ScanResult.Found;
 
@@ -27,7 +26,7 @@ public class _4Jack extends Bank {
 		info.setRemoteActiveState(1);
 		column++;
 
-	    } while (column != ReadableSettings.FIELDS);
+	    } while (column != world.getSettings().FIELDS);
 
 	    // change row
 	    control.turn(true);
@@ -1,7 +1,6 @@
 package com.github.thehilikus.jrobocom_samples.blackjacks;
 
 import com.github.thehilikus.jrobocom.player.Bank;
-import com.github.thehilikus.jrobocom.player.ReadableSettings;
 import com.github.thehilikus.jrobocom.player.ScanResult;
 import com.github.thehilikus.jrobocom.player.ScanResult.Found;
 
@@ -15,7 +14,7 @@ public class BlackJack extends Bank {
     @Override
     public void run() {
 	while (true) {
-	    int pos = ReadableSettings.FIELDS;
+	    int pos = world.getSettings().FIELDS;
 	    while (true) {
 		// keep moving
 		control.move(); // Move forward
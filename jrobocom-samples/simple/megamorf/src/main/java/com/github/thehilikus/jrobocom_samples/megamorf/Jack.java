@@ -5,7 +5,6 @@ import org.slf4j.LoggerFactory;
 
 import com.github.thehilikus.jrobocom.exceptions.BankInterruptedException;
 import com.github.thehilikus.jrobocom.player.Bank;
-import com.github.thehilikus.jrobocom.player.ReadableSettings;
 import com.github.thehilikus.jrobocom.player.ScanResult;
 
 /**
@@ -21,7 +20,7 @@ public class Jack extends Bank {
 
     @Override
     public void run() throws BankInterruptedException {
-	fields = ReadableSettings.FIELDS;
+	fields = world.getSettings().FIELDS;
 
 	while (true) { // row work
 	    control.move();
@@ -40,7 +39,7 @@ public class Jack extends Bank {
 	control.move();
 	control.turn(false);
 
-	fields = ReadableSettings.FIELDS;
+	fields = world.getSettings().FIELDS;
     }
 
     private void test() {
@@ -2,7 +2,6 @@ package com.github.thehilikus.jrobocom_samples.metamorf;
 
 import com.github.thehilikus.jrobocom.exceptions.BankInterruptedException;
 import com.github.thehilikus.jrobocom.player.Bank;
-import com.github.thehilikus.jrobocom.player.ReadableSettings;
 import com.github.thehilikus.jrobocom.player.ScanResult;
 
 /**
@@ -16,7 +15,7 @@ public class MetaJack extends Bank {
 
     @Override
     public void run() throws BankInterruptedException {
-	fields = ReadableSettings.FIELDS;
+	fields = world.getSettings().FIELDS;
 
 	while (true) {
 	    control.move();
@@ -51,7 +50,7 @@ public class MetaJack extends Bank {
 	control.move();
 	control.turn(false);
 
-	fields = ReadableSettings.FIELDS;
+	fields = world.getSettings().FIELDS;
     }
 
 }
@@ -0,0 +1,120 @@
+package com.github.thehilikus.jrobocom.gui;
+
+import java.awt.Point;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.github.thehilikus.jrobocom.Player;
+import com.github.thehilikus.jrobocom.robot.Robot;
+
+/**
+ * Changes to the board since the last frame was drawn. Robots record them from their threads and
+ * the EDT takes them all at once, so each cell is redrawn at most once per frame no matter how
+ * many events touched it
+ *
+ * @author hilikus
+ */
+class BoardChanges {
+
+    /**
+     * Final content of the changed cells, null for empty
+     */
+    private Map<Point, Robot> cells = new LinkedHashMap<>();
+
+    /**
+     * Cells whose robot changed but stayed in place
+     */
+    private Set<Point> refreshed = new LinkedHashSet<>();
+
+    private Map<Player, Integer> counts = new HashMap<>();
+
+    /**
+     * @param robot the new robot
+     * @param coordinates where it was added
+     */
+    synchronized void added(Robot robot, Point coordinates) {
+	cells.put(coordinates, robot);
+	changeCount(robot.getOwner(), 1);
+    }
+
+    /**
+     * @param robot the robot removed
+     * @param coordinates where it was
+     */
+    synchronized void removed(Robot robot, Point coordinates) {
+	leave(robot, coordinates);
+	changeCount(robot.getOwner(), -1);
+    }
+
+    /**
+     * @param robot the robot that moved
+     * @param from where it was
+     * @param to where it is now
+     */
+    synchronized void moved(Robot robot, Point from, Point to) {
+	leave(robot, from);
+	cells.put(to, robot);
+    }
+
+    /**
+     * @param coordinates where the robot that changed is
+     */
+    synchronized void changed(Point coordinates) {
+	refreshed.add(coordinates);
+    }
+
+    private void leave(Robot robot, Point coordinates) {
+	// events of different robots can arrive out of order, don't clear a cell another robot took
+	if (!cells.containsKey(coordinates) || cells.get(coordinates) == robot) {
+	    cells.put(coordinates, null);
+	}
+    }
+
+    private void changeCount(Player team, int delta) {
+	Integer previous = counts.get(team);
+	counts.put(team, previous == null ? delta : previous + delta);
+    }
+
+    /**
+     * Takes all the changes recorded so far, leaving this empty
+     *
+     * @return the changes of the frame or null if there were none
+     */
+    synchronized BoardChanges takeAll() {
+	if (cells.isEmpty() && refreshed.isEmpty() && counts.isEmpty()) {
+	    return null;
+	}
+	BoardChanges frame = new BoardChanges();
+	frame.cells = cells;
+	frame.refreshed = refreshed;
+	frame.counts = counts;
+	cells = new LinkedHashMap<>();
+	refreshed = new LinkedHashSet<>();
+	counts = new HashMap<>();
+	return frame;
+    }
+
+    /**
+     * @return the final content of each changed cell, null for empty
+     */
+    Map<Point, Robot> getCells() {
+	return cells;
+    }
+
+    /**
+     * @return the cells that need repainting even if their content didn't change
+     */
+    Set<Point> getRefreshed() {
+	return refreshed;
+    }
+
+    /**
+     * @return the change in number of robots of each team
+     */
+    Map<Player, Integer> getCounts() {
+	return counts;
+    }
+}
@@ -6,11 +6,12 @@ import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Point;
 import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.net.URL;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.swing.*;
 import javax.swing.border.BevelBorder;
@@ -23,9 +24,9 @@ import javax.swing.table.DefaultTableModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.github.thehilikus.jrobocom.GameSettings;
 import com.github.thehilikus.jrobocom.Player;
 import com.github.thehilikus.jrobocom.Session;
+import com.github.thehilikus.jrobocom.SessionOptions;
 import com.github.thehilikus.jrobocom.events.GameListener;
 import com.github.thehilikus.jrobocom.events.LeaderChangedEvent;
 import com.github.thehilikus.jrobocom.events.PlayerEliminatedEvent;
@@ -60,6 +61,11 @@ public class GUI implements ColourInfoProvider {
 
     private Session session;
 
+    /**
+     * The options chosen for the current session, used again when it is reloaded
+     */
+    private SessionOptions sessionOptions;
+
     private static final Logger log = LoggerFactory.getLogger(GUI.class);
 
     private UIAction startAction;
@@ -73,46 +79,31 @@ public class GUI implements ColourInfoProvider {
 
     private TeamsTableRenderer teamsTableRenderer;
 
+    /**
+     * Maximum number of times per second the board is redrawn
+     */
+    private static final int FRAME_RATE = 60;
+
+    private final BoardChanges changes = new BoardChanges();
+
+    private Timer frameTimer;
+
     /**
      * Event handler in charge of updating the UI
      * 
      */
     public class Controller implements GameListener, ChangeListener {
-	private Map<Robot, Point> robots;
+	private Map<Robot, Point> robots = new ConcurrentHashMap<>();
 
 	@Override
 	public void update(final RobotAddedEvent evt) {
-	    final Robot source = evt.getSource();
-	    SwingUtilities.invokeLater(new Runnable() {
-
-		@Override
-		public void run() {
-		    board.addItem(evt.getCoordinates(), new DrawableRobot(source));
-		    changeCount(source.getOwner(), 1);
-		}
-
-	    });
-
-	    if (robots == null) { // lazy init
-		robots = new HashMap<>();
-	    }
-	    robots.put(source, evt.getCoordinates());
+	    changes.added(evt.getSource(), evt.getCoordinates());
+	    robots.put(evt.getSource(), evt.getCoordinates());
 	}
 
 	@Override
 	public void update(final RobotRemovedEvent evt) {
-	    SwingUtilities.invokeLater(new Runnable() {
-
-		@Override
-		public void run() {
-		    board.removeItem(evt.getCoordinates());
-		    changeCount(evt.getSource().getOwner(), -1);
-		}
-	    });
-
-	    if (robots == null) { // lazy init
-		robots = new HashMap<>();
-	    }
+	    changes.removed(evt.getSource(), evt.getCoordinates());
 	    robots.remove(evt.getSource());
 	}
 
@@ -120,34 +111,28 @@ public class GUI implements ColourInfoProvider {
 	public void update(final RobotChangedEvent evt) {
 	    final Point pos = robots.get(evt.getSource());
 	    if (pos != null) { // since maybe the robot died
-		SwingUtilities.invokeLater(new Runnable() {
-
-		    @Override
-		    public void run() {
-			board.refresh(pos);
-		    }
-		});
+		changes.changed(pos);
 	    }
 
 	}
 
 	@Override
 	public void update(final RobotMovedEvent mov) {
+	    changes.moved(mov.getSource(), mov.getOldPosition(), mov.getNewPosition());
+	    robots.put(mov.getSource(), mov.getNewPosition());
+	}
+
+	@Override
+	public void update(final ResultEvent result) {
 	    SwingUtilities.invokeLater(new Runnable() {
 
 		@Override
 		public void run() {
-		    board.moveItem(mov.getOldPosition(), mov.getNewPosition());
+		    drawFrame(); // show the final board before the result
+		    displayResult(result);
 		}
 	    });
 
-	    robots.put(mov.getSource(), mov.getNewPosition());
-	}
-
-	@Override
-	public void update(ResultEvent result) {
-	    displayResult(result);
-
 	}
 
 	@Override
@@ -385,6 +370,38 @@ public class GUI implements ColourInfoProvider {
 	table.getColumnModel().getColumn(1).setMaxWidth(30);
 	table.setShowVerticalLines(false);
 	rightPanel.add(table);
+
+	frameTimer = new Timer(1000 / FRAME_RATE, new ActionListener() {
+
+	    @Override
+	    public void actionPerformed(ActionEvent e) {
+		drawFrame();
+	    }
+	});
+	frameTimer.start();
+    }
+
+    /**
+     * Applies to the board all the changes since the previous frame
+     */
+    private void drawFrame() {
+	assertEDT();
+	BoardChanges frame = changes.takeAll();
+	if (frame == null) {
+	    return;
+	}
+	for (Map.Entry<Point, Robot> cell : frame.getCells().entrySet()) {
+	    Robot robot = cell.getValue();
+	    board.setItem(cell.getKey(), robot == null ? null : new DrawableRobot(robot));
+	}
+	for (Point pos : frame.getRefreshed()) {
+	    if (!frame.getCells().containsKey(pos)) {
+		board.refresh(pos);
+	    }
+	}
+	for (Map.Entry<Player, Integer> count : frame.getCounts().entrySet()) {
+	    changeCount(count.getKey(), count.getValue());
+	}
     }
 
     private static void assertEDT() {
@@ -422,7 +439,10 @@ public class GUI implements ColourInfoProvider {
 	    board.clear();
 	    List<Player> players = newGameDialog.getSelectedTeams();
 	    teamsColours = newGameDialog.getColourMappings();
-	    session = new Session(players, controller);
+	    changes.takeAll(); // from the previous session
+	    sessionOptions = newGameDialog.getSessionOptions();
+	    session = new Session(players, controller, sessionOptions);
+	    board.setBoardSize(session.getSettings().BOARD_SIZE);
 
 	    sessionReady(newGameDialog.getSelectedTeams().size() > 0);
 	    // playersModel.clear();
@@ -443,14 +463,15 @@ public class GUI implements ColourInfoProvider {
 	    @Override
 	    public void run() {
 		board.clear();
-		for (Player player : session.getPlayers()) {
-		    changeCount(player, -GameSettings.getInstance().BOARD_SIZE * 2);
+		for (int row = 0; row < tableModel.getRowCount(); row++) {
+		    tableModel.setValueAt(0, row, 1);
 		}
 	    }
 	});
 
 	session.clean();
-	session = new Session(session.getPlayers(), controller);
+	changes.takeAll(); // from the previous session
+	session = new Session(session.getPlayers(), controller, sessionOptions);
     }
 
     private void displayResult(ResultEvent result) {
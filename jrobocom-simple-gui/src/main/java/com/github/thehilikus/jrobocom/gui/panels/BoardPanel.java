@@ -2,10 +2,13 @@ package com.github.thehilikus.jrobocom.gui.panels;
 
 import java.awt.Color;
 import java.awt.Dimension;
-import java.awt.GridLayout;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Insets;
 import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
 
-import javax.swing.BorderFactory;
 import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
 
@@ -15,40 +18,70 @@ import org.slf4j.LoggerFactory;
 import com.github.thehilikus.jrobocom.GameSettings;
 import com.github.thehilikus.jrobocom.gui.ColourInfoProvider;
 import com.github.thehilikus.jrobocom.gui.visitor.Drawable;
+import com.github.thehilikus.jrobocom.gui.visitor.ModelDrawingVisitor;
+import com.github.thehilikus.jrobocom.robot.Robot;
 
 /**
- * The playing board UI
- * 
+ * The playing board UI. The whole board is a single image where only the cells that changed are
+ * redrawn, using the same image for all the robots of a team that face the same way
+ *
  * @author hilikus
  */
 public class BoardPanel extends JPanel {
 
     private static final long serialVersionUID = -3895988249674025563L;
-    private int SIZE = GameSettings.getInstance().BOARD_SIZE;
+    private int boardSize = GameSettings.getInstance().BOARD_SIZE;
 
-    private JDrawingPanel[][] data;
+    /**
+     * Cells smaller than this in pixels have no grid lines
+     */
+    private static final int MIN_GRID_CELL = 5;
+
+    private Drawable[] cells;
+
+    /**
+     * Cells that changed since they were last drawn in the canvas
+     */
+    private final BitSet dirty = new BitSet();
+
+    private BufferedImage canvas;
+
+    private int cellSize;
+
+    private final RobotSprites sprites;
+
+    private final SpriteDrawer drawer = new SpriteDrawer();
 
     private static final Logger log = LoggerFactory.getLogger(BoardPanel.class);
 
     /**
      * Main constructor
-     * 
+     *
      * @param colourProvider colour information provider used for drawing
      */
     public BoardPanel(ColourInfoProvider colourProvider) {
-	setMinimumSize(new Dimension(10 * SIZE, 10 * SIZE));
-	setLayout(new GridLayout(SIZE, SIZE));
-	data = new JDrawingPanel[SIZE][SIZE];
-	JDrawingPanel.setColourProvider(colourProvider);
-
-	for (int row = 0; row < SIZE; row++) {
-	    for (int col = 0; col < SIZE; col++) {
-		data[row][col] = new JDrawingPanel();
-		data[row][col].setBorder(BorderFactory.createLineBorder(Color.GRAY));
-		add(data[row][col]);
-	    }
-	}
+	setOpaque(true);
+	sprites = new RobotSprites(colourProvider);
+	setBoardSize(boardSize);
+    }
 
+    /**
+     * Changes the number of fields of the board, removing all the drawn elements
+     * 
+     * @param size number of fields in one direction of the board
+     */
+    public void setBoardSize(int size) {
+	if (size < 1) {
+	    throw new IllegalArgumentException("Board size must be positive: " + size);
+	}
+	log.debug("[setBoardSize] Board of {}x{}", size, size);
+	boardSize = size;
+	int minSize = Math.min(10 * boardSize, 360);
+	setMinimumSize(new Dimension(minSize, minSize));
+	cells = new Drawable[boardSize * boardSize];
+	canvas = null; // cell size changes
+	dirty.clear();
+	repaint();
     }
 
     @Override
@@ -57,9 +90,80 @@ public class BoardPanel extends JPanel {
 	super.setBounds(x, y, newSize, newSize);
     }
 
+    /**
+     * Draws the robots of a cell in the image of the board
+     */
+    private class SpriteDrawer implements ModelDrawingVisitor {
+	private int x;
+	private int y;
+
+	@Override
+	public void draw(Graphics2D g2, Robot robot) {
+	    g2.drawImage(sprites.get(robot, cellSize), x, y, null);
+	}
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+	super.paintComponent(g);
+
+	Insets insets = getInsets();
+	int available = Math.min(getWidth() - insets.left - insets.right, getHeight() - insets.top - insets.bottom);
+	int newCellSize = Math.max(1, available / boardSize);
+	if (canvas == null || newCellSize != cellSize) {
+	    log.debug("[paintComponent] Cell size changed to {}", newCellSize);
+	    cellSize = newCellSize;
+	    canvas = new BufferedImage(cellSize * boardSize, cellSize * boardSize, BufferedImage.TYPE_INT_RGB);
+	    dirty.set(0, cells.length);
+	}
+	drawDirtyCells();
+	g.drawImage(canvas, insets.left, insets.top, null);
+    }
+
+    private void drawDirtyCells() {
+	if (dirty.isEmpty()) {
+	    return;
+	}
+	Graphics2D g2 = canvas.createGraphics();
+	try {
+	    Color background = getBackground();
+	    for (int cell = dirty.nextSetBit(0); cell >= 0; cell = dirty.nextSetBit(cell + 1)) {
+		int x = (cell % boardSize) * cellSize;
+		int y = (cell / boardSize) * cellSize;
+		g2.setColor(background);
+		g2.fillRect(x, y, cellSize, cellSize);
+		if (cellSize >= MIN_GRID_CELL) {
+		    g2.setColor(Color.GRAY);
+		    g2.drawRect(x, y, cellSize - 1, cellSize - 1);
+		}
+		if (cells[cell] != null) {
+		    drawer.x = x;
+		    drawer.y = y;
+		    cells[cell].accept(g2, drawer);
+		}
+	    }
+	} finally {
+	    g2.dispose();
+	}
+	dirty.clear();
+    }
+
+    private int getCell(Point coordinates) {
+	return coordinates.y * boardSize + coordinates.x;
+    }
+
+    /**
+     * Marks a cell to be drawn again and schedules repainting its area only
+     */
+    private void invalidateCell(int cell) {
+	dirty.set(cell);
+	Insets insets = getInsets();
+	repaint(insets.left + (cell % boardSize) * cellSize, insets.top + (cell / boardSize) * cellSize, cellSize, cellSize);
+    }
+
     /**
      * Adds an item to draw in a particular position
-     * 
+     *
      * @param coordinates the position of the item
      * @param item the drawable element
      */
@@ -69,15 +173,12 @@ public class BoardPanel extends JPanel {
 	    throw new IllegalArgumentException("Coordinates and added item cannot be null");
 	}
 	log.trace("[addItem] New item added @ {}", coordinates);
-	getPanelAt(coordinates).addModel(item);
-	getPanelAt(coordinates).repaint();
+	int cell = getCell(coordinates);
+	cells[cell] = item;
+	invalidateCell(cell);
 
     }
 
-    private JDrawingPanel getPanelAt(Point coordinates) {
-	return data[coordinates.y][coordinates.x];
-    }
-
     /**
      * @param coordinates the position of the item to remove
      */
@@ -87,15 +188,35 @@ public class BoardPanel extends JPanel {
 	    throw new IllegalArgumentException("Coordinates cannot be null");
 	}
 	log.trace("[removeItem] Item removed from {}", coordinates);
-	if (getPanelAt(coordinates).hasModel()) {
-	    getPanelAt(coordinates).removeModel();
-	    getPanelAt(coordinates).repaint();
+	int cell = getCell(coordinates);
+	if (cells[cell] != null) {
+	    cells[cell] = null;
+	    invalidateCell(cell);
 	}
     }
 
+    /**
+     * Replaces whatever is drawn in a position
+     *
+     * @param coordinates the position to change
+     * @param item the new drawable element or null to leave the position empty
+     */
+    public void setItem(Point coordinates, Drawable item) {
+	assertEDT();
+	if (coordinates == null) {
+	    throw new IllegalArgumentException("Coordinates cannot be null");
+	}
+	int cell = getCell(coordinates);
+	if (item == null && cells[cell] == null) {
+	    return;
+	}
+	cells[cell] = item;
+	invalidateCell(cell);
+    }
+
     /**
      * Changes the position of the item in the specified location
-     * 
+     *
      * @param oldCoordinates position of the item to move
      * @param newCoordinates position to move the item to
      */
@@ -104,16 +225,16 @@ public class BoardPanel extends JPanel {
 	if (oldCoordinates == null || newCoordinates == null) {
 	    throw new IllegalArgumentException("Coordinates cannot be null");
 	}
-	if (getPanelAt(newCoordinates).hasModel()) {
+	if (cells[getCell(newCoordinates)] != null) {
 	    throw new IllegalStateException(
 		    "New position contains a model in the UI already. New position = " + newCoordinates);
 	}
-	if (!getPanelAt(oldCoordinates).hasModel()) {
+	if (cells[getCell(oldCoordinates)] == null) {
 	    throw new IllegalStateException("Old position doesn't contain a model in the UI. Old position = "
 		    + oldCoordinates);
 	}
 	// all good
-	Drawable item = getPanelAt(oldCoordinates).getModel();
+	Drawable item = cells[getCell(oldCoordinates)];
 	removeItem(oldCoordinates);
 	addItem(newCoordinates, item);
 
@@ -125,11 +246,12 @@ public class BoardPanel extends JPanel {
     public void clear() {
 	assertEDT();
 	log.debug("[clear] Cleaning board");
-	for (int row = 0; row < SIZE; row++) {
-	    for (int col = 0; col < SIZE; col++) {
-		removeItem(new Point(col, row));
-	    }
+	for (int cell = 0; cell < cells.length; cell++) {
+	    cells[cell] = null;
 	}
+	sprites.clear(); // the next game can have other colours
+	dirty.set(0, cells.length);
+	repaint();
     }
 
     private static void assertEDT() {
@@ -138,7 +260,7 @@ public class BoardPanel extends JPanel {
 
     /**
      * Repaints the item specified
-     * 
+     *
      * @param coordinates location of the item
      */
     public void refresh(Point coordinates) {
@@ -146,7 +268,7 @@ public class BoardPanel extends JPanel {
 	if (coordinates == null) {
 	    throw new IllegalArgumentException("Coordinates cannot be null");
 	}
-	getPanelAt(coordinates).repaint();
+	invalidateCell(getCell(coordinates));
 
     }
 }
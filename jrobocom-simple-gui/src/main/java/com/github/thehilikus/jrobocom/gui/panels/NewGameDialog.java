@@ -27,7 +27,9 @@ import javax.swing.filechooser.FileFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.thehilikus.jrobocom.GameSettings;
 import com.github.thehilikus.jrobocom.Player;
+import com.github.thehilikus.jrobocom.SessionOptions;
 import com.github.thehilikus.jrobocom.exceptions.PlayerException;
 import com.github.thehilikus.jrobocom.gui.ColourInfoProvider;
 import com.github.thehilikus.jrobocom.gui.ColouredCellRenderer;
@@ -53,6 +55,7 @@ public class NewGameDialog extends JDialog implements ColourInfoProvider {
     private JButton btnRemoveTeam;
 
     private JList<Player> selectedTeams;
+    private JSpinner boardSize;
     private Map<Integer, Color> teamsColours = new HashMap<>();
 
     private static int currentColour = 0;
@@ -197,7 +200,7 @@ public class NewGameDialog extends JDialog implements ColourInfoProvider {
 	super(parent, true);
 	setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
 	setTitle("Select Teams");
-	setBounds(100, 100, 257, 301);
+	setBounds(100, 100, 257, 331);
 	getContentPane().setLayout(new BorderLayout());
 	contentPanel.setBorder(new EmptyBorder(5, 5, 5, 5));
 	getContentPane().add(contentPanel, BorderLayout.CENTER);
@@ -221,6 +224,12 @@ public class NewGameDialog extends JDialog implements ColourInfoProvider {
 
 	JLabel lblSelectedTeams = new JLabel("Selected Teams");
 
+	JPanel optionsPane = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+	optionsPane.add(new JLabel("Board size"));
+	boardSize = new JSpinner(new SpinnerNumberModel(GameSettings.getInstance().BOARD_SIZE, 2,
+		GameSettings.MAX_BOARD_SIZE, 1));
+	optionsPane.add(boardSize);
+
 	statusField = new JTextField();
 	changeStatus("Status");
 	statusField.setEditable(false);
@@ -254,6 +263,10 @@ public class NewGameDialog extends JDialog implements ColourInfoProvider {
 										GroupLayout.DEFAULT_SIZE,
 										GroupLayout.DEFAULT_SIZE,
 										Short.MAX_VALUE)
+									.addComponent(optionsPane, Alignment.TRAILING,
+										GroupLayout.DEFAULT_SIZE,
+										GroupLayout.DEFAULT_SIZE,
+										Short.MAX_VALUE)
 									.addComponent(statusField, Alignment.TRAILING,
 										GroupLayout.DEFAULT_SIZE, 237,
 										Short.MAX_VALUE))))
@@ -269,6 +282,9 @@ public class NewGameDialog extends JDialog implements ColourInfoProvider {
 			.addComponent(lblSelectedTeams)
 			.addGap(7)
 			.addComponent(selectedTeams, GroupLayout.DEFAULT_SIZE, 125, Short.MAX_VALUE)
+			.addPreferredGap(ComponentPlacement.RELATED)
+			.addComponent(optionsPane, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE,
+				GroupLayout.PREFERRED_SIZE)
 			.addGap(18)
 			.addComponent(statusField, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE,
 				GroupLayout.PREFERRED_SIZE).addContainerGap()));
@@ -326,6 +342,20 @@ public class NewGameDialog extends JDialog implements ColourInfoProvider {
 	return teams;
     }
 
+    /**
+     * @return the options of the session with the board chosen and the default limits. If the
+     *         dialog was cancelled, this returns null
+     */
+    public SessionOptions getSessionOptions() {
+	if (result != JOptionPane.OK_OPTION) {
+	    return null;
+	}
+	GameSettings defaults = GameSettings.getInstance();
+	SessionOptions options = new SessionOptions();
+	options.setSettings(new GameSettings((Integer) boardSize.getValue(), defaults.MAX_AGE, defaults.MAX_WORLD_AGE));
+	return options;
+    }
+
     /**
      * @return the mapping between team id and colour
      */
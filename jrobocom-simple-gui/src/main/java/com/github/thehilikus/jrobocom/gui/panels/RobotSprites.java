@@ -0,0 +1,145 @@
+package com.github.thehilikus.jrobocom.gui.panels;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Polygon;
+import java.awt.RenderingHints;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.github.thehilikus.jrobocom.Direction;
+import com.github.thehilikus.jrobocom.gui.ColourInfoProvider;
+import com.github.thehilikus.jrobocom.robot.Robot;
+
+/**
+ * Images of the robots of each team, drawn the first time they are needed and reused for every
+ * cell afterwards. There is one image per team, direction and enabled state for the current size
+ * of the cells
+ *
+ * @author hilikus
+ */
+class RobotSprites {
+
+    private static final int VARIANTS = Direction.values().length * 2;
+
+    private final ColourInfoProvider colourProvider;
+
+    private final Map<Integer, BufferedImage[]> teams = new HashMap<>();
+
+    private int size;
+
+    /**
+     * @param pColourProvider the colour of each team
+     */
+    RobotSprites(ColourInfoProvider pColourProvider) {
+	colourProvider = pColourProvider;
+    }
+
+    /**
+     * @param robot the robot to draw
+     * @param cellSize the width and height of the image in pixels
+     * @return the image of the robot in its current state
+     */
+    BufferedImage get(Robot robot, int cellSize) {
+	if (cellSize != size) {
+	    clear();
+	    size = cellSize;
+	}
+	int teamId = robot.getOwner().getTeamId();
+	BufferedImage[] variants = teams.get(teamId);
+	if (variants == null) {
+	    variants = new BufferedImage[VARIANTS];
+	    teams.put(teamId, variants);
+	}
+	Direction facing = robot.getData().getFacing();
+	boolean enabled = robot.getData().isEnabled();
+	int index = facing.ordinal() * 2 + (enabled ? 0 : 1);
+	if (variants[index] == null) {
+	    variants[index] = createSprite(colourProvider.getTeamColour(teamId), facing, enabled);
+	}
+	return variants[index];
+    }
+
+    /**
+     * Forgets all the images, e.g. when the colours of the teams change
+     */
+    void clear() {
+	teams.clear();
+    }
+
+    private BufferedImage createSprite(Color teamColour, Direction facing, boolean enabled) {
+	BufferedImage sprite = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+	Graphics2D g2 = sprite.createGraphics();
+	try {
+	    g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+	    int offset = Math.max(2, size / 6);
+	    int availableSize = size - offset;
+
+	    drawBody(g2, teamColour, offset, availableSize);
+	    drawHead(g2, teamColour, facing, offset, availableSize);
+	    if (!enabled) {
+		// robot disabled, draw an X
+		drawDisable(g2);
+	    }
+	} finally {
+	    g2.dispose();
+	}
+	return sprite;
+    }
+
+    private static void drawBody(Graphics2D g2, Color colour, int offset, int availableSize) {
+	Ellipse2D.Double visualRobot = new Ellipse2D.Double(offset / 2, offset / 2, availableSize, availableSize);
+	g2.setColor(colour);
+	g2.fill(visualRobot);
+	g2.setColor(Color.BLACK);
+	g2.draw(visualRobot); // draw outline
+    }
+
+    private static void drawHead(Graphics2D g2, Color colour, Direction facing, int offset, int availableSize) {
+	int midPoint = availableSize / 2 + offset / 2;
+	int headBase = (int) Math.round(availableSize * 0.25);
+	int baseStart = (int) Math.round(availableSize * 0.20);
+
+	Polygon head = new Polygon();
+	switch (facing) {
+	    case NORTH:
+		head.addPoint(midPoint - headBase / 2, midPoint - baseStart);
+		head.addPoint(midPoint + headBase / 2, midPoint - baseStart);
+		head.addPoint(midPoint, midPoint - baseStart * 2);
+		break;
+	    case EAST:
+		head.addPoint(midPoint + baseStart, midPoint - headBase / 2);
+		head.addPoint(midPoint + baseStart, midPoint + headBase / 2);
+		head.addPoint(midPoint + baseStart * 2, midPoint);
+		break;
+	    case SOUTH:
+		head.addPoint(midPoint - headBase / 2, midPoint + baseStart);
+		head.addPoint(midPoint + headBase / 2, midPoint + baseStart);
+		head.addPoint(midPoint, midPoint + baseStart * 2);
+		break;
+	    case WEST:
+		head.addPoint(midPoint - baseStart, midPoint - headBase / 2);
+		head.addPoint(midPoint - baseStart, midPoint + headBase / 2);
+		head.addPoint(midPoint - baseStart * 2, midPoint);
+		break;
+	}
+
+	g2.setColor(colour);
+	g2.fill(head);
+
+	g2.setColor(Color.BLACK); // draw outline
+	g2.draw(head);
+    }
+
+    private void drawDisable(Graphics2D g2) {
+	int xBorder = (int) Math.round(size / 8.0);
+	float lineThickness = (float) (size / 9.0);
+	g2.setColor(Color.LIGHT_GRAY);
+	g2.setStroke(new BasicStroke(lineThickness, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+	g2.drawLine(xBorder, xBorder, size - xBorder, size - xBorder);
+	g2.drawLine(size - xBorder, xBorder, xBorder, size - xBorder);
+    }
+}
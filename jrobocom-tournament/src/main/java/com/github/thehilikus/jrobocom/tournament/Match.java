@@ -0,0 +1,54 @@
+package com.github.thehilikus.jrobocom.tournament;
+
+/**
+ * A game between two entrants of a tournament. Entrants are identified by the path to their code
+ * 
+ * @author hilikus
+ */
+public final class Match {
+
+    private final String first;
+
+    private final String second;
+
+    /**
+     * @param pFirst path to the code of one entrant
+     * @param pSecond path to the code of the other entrant or null if the first one gets a bye
+     */
+    public Match(String pFirst, String pSecond) {
+	if (pFirst == null) {
+	    throw new IllegalArgumentException("First entrant cannot be null");
+	}
+	if (pFirst.equals(pSecond)) {
+	    throw new IllegalArgumentException("An entrant cannot play against itself: " + pFirst);
+	}
+	first = pFirst;
+	second = pSecond;
+    }
+
+    /**
+     * @return path to the code of one entrant
+     */
+    public String getFirst() {
+	return first;
+    }
+
+    /**
+     * @return path to the code of the other entrant or null if it is a bye
+     */
+    public String getSecond() {
+	return second;
+    }
+
+    /**
+     * @return true if the first entrant has no opponent in this round
+     */
+    public boolean isBye() {
+	return second == null;
+    }
+
+    @Override
+    public String toString() {
+	return first + " vs " + (isBye() ? "bye" : second);
+    }
+}
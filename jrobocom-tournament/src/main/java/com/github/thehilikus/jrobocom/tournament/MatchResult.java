@@ -0,0 +1,105 @@
+package com.github.thehilikus.jrobocom.tournament;
+
+/**
+ * The outcome of a {@link Match}
+ * 
+ * @author hilikus
+ */
+public final class MatchResult {
+
+    private final Match match;
+
+    private final String winner;
+
+    private final boolean timedOut;
+
+    private final boolean forfeited;
+
+    /**
+     * @param pMatch the match played
+     * @param pWinner the entrant that won or null if it was a draw
+     * @param pTimedOut true if the game didn't end in the time allowed
+     */
+    public MatchResult(Match pMatch, String pWinner, boolean pTimedOut) {
+	this(pMatch, pWinner, pTimedOut, false);
+    }
+
+    private MatchResult(Match pMatch, String pWinner, boolean pTimedOut, boolean pForfeited) {
+	if (pMatch == null) {
+	    throw new IllegalArgumentException("Match cannot be null");
+	}
+	if (pWinner != null && !pWinner.equals(pMatch.getFirst()) && !pWinner.equals(pMatch.getSecond())) {
+	    throw new IllegalArgumentException("Winner " + pWinner + " didn't play " + pMatch);
+	}
+	match = pMatch;
+	winner = pWinner;
+	timedOut = pTimedOut;
+	forfeited = pForfeited;
+    }
+
+    /**
+     * Creates the result of a match that couldn't be played because the code of an entrant didn't
+     * load, which counts as a loss for it
+     * 
+     * @param match the match not played
+     * @param winner the entrant that loaded or null if neither did, which is a loss for both
+     * @return the result of the forfeit
+     */
+    public static MatchResult forfeit(Match match, String winner) {
+	return new MatchResult(match, winner, false, true);
+    }
+
+    /**
+     * Creates the result of a bye, which counts as a win
+     * 
+     * @param bye the match without opponent
+     * @return the result of the bye
+     */
+    public static MatchResult bye(Match bye) {
+	if (!bye.isBye()) {
+	    throw new IllegalArgumentException("Match has two entrants: " + bye);
+	}
+	return new MatchResult(bye, bye.getFirst(), false);
+    }
+
+    /**
+     * @return the match played
+     */
+    public Match getMatch() {
+	return match;
+    }
+
+    /**
+     * @return the entrant that won or null if it was a draw or neither entrant could play
+     */
+    public String getWinner() {
+	return winner;
+    }
+
+    /**
+     * @return true if neither entrant won
+     */
+    public boolean isDraw() {
+	return winner == null && !forfeited;
+    }
+
+    /**
+     * @return true if the match wasn't played because an entrant's code didn't load
+     */
+    public boolean isForfeited() {
+	return forfeited;
+    }
+
+    /**
+     * @return true if the game didn't end in the time allowed and was declared a draw
+     */
+    public boolean isTimedOut() {
+	return timedOut;
+    }
+
+    @Override
+    public String toString() {
+	String outcome = winner != null ? winner + " won" : forfeited ? "both lost" : "draw";
+	return match + ": " + outcome + (timedOut ? " (timed out)" : "") + (forfeited ? " (forfeit)" : "");
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.thehilikus.jrobocom.tournament;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.thehilikus.jrobocom.Player;
+import com.github.thehilikus.jrobocom.Session;
+import com.github.thehilikus.jrobocom.SessionOptions;
+import com.github.thehilikus.jrobocom.events.GameListener;
+import com.github.thehilikus.jrobocom.exceptions.PlayerException;
+import com.github.thehilikus.jrobocom.events.LeaderChangedEvent;
+import com.github.thehilikus.jrobocom.events.PlayerEliminatedEvent;
+import com.github.thehilikus.jrobocom.events.ResultEvent;
+import com.github.thehilikus.jrobocom.events.RobotAddedEvent;
+import com.github.thehilikus.jrobocom.events.RobotChangedEvent;
+import com.github.thehilikus.jrobocom.events.RobotMovedEvent;
+import com.github.thehilikus.jrobocom.events.RobotRemovedEvent;
+
+/**
+ * Plays a single match in its own session. Each match loads its own copy of the players' code; an
+ * entrant whose code doesn't load forfeits
+ * 
+ * @author hilikus
+ */
+class MatchRunner implements Callable<MatchResult> {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchRunner.class);
+
+    private final Match match;
+
+    private final SessionOptions options;
+
+    private final long timeout;
+
+    private final Standings standings;
+
+    private List<Player> players;
+
+    /**
+     * Receives the end of the game
+     * 
+     */
+    private static final class ResultListener implements GameListener {
+	private final CountDownLatch finished = new CountDownLatch(1);
+	private volatile ResultEvent result;
+
+	@Override
+	public synchronized void update(ResultEvent event) {
+	    if (result == null) {
+		// the last robots dying after the game is decided end it again as a draw
+		result = event;
+		finished.countDown();
+	    }
+	}
+
+	@Override
+	public void update(LeaderChangedEvent event) {
+	    // not needed
+	}
+
+	@Override
+	public void update(PlayerEliminatedEvent event) {
+	    // not needed
+	}
+
+	@Override
+	public void update(RobotAddedEvent add) {
+	    // not needed
+	}
+
+	@Override
+	public void update(RobotRemovedEvent rem) {
+	    // not needed
+	}
+
+	@Override
+	public void update(RobotMovedEvent mov) {
+	    // not needed
+	}
+
+	@Override
+	public void update(RobotChangedEvent evt) {
+	    // not needed
+	}
+    }
+
+    /**
+     * @param pMatch the entrants to play
+     * @param pOptions how to run the session
+     * @param pTimeout the maximum time in ms for the game to end before declaring a draw
+     * @param pStandings where to record the names of the teams
+     */
+    MatchRunner(Match pMatch, SessionOptions pOptions, long pTimeout, Standings pStandings) {
+	match = pMatch;
+	options = pOptions;
+	timeout = pTimeout;
+	standings = pStandings;
+    }
+
+    @Override
+    public MatchResult call() throws Exception {
+	log.debug("[call] Starting match {}", match);
+	List<Player> loaded = new ArrayList<>();
+	try {
+	    List<String> failed = new ArrayList<>();
+	    for (String entrant : Arrays.asList(match.getFirst(), match.getSecond())) {
+		try {
+		    loaded.add(new Player(new File(entrant)));
+		} catch (PlayerException | IllegalArgumentException exc) {
+		    log.error("[call] Code of " + entrant + " could not be loaded. It forfeits " + match, exc);
+		    failed.add(entrant);
+		}
+	    }
+	    if (!failed.isEmpty()) {
+		String winner = null;
+		if (failed.size() == 1) {
+		    winner = failed.contains(match.getFirst()) ? match.getSecond() : match.getFirst();
+		}
+		return MatchResult.forfeit(match, winner);
+	    }
+	    players = loaded;
+
+	    ResultListener listener = new ResultListener();
+	    Session session = new Session(players, listener, options);
+	    session.start();
+
+	    if (!listener.finished.await(timeout, TimeUnit.MILLISECONDS)) {
+		log.info("[call] Match {} didn't end in {} ms. Declaring a draw", match, timeout);
+		session.clean();
+		return new MatchResult(match, null, true);
+	    }
+
+	    Player winner = listener.result.getWinner();
+	    if (winner == null) {
+		return new MatchResult(match, null, false);
+	    }
+	    return new MatchResult(match, winner == players.get(0) ? match.getFirst() : match.getSecond(), false);
+	} finally {
+	    for (Player player : loaded) {
+		player.clean();
+	    }
+	}
+    }
+
+    /**
+     * Copies the names the players declare into the standings. Called by the tournament's thread
+     * once the match is over
+     */
+    void recordTeamNames() {
+	if (players != null) {
+	    standings.setTeamName(match.getFirst(), players.get(0).getTeamName());
+	    standings.setTeamName(match.getSecond(), players.get(1).getTeamName());
+	}
+    }
+}
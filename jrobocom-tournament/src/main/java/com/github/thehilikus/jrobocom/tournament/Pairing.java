@@ -0,0 +1,20 @@
+package com.github.thehilikus.jrobocom.tournament;
+
+import java.util.List;
+
+/**
+ * Decides who plays who in each round of a tournament
+ * 
+ * @author hilikus
+ */
+public interface Pairing {
+
+    /**
+     * Creates the matches of the next round. Called once all the results of the previous round are
+     * in the standings
+     * 
+     * @param standings the results so far
+     * @return the matches of the next round or an empty list if the tournament is over
+     */
+    public List<Match> nextRound(Standings standings);
+}
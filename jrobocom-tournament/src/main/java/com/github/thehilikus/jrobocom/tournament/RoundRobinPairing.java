@@ -0,0 +1,63 @@
+package com.github.thehilikus.jrobocom.tournament;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Every entrant plays every other entrant once. With an odd number of entrants one of them rests
+ * in each round, which is not worth any points
+ * 
+ * @author hilikus
+ */
+public class RoundRobinPairing implements Pairing {
+
+    /**
+     * The entrants in their seats of the circle method. Null is the resting seat
+     */
+    private final List<String> seats;
+
+    private int round;
+
+    /**
+     * @param entrants paths to the code of all the entrants
+     */
+    public RoundRobinPairing(List<String> entrants) {
+	if (entrants == null || entrants.size() < 2) {
+	    throw new IllegalArgumentException("A tournament needs at least 2 entrants");
+	}
+	seats = new ArrayList<>(entrants);
+	if (seats.size() % 2 != 0) {
+	    seats.add(null);
+	}
+    }
+
+    /**
+     * @return the number of rounds needed for everyone to play everyone
+     */
+    public int getRoundsCount() {
+	return seats.size() - 1;
+    }
+
+    @Override
+    public List<Match> nextRound(Standings standings) {
+	if (round >= getRoundsCount()) {
+	    return Collections.emptyList();
+	}
+	if (round > 0) {
+	    // the first seat stays, everyone else moves one seat clockwise
+	    seats.add(1, seats.remove(seats.size() - 1));
+	}
+	round++;
+
+	List<Match> matches = new ArrayList<>();
+	for (int seat = 0; seat < seats.size() / 2; seat++) {
+	    String first = seats.get(seat);
+	    String second = seats.get(seats.size() - 1 - seat);
+	    if (first != null && second != null) {
+		matches.add(new Match(first, second));
+	    }
+	}
+	return matches;
+    }
+}
@@ -0,0 +1,218 @@
+package com.github.thehilikus.jrobocom.tournament;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The table of results of a tournament. A win is worth {@value #WIN_POINTS} points, a draw
+ * {@value #DRAW_POINTS} and a loss nothing. Not thread-safe, results are recorded by the thread
+ * running the tournament
+ *
+ * @author hilikus
+ */
+public class Standings {
+
+    /**
+     * Points for a win or a bye
+     */
+    public static final int WIN_POINTS = 3;
+
+    /**
+     * Points for a draw
+     */
+    public static final int DRAW_POINTS = 1;
+
+    private final Map<String, Row> rows = new LinkedHashMap<>();
+
+    /**
+     * The record of a single entrant
+     *
+     */
+    public static final class Row {
+	private final String entrant;
+	private String teamName;
+	private int wins;
+	private int draws;
+	private int losses;
+	private final Set<String> opponents = new HashSet<>();
+	private boolean bye;
+
+	private Row(String pEntrant) {
+	    entrant = pEntrant;
+	    teamName = new File(pEntrant).getName();
+	}
+
+	/**
+	 * @return path to the entrant's code
+	 */
+	public String getEntrant() {
+	    return entrant;
+	}
+
+	/**
+	 * @return the name of the entrant's team, or the name of its code until it plays
+	 */
+	public String getTeamName() {
+	    return teamName;
+	}
+
+	/**
+	 * @return the number of matches played, including byes
+	 */
+	public int getPlayed() {
+	    return wins + draws + losses;
+	}
+
+	/**
+	 * @return the number of wins, including byes
+	 */
+	public int getWins() {
+	    return wins;
+	}
+
+	/**
+	 * @return the number of draws
+	 */
+	public int getDraws() {
+	    return draws;
+	}
+
+	/**
+	 * @return the number of losses
+	 */
+	public int getLosses() {
+	    return losses;
+	}
+
+	/**
+	 * @return the total points
+	 */
+	public int getPoints() {
+	    return wins * WIN_POINTS + draws * DRAW_POINTS;
+	}
+    }
+
+    /**
+     * Sorts by points, then by wins. Ties keep the order of the entrants
+     */
+    private static final Comparator<Row> BY_RANK = new Comparator<Row>() {
+
+	@Override
+	public int compare(Row first, Row second) {
+	    int byPoints = Integer.compare(second.getPoints(), first.getPoints());
+	    return byPoints != 0 ? byPoints : Integer.compare(second.wins, first.wins);
+	}
+    };
+
+    /**
+     * @param entrants paths to the code of all the entrants
+     */
+    public Standings(List<String> entrants) {
+	if (entrants == null || entrants.size() < 2) {
+	    throw new IllegalArgumentException("A tournament needs at least 2 entrants");
+	}
+	for (String entrant : entrants) {
+	    if (rows.put(entrant, new Row(entrant)) != null) {
+		throw new IllegalArgumentException("Duplicate entrant: " + entrant);
+	    }
+	}
+    }
+
+    /**
+     * Adds the result of a match to the table
+     *
+     * @param result the outcome of the match
+     */
+    public void record(MatchResult result) {
+	Match match = result.getMatch();
+	Row first = getRow(match.getFirst());
+	if (match.isBye()) {
+	    first.bye = true;
+	    first.wins++;
+	    return;
+	}
+
+	Row second = getRow(match.getSecond());
+	first.opponents.add(second.entrant);
+	second.opponents.add(first.entrant);
+	if (result.isDraw()) {
+	    first.draws++;
+	    second.draws++;
+	} else if (result.getWinner() == null) {
+	    // neither could play
+	    first.losses++;
+	    second.losses++;
+	} else if (result.getWinner().equals(first.entrant)) {
+	    first.wins++;
+	    second.losses++;
+	} else {
+	    second.wins++;
+	    first.losses++;
+	}
+    }
+
+    /**
+     * @param entrant path to the entrant's code
+     * @param teamName the name the entrant's code declares
+     */
+    public void setTeamName(String entrant, String teamName) {
+	getRow(entrant).teamName = teamName;
+    }
+
+    /**
+     * @param first path to the code of one entrant
+     * @param second path to the code of the other entrant
+     * @return true if the two entrants already played each other
+     */
+    public boolean havePlayed(String first, String second) {
+	return getRow(first).opponents.contains(second);
+    }
+
+    /**
+     * @param entrant path to the entrant's code
+     * @return true if the entrant already had a round without opponent
+     */
+    public boolean hadBye(String entrant) {
+	return getRow(entrant).bye;
+    }
+
+    /**
+     * @param entrant path to the entrant's code
+     * @return the record of the entrant
+     */
+    public Row getRow(String entrant) {
+	Row row = rows.get(entrant);
+	if (row == null) {
+	    throw new IllegalArgumentException("Unknown entrant: " + entrant);
+	}
+	return row;
+    }
+
+    /**
+     * @return all the records, best first
+     */
+    public List<Row> getRanking() {
+	List<Row> ranking = new ArrayList<>(rows.values());
+	Collections.sort(ranking, BY_RANK);
+	return ranking;
+    }
+
+    @Override
+    public String toString() {
+	StringBuilder table = new StringBuilder(String.format("%-4s %-30s %4s %4s %4s %4s %4s%n", "#", "Team", "P",
+		"W", "D", "L", "Pts"));
+	int position = 1;
+	for (Row row : getRanking()) {
+	    table.append(String.format("%-4d %-30s %4d %4d %4d %4d %4d%n", position++, row.teamName, row.getPlayed(),
+		    row.wins, row.draws, row.losses, row.getPoints()));
+	}
+	return table.toString();
+    }
+}
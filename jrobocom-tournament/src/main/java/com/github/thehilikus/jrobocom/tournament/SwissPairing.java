@@ -0,0 +1,110 @@
+package com.github.thehilikus.jrobocom.tournament;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.github.thehilikus.jrobocom.tournament.Standings.Row;
+
+/**
+ * Plays a fixed number of rounds where entrants meet others with a similar score, avoiding
+ * rematches when possible. Useful when there are too many entrants for a round robin. With an odd
+ * number of entrants, the lowest ranked one that hasn't had a bye gets one, which counts as a win
+ * 
+ * @author hilikus
+ */
+public class SwissPairing implements Pairing {
+
+    private final int rounds;
+
+    private int round;
+
+    /**
+     * @param pRounds the number of rounds to play
+     */
+    public SwissPairing(int pRounds) {
+	if (pRounds < 1) {
+	    throw new IllegalArgumentException("A tournament needs at least 1 round");
+	}
+	rounds = pRounds;
+    }
+
+    @Override
+    public List<Match> nextRound(Standings standings) {
+	if (round >= rounds) {
+	    return Collections.emptyList();
+	}
+	round++;
+
+	List<String> ranked = new ArrayList<>();
+	for (Row row : standings.getRanking()) {
+	    ranked.add(row.getEntrant());
+	}
+
+	if (ranked.size() % 2 == 0) {
+	    List<Match> matches = pair(ranked, standings);
+	    return matches != null ? matches : pairAllowingRematches(ranked);
+	}
+
+	// the lowest ranked entrant without a bye rests, as long as the rest can be paired
+	List<String> candidates = new ArrayList<>();
+	for (int pos = ranked.size() - 1; pos >= 0; pos--) {
+	    if (!standings.hadBye(ranked.get(pos))) {
+		candidates.add(ranked.get(pos));
+	    }
+	}
+	if (candidates.isEmpty()) {
+	    candidates.add(ranked.get(ranked.size() - 1));
+	}
+	for (String resting : candidates) {
+	    List<String> others = new ArrayList<>(ranked);
+	    others.remove(resting);
+	    List<Match> matches = pair(others, standings);
+	    if (matches != null) {
+		matches.add(0, new Match(resting, null));
+		return matches;
+	    }
+	}
+	List<String> others = new ArrayList<>(ranked);
+	others.remove(candidates.get(0));
+	List<Match> matches = pairAllowingRematches(others);
+	matches.add(0, new Match(candidates.get(0), null));
+	return matches;
+    }
+
+    /**
+     * Pairs each entrant with the best ranked one it hasn't played, backtracking when that leaves
+     * someone without a new opponent
+     * 
+     * @param unpaired entrants sorted by rank
+     * @return the matches or null if every pairing has a rematch
+     */
+    private static List<Match> pair(List<String> unpaired, Standings standings) {
+	if (unpaired.isEmpty()) {
+	    return new ArrayList<>();
+	}
+	String first = unpaired.get(0);
+	for (int pos = 1; pos < unpaired.size(); pos++) {
+	    String second = unpaired.get(pos);
+	    if (!standings.havePlayed(first, second)) {
+		List<String> rest = new ArrayList<>(unpaired);
+		rest.remove(second);
+		rest.remove(0);
+		List<Match> matches = pair(rest, standings);
+		if (matches != null) {
+		    matches.add(0, new Match(first, second));
+		    return matches;
+		}
+	    }
+	}
+	return null;
+    }
+
+    private static List<Match> pairAllowingRematches(List<String> ranked) {
+	List<Match> matches = new ArrayList<>();
+	for (int pos = 0; pos < ranked.size(); pos += 2) {
+	    matches.add(new Match(ranked.get(pos), ranked.get(pos + 1)));
+	}
+	return matches;
+    }
+}
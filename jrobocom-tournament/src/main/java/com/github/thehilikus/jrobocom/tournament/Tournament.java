@@ -0,0 +1,139 @@
+package com.github.thehilikus.jrobocom.tournament;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.thehilikus.jrobocom.ClockMode;
+import com.github.thehilikus.jrobocom.SessionOptions;
+
+/**
+ * Runs the matches of a tournament, several at a time, and keeps the standings. All the matches of
+ * a round run before the next round is paired
+ * 
+ * @author hilikus
+ */
+public class Tournament {
+
+    private static final Logger log = LoggerFactory.getLogger(Tournament.class);
+
+    private final Pairing pairing;
+
+    private final Standings standings;
+
+    private final int parallelMatches;
+
+    private SessionOptions options = new SessionOptions();
+
+    private long matchTimeout = 60000;
+
+    /**
+     * @param entrants paths to the code of all the entrants
+     * @param pPairing how entrants are matched in each round
+     * @param pParallelMatches the maximum number of matches running at the same time
+     */
+    public Tournament(List<String> entrants, Pairing pPairing, int pParallelMatches) {
+	if (pPairing == null) {
+	    throw new IllegalArgumentException("Pairing cannot be null");
+	}
+	if (pParallelMatches < 1) {
+	    throw new IllegalArgumentException("At least one match has to run at a time");
+	}
+	standings = new Standings(entrants);
+	pairing = pPairing;
+	parallelMatches = pParallelMatches;
+	options.setClockMode(ClockMode.HEADLESS);
+    }
+
+    /**
+     * @param pOptions how each match is run. Headless by default
+     */
+    public void setSessionOptions(SessionOptions pOptions) {
+	if (pOptions == null) {
+	    throw new IllegalArgumentException("Session options cannot be null");
+	}
+	options = pOptions;
+    }
+
+    /**
+     * @param millis the maximum time for a match to end before it is declared a draw
+     */
+    public void setMatchTimeout(long millis) {
+	if (millis <= 0) {
+	    throw new IllegalArgumentException("Timeout must be positive");
+	}
+	matchTimeout = millis;
+    }
+
+    /**
+     * Plays all the rounds
+     * 
+     * @return the final standings
+     * @throws InterruptedException if the calling thread is interrupted while waiting for a round
+     */
+    public Standings run() throws InterruptedException {
+	log.info("[run] Starting tournament with {} matches at a time", parallelMatches);
+	ExecutorService executor = Executors.newFixedThreadPool(parallelMatches, new ThreadFactory() {
+	    private final AtomicInteger count = new AtomicInteger();
+
+	    @Override
+	    public Thread newThread(Runnable task) {
+		return new Thread(task, "Tournament match " + count.incrementAndGet());
+	    }
+	});
+
+	try {
+	    int round = 1;
+	    for (List<Match> matches = pairing.nextRound(standings); !matches.isEmpty(); matches = pairing
+		    .nextRound(standings)) {
+		log.info("[run] Round {}: {}", round++, matches);
+		playRound(executor, matches);
+	    }
+	} finally {
+	    executor.shutdownNow();
+	}
+
+	log.info("[run] Tournament finished\n{}", standings);
+	return standings;
+    }
+
+    private void playRound(ExecutorService executor, List<Match> matches) throws InterruptedException {
+	List<MatchRunner> runners = new ArrayList<>();
+	List<Future<MatchResult>> results = new ArrayList<>();
+	for (Match match : matches) {
+	    if (match.isBye()) {
+		standings.record(MatchResult.bye(match));
+	    } else {
+		MatchRunner runner = new MatchRunner(match, options, matchTimeout, standings);
+		runners.add(runner);
+		results.add(executor.submit(runner));
+	    }
+	}
+
+	for (int pos = 0; pos < results.size(); pos++) {
+	    try {
+		MatchResult result = results.get(pos).get();
+		log.info("[playRound] {}", result);
+		runners.get(pos).recordTeamNames();
+		standings.record(result);
+	    } catch (ExecutionException exc) {
+		log.error("[playRound] Match could not be played", exc.getCause());
+	    }
+	}
+    }
+
+    /**
+     * @return the results so far
+     */
+    public Standings getStandings() {
+	return standings;
+    }
+}
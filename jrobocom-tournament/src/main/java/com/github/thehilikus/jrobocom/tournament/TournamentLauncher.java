@@ -0,0 +1,67 @@
+package com.github.thehilikus.jrobocom.tournament;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs a tournament from the command line. Usage:
+ * 
+ * <pre>
+ * [--swiss rounds] [--parallel matches] [--timeout seconds] player...
+ * </pre>
+ * 
+ * Without <code>--swiss</code> it plays a round robin. Players are jars or directories as in a
+ * normal game
+ * 
+ * @author hilikus
+ */
+public final class TournamentLauncher {
+
+    private static final Logger log = LoggerFactory.getLogger(TournamentLauncher.class);
+
+    private TournamentLauncher() {
+    }
+
+    /**
+     * @param args the options followed by the paths to the players' code
+     * @throws InterruptedException if interrupted while the tournament runs
+     */
+    public static void main(String[] args) throws InterruptedException {
+	log.info("[main] Initializing with {} main args: {}", args.length, Arrays.toString(args));
+	int swissRounds = 0;
+	int parallel = Runtime.getRuntime().availableProcessors();
+	long timeout = 60;
+	List<String> entrants = new ArrayList<>();
+	for (int pos = 0; pos < args.length; pos++) {
+	    switch (args[pos]) {
+	    case "--swiss":
+		swissRounds = Integer.parseInt(args[++pos]);
+		break;
+	    case "--parallel":
+		parallel = Integer.parseInt(args[++pos]);
+		break;
+	    case "--timeout":
+		timeout = Long.parseLong(args[++pos]);
+		break;
+	    default:
+		entrants.add(args[pos]);
+	    }
+	}
+
+	Pairing pairing;
+	if (swissRounds > 0) {
+	    pairing = new SwissPairing(swissRounds);
+	} else {
+	    pairing = new RoundRobinPairing(entrants);
+	}
+	Tournament tournament = new Tournament(entrants, pairing, parallel);
+	tournament.setMatchTimeout(timeout * 1000);
+
+	System.out.print(tournament.run());
+	System.exit(0); // robots stuck in their banks would keep the JVM running
+    }
+}
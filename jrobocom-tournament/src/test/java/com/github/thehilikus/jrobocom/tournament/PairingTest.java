@@ -0,0 +1,72 @@
+package com.github.thehilikus.jrobocom.tournament;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link RoundRobinPairing} and {@link SwissPairing}
+ * 
+ * @author hilikus
+ */
+@Test
+public class PairingTest {
+
+    private static final List<String> ENTRANTS = Arrays.asList("a", "b", "c", "d", "e");
+
+    /**
+     * Checks that everyone plays everyone exactly once and nobody plays twice in a round
+     */
+    public void roundRobin() {
+	RoundRobinPairing TU = new RoundRobinPairing(ENTRANTS);
+	Standings standings = new Standings(ENTRANTS);
+
+	Set<String> pairs = new HashSet<>();
+	int rounds = 0;
+	for (List<Match> matches = TU.nextRound(standings); !matches.isEmpty(); matches = TU.nextRound(standings)) {
+	    rounds++;
+	    Set<String> busy = new HashSet<>();
+	    for (Match match : matches) {
+		assertFalse(match.isBye(), "Round robin rests don't count as byes");
+		assertTrue(busy.add(match.getFirst()) && busy.add(match.getSecond()), "Entrant twice in a round");
+		String pair = match.getFirst().compareTo(match.getSecond()) < 0 ? match.getFirst() + match.getSecond()
+			: match.getSecond() + match.getFirst();
+		assertTrue(pairs.add(pair), "Rematch of " + pair);
+	    }
+	}
+	assertEquals(rounds, 5);
+	assertEquals(pairs.size(), ENTRANTS.size() * (ENTRANTS.size() - 1) / 2, "Not everyone played everyone");
+    }
+
+    /**
+     * Checks that Swiss rounds avoid rematches and hand out byes to different entrants
+     */
+    public void swiss() {
+	SwissPairing TU = new SwissPairing(3);
+	Standings standings = new Standings(ENTRANTS);
+
+	Set<String> byes = new HashSet<>();
+	int rounds = 0;
+	for (List<Match> matches = TU.nextRound(standings); !matches.isEmpty(); matches = TU.nextRound(standings)) {
+	    rounds++;
+	    assertEquals(matches.size(), 3);
+	    for (Match match : matches) {
+		if (match.isBye()) {
+		    assertTrue(byes.add(match.getFirst()), "Second bye for " + match.getFirst());
+		    standings.record(MatchResult.bye(match));
+		} else {
+		    assertFalse(standings.havePlayed(match.getFirst(), match.getSecond()), "Rematch " + match);
+		    standings.record(new MatchResult(match, match.getFirst(), false));
+		}
+	    }
+	}
+	assertEquals(rounds, 3);
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.thehilikus.jrobocom.tournament;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.github.thehilikus.jrobocom.tournament.Standings.Row;
+
+/**
+ * Tests for {@link Standings}
+ * 
+ * @author hilikus
+ */
+@Test
+public class StandingsTest {
+
+    private Standings TU;
+
+    /**
+     * Configures each test
+     */
+    @BeforeMethod
+    public void setUpTU() {
+	TU = new Standings(Arrays.asList("a.jar", "b.jar", "c.jar"));
+    }
+
+    /**
+     * Checks the points of wins, draws, losses and byes
+     */
+    public void points() {
+	TU.record(new MatchResult(new Match("a.jar", "b.jar"), "b.jar", false));
+	TU.record(new MatchResult(new Match("a.jar", "c.jar"), null, true));
+	TU.record(MatchResult.bye(new Match("c.jar", null)));
+
+	Row a = TU.getRow("a.jar");
+	assertEquals(a.getPlayed(), 2);
+	assertEquals(a.getLosses(), 1);
+	assertEquals(a.getPoints(), Standings.DRAW_POINTS);
+	assertEquals(TU.getRow("b.jar").getPoints(), Standings.WIN_POINTS);
+	assertEquals(TU.getRow("c.jar").getPoints(), Standings.WIN_POINTS + Standings.DRAW_POINTS);
+
+	assertTrue(TU.havePlayed("b.jar", "a.jar"), "Opponents are recorded both ways");
+	assertFalse(TU.havePlayed("b.jar", "c.jar"));
+	assertTrue(TU.hadBye("c.jar"));
+	assertFalse(TU.hadBye("a.jar"));
+    }
+
+    /**
+     * Checks that forfeits are losses for the entrants that couldn't play
+     */
+    public void forfeits() {
+	TU.record(MatchResult.forfeit(new Match("a.jar", "b.jar"), "a.jar"));
+	TU.record(MatchResult.forfeit(new Match("b.jar", "c.jar"), null));
+
+	assertEquals(TU.getRow("a.jar").getPoints(), Standings.WIN_POINTS);
+	assertEquals(TU.getRow("b.jar").getLosses(), 2);
+	assertEquals(TU.getRow("c.jar").getLosses(), 1);
+	assertEquals(TU.getRow("c.jar").getDraws(), 0, "Neither playing is not a draw");
+	assertTrue(TU.havePlayed("b.jar", "c.jar"), "Forfeited pairs are not paired again");
+    }
+
+    /**
+     * Checks the ranking is by points, then wins, then order of entry
+     */
+    public void ranking() {
+	TU.record(new MatchResult(new Match("a.jar", "c.jar"), "c.jar", false));
+	TU.record(new MatchResult(new Match("a.jar", "b.jar"), null, false));
+
+	List<Row> ranking = TU.getRanking();
+	assertEquals(ranking.get(0).getEntrant(), "c.jar");
+	assertEquals(ranking.get(1).getEntrant(), "a.jar", "Ties keep the order of entry");
+	assertEquals(ranking.get(2).getEntrant(), "b.jar");
+    }
+
+    /**
+     * Checks that a winner has to be one of the entrants of the match
+     */
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void wrongWinner() {
+	new MatchResult(new Match("a.jar", "b.jar"), "c.jar", false);
+    }
+}
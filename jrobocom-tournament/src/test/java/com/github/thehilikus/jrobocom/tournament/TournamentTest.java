@@ -0,0 +1,132 @@
+package com.github.thehilikus.jrobocom.tournament;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.github.thehilikus.jrobocom.ClockMode;
+import com.github.thehilikus.jrobocom.GameSettings;
+import com.github.thehilikus.jrobocom.SessionOptions;
+import com.github.thehilikus.jrobocom.exceptions.BankInterruptedException;
+import com.github.thehilikus.jrobocom.player.Bank;
+import com.github.thehilikus.jrobocom.tournament.Standings.Row;
+
+/**
+ * Tests for {@link Tournament}, playing real matches side by side
+ *
+ * @author hilikus
+ */
+@Test
+public class TournamentTest {
+
+    private File workDir;
+
+    private final List<String> entrants = new ArrayList<>();
+
+    /**
+     * A team that keeps turning around until the game ends
+     */
+    public static class Spinner extends Bank {
+	@Override
+	public void run() throws BankInterruptedException {
+	    while (true) {
+		control.turn(true);
+	    }
+	}
+    }
+
+    /**
+     * A team that gives up right away
+     */
+    public static class Quitter extends Bank {
+	@Override
+	public void run() throws BankInterruptedException {
+	    control.die();
+	}
+    }
+
+    /**
+     * Creates the code of the entrants
+     *
+     * @throws IOException
+     */
+    @BeforeMethod
+    public void setUpTU() throws IOException {
+	workDir = Files.createTempDirectory("tournament").toFile();
+	entrants.clear();
+	entrants.add(createEntrant("spinner-a", Spinner.class.getName()));
+	entrants.add(createEntrant("spinner-b", Spinner.class.getName()));
+	entrants.add(createEntrant("quitter", Quitter.class.getName()));
+	entrants.add(createEntrant("broken", "NoSuchBank"));
+    }
+
+    /**
+     * Removes the code of the entrants
+     */
+    @AfterMethod(alwaysRun = true)
+    public void tearDownTU() {
+	for (String entrant : entrants) {
+	    File dir = new File(entrant);
+	    new File(dir, "player.properties").delete();
+	    dir.delete();
+	}
+	workDir.delete();
+    }
+
+    /**
+     * Every match of a round robin is played with several sessions at a time, and an entrant whose
+     * code doesn't load loses its matches
+     *
+     * @throws InterruptedException
+     */
+    @Test(timeOut = 60000)
+    public void playRoundRobin() throws InterruptedException {
+	Tournament TU = new Tournament(entrants, new RoundRobinPairing(entrants), 3);
+	SessionOptions options = new SessionOptions();
+	options.setClockMode(ClockMode.HEADLESS);
+	options.setSettings(new GameSettings(8, 100000, 300));
+	TU.setSessionOptions(options);
+	TU.setMatchTimeout(20000);
+
+	Standings standings = TU.run();
+
+	// the spinners' match goes to whoever outlives the other
+	for (String spinner : entrants.subList(0, 2)) {
+	    Row row = standings.getRow(spinner);
+	    assertEquals(row.getPlayed(), 3, "Matches of " + spinner);
+	    assertTrue(row.getWins() >= 2, "Spinner lost to the quitter or the broken entrant");
+	}
+	assertRecord(standings.getRow(entrants.get(2)), 1, 0, 2);
+	assertRecord(standings.getRow(entrants.get(3)), 0, 0, 3);
+    }
+
+    private static void assertRecord(Row row, int wins, int draws, int losses) {
+	assertEquals(row.getWins(), wins, "Wins of " + row.getEntrant());
+	assertEquals(row.getDraws(), draws, "Draws of " + row.getEntrant());
+	assertEquals(row.getLosses(), losses, "Losses of " + row.getEntrant());
+    }
+
+    private String createEntrant(String name, String bank) throws IOException {
+	File dir = new File(workDir, name);
+	dir.mkdir();
+	Properties player = new Properties();
+	player.setProperty("Team", name);
+	player.setProperty("Banks", bank);
+	try (OutputStream out = new FileOutputStream(new File(dir, "player.properties"))) {
+	    player.store(out, null);
+	}
+	return dir.getPath();
+    }
+}